@@ -0,0 +1,51 @@
+package com.example.hotelreservationsystem.base.pricing;
+
+import com.example.hotelreservationsystem.entity.Customer;
+import com.example.hotelreservationsystem.entity.Room;
+import com.example.hotelreservationsystem.entity.RoomType;
+import com.example.hotelreservationsystem.enums.MembershipTier;
+import com.example.hotelreservationsystem.enums.RoomPriceTier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and evaluating the pricing decorator chains
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RoomPriceFactoryBenchmark {
+
+    @Param({"NORMAL", "OCCUPANCY", "HOLIDAY"})
+    RoomPriceTier priceTier;
+
+    private final RoomPriceFactory roomPriceFactory = new RoomPriceFactory();
+    private final List<RoomPriceTier> stackedTiers = List.of(RoomPriceTier.OCCUPANCY, RoomPriceTier.HOLIDAY, RoomPriceTier.OCCUPANCY);
+
+    private Customer customer;
+    private Room room;
+
+    @Setup
+    public void setUp() {
+        customer = Customer.builder()
+                           .email("bench@example.com")
+                           .membershipTier(MembershipTier.GOLD)
+                           .build();
+        room = Room.builder()
+                   .roomNumber("101")
+                   .roomType(RoomType.builder().name("Deluxe").price(120f).capacity(2).build())
+                   .build();
+    }
+
+    @Benchmark
+    public Float createAndCalc() {
+        return roomPriceFactory.createPriceComponent(priceTier, customer, room, 0.8f).calc();
+    }
+
+    @Benchmark
+    public Float stackedTiersCreateAndCalc() {
+        return roomPriceFactory.createPriceComponent1(stackedTiers, 120f).calc();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.hotelreservationsystem.pattern;
+
+import com.example.hotelreservationsystem.pattern.interceptors.AuditInterceptor;
+import com.example.hotelreservationsystem.pattern.interceptors.AuthenticationInterceptor;
+import com.example.hotelreservationsystem.pattern.interceptors.PerformanceInterceptor;
+import com.example.hotelreservationsystem.service.AuditLogStore;
+import com.example.hotelreservationsystem.service.EndpointMetrics;
+import com.example.hotelreservationsystem.service.LoginRateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the auth interceptor chain around a trivial operation:
+ * the shared, pre-sorted chain AuthenticationController uses now against the
+ * old way of building and sorting a mutable chain for every request
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class InterceptorChainBenchmark {
+
+    private PerformanceInterceptor performanceInterceptor;
+    private AuditInterceptor auditInterceptor;
+    private AuthenticationInterceptor authenticationInterceptor;
+    private InterceptorManager interceptorManager;
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp() {
+            request = new MockHttpServletRequest("POST", "/api/auth/register");
+            request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+            request.addHeader("User-Agent", "jmh");
+            response = new MockHttpServletResponse();
+            response.setStatus(200);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        performanceInterceptor = new PerformanceInterceptor(new EndpointMetrics());
+        auditInterceptor = new AuditInterceptor(new AuditLogStore(10_000));
+        // Rate limits off: every invocation comes from the same IP
+        authenticationInterceptor = new AuthenticationInterceptor(new LoginRateLimiter(0, 0, 0, 0));
+        interceptorManager = new InterceptorManager(performanceInterceptor, auditInterceptor, authenticationInterceptor);
+    }
+
+    /**
+     * Start each iteration with empty metrics and an empty audit buffer
+     */
+    @TearDown(Level.Iteration)
+    public void clearRecorded() {
+        performanceInterceptor.clearMetrics();
+        auditInterceptor.clearAuditLog();
+    }
+
+    @Benchmark
+    public String sharedChain(Exchange exchange) throws Exception {
+        var context = new RequestContext(exchange.request, exchange.response);
+        return interceptorManager.authChain().executeChain(context, () -> "ok");
+    }
+
+    @Benchmark
+    public String perRequestChain(Exchange exchange) throws Exception {
+        var chain = new LegacyInterceptorChain();
+        chain.addInterceptor(performanceInterceptor);
+        chain.addInterceptor(auditInterceptor);
+        chain.addInterceptor(authenticationInterceptor);
+        var context = new RequestContext(exchange.request, exchange.response);
+        return chain.executeChain(context, () -> "ok");
+    }
+}
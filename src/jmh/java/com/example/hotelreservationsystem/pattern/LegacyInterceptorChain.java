@@ -0,0 +1,59 @@
+package com.example.hotelreservationsystem.pattern;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The mutable chain InterceptorChain replaced, kept as a benchmark baseline:
+ * built per request, re-sorted on every add and tracking executed interceptors
+ * in its own list. Logging is left out, as it is disabled in the benchmark anyway.
+ */
+final class LegacyInterceptorChain {
+
+    private final List<Interceptor> interceptors = new ArrayList<>();
+    private final List<Interceptor> executedInterceptors = new ArrayList<>();
+
+    void addInterceptor(Interceptor interceptor) {
+        interceptors.add(interceptor);
+        interceptors.sort(Comparator.comparingInt(Interceptor::getOrder));
+    }
+
+    <T> T executeChain(RequestContext context, InterceptorChain.Operation<T> operation) throws Exception {
+        for (Interceptor interceptor : interceptors) {
+            try {
+                boolean shouldContinue = interceptor.before(context);
+                executedInterceptors.add(interceptor);
+                if (!shouldContinue) {
+                    throw new InterceptorChain.InterceptorException("Request blocked by interceptor");
+                }
+            } catch (InterceptorChain.InterceptorException e) {
+                throw e;
+            } catch (Exception e) {
+                executedInterceptors.add(interceptor);
+            }
+        }
+
+        T result = null;
+        Exception caughtException = null;
+        try {
+            result = operation.execute();
+            for (int i = executedInterceptors.size() - 1; i >= 0; i--) {
+                executedInterceptors.get(i).after(context);
+            }
+        } catch (Exception ex) {
+            caughtException = ex;
+        } finally {
+            context.markComplete();
+            for (int i = executedInterceptors.size() - 1; i >= 0; i--) {
+                executedInterceptors.get(i).afterCompletion(context, caughtException);
+            }
+            executedInterceptors.clear();
+        }
+
+        if (caughtException != null) {
+            throw caughtException;
+        }
+        return result;
+    }
+}
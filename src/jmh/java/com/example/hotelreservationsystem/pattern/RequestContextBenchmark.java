@@ -0,0 +1,40 @@
+package com.example.hotelreservationsystem.pattern;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client IP resolution, called by several interceptors on every request
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RequestContextBenchmark {
+
+    @Param({"FORWARDED_CHAIN", "REAL_IP", "REMOTE_ADDR"})
+    String source;
+
+    private RequestContext context;
+
+    @Setup
+    public void setUp() {
+        var request = new MockHttpServletRequest("GET", "/api/rooms");
+        request.setRemoteAddr("192.0.2.10");
+        switch (source) {
+            case "FORWARDED_CHAIN" -> request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1, 10.0.0.2");
+            case "REAL_IP" -> request.addHeader("X-Real-IP", "203.0.113.7");
+            default -> {
+                // Falls through both headers to the socket address
+            }
+        }
+        context = new RequestContext(request, new MockHttpServletResponse());
+    }
+
+    @Benchmark
+    public String getClientIP() {
+        return context.getClientIP();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.hotelreservationsystem.security;
+
+import com.example.hotelreservationsystem.service.TokenStorageService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token parsing on the request path: every authenticated request extracts the
+ * email and validates the token at least once.
+ * <p>
+ * {@code authenticatedRequest} is the JwtAuthenticationFilter work per request: one
+ * {@link JwtUtil#verify} against the cached parser. {@code authenticatedRequestLegacy}
+ * repeats what the filter did before, three parses with a key and parser built each time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark";
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private UserDetails userDetails;
+
+    /**
+     * Keeps issued tokens in memory instead of Redis
+     */
+    static class InMemoryTokenStorageService extends TokenStorageService {
+
+        private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+        InMemoryTokenStorageService() {
+            super(null, null);
+        }
+
+        @Override
+        public void storeToken(String email, String token, Long expiration) {
+            tokens.put(token, email);
+        }
+
+        @Override
+        public boolean validateToken(String token) {
+            return tokens.containsKey(token);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new InMemoryTokenStorageService());
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", TimeUnit.MINUTES.toMillis(30));
+        token = jwtUtil.generateToken("bench@example.com", Map.of("role", "USER"));
+        userDetails = User.withUsername("bench@example.com").password("password").authorities(List.of()).build();
+    }
+
+    @Benchmark
+    public boolean authenticatedRequest() {
+        var verified = jwtUtil.verify(token);
+        return jwtUtil.validateToken(verified, userDetails);
+    }
+
+    @Benchmark
+    public boolean authenticatedRequestLegacy() {
+        // extractEmail, then validateToken -> extractEmail + extractExpiration
+        var email = legacyClaims(token).getSubject();
+        var validEmail = legacyClaims(token).getSubject().equals(userDetails.getUsername());
+        var expired = legacyClaims(token).getExpiration().before(new Date());
+        return email != null && validEmail && !expired;
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtUtil.extractEmail(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("bench@example.com");
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                   .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                   .build()
+                   .parseSignedClaims(token)
+                   .getPayload();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.dto.LockRecord;
+import com.example.hotelreservationsystem.events.ObserverDispatcher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Lock lookups against an in-memory Redis.
+ * <p>
+ * {@code lockedRoomIds} vs. {@code isLocked} per room shows how search latency grows with
+ * result size; {@code roundTripMicros} simulates the network so the pipelining win is visible
+ * without a Redis server. {@code getLockInfo} measures decoding a lock hash into a {@link LockRecord}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingLockServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SearchResult {
+
+        @Param({"10", "100", "1000"})
+        int rooms;
+
+        @Param({"0", "100"})
+        long roundTripMicros;
+
+        BookingLockService bookingLockService;
+        List<Long> roomIds;
+
+        @Setup
+        public void setUp() {
+            var redisTemplate = new InMemoryRedisTemplate(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+            bookingLockService = lockService(redisTemplate);
+            roomIds = LongStream.rangeClosed(1, rooms).boxed().toList();
+
+            // Every tenth room is locked
+            roomIds.stream().filter(id -> id % 10 == 0).forEach(id -> seedLock(redisTemplate, id));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SingleLock {
+
+        BookingLockService bookingLockService;
+
+        @Setup
+        public void setUp() {
+            var redisTemplate = new InMemoryRedisTemplate(0);
+            bookingLockService = lockService(redisTemplate);
+            seedLock(redisTemplate, 42L);
+        }
+    }
+
+    @Benchmark
+    public Set<Long> lockedRoomIdsPipelined(SearchResult state) {
+        return state.bookingLockService.lockedRoomIds(state.roomIds);
+    }
+
+    @Benchmark
+    public void isLockedPerRoom(SearchResult state, Blackhole blackhole) {
+        for (var roomId : state.roomIds) {
+            blackhole.consume(state.bookingLockService.isLocked(roomId));
+        }
+    }
+
+    @Benchmark
+    public LockRecord getLockInfo(SingleLock state) {
+        return state.bookingLockService.getLockInfo(42L);
+    }
+
+    private static BookingLockService lockService(InMemoryRedisTemplate redisTemplate) {
+        // Lookups neither notify observers, publish invalidations nor read rooms
+        return new BookingLockService(redisTemplate, new ObserverDispatcher(), null, null, List.of());
+    }
+
+    private static void seedLock(InMemoryRedisTemplate redisTemplate, Long roomId) {
+        // Same hash layout the acquire script writes
+        redisTemplate.opsForHash().putAll(BookingLockService.LOCK_PREFIX + roomId, Map.of(
+            "lockId", UUID.randomUUID().toString(),
+            "roomId", String.valueOf(roomId),
+            "customerId", "7",
+            "fencingToken", "1",
+            "createdAt", LocalDateTime.now().toString()
+        ));
+    }
+}
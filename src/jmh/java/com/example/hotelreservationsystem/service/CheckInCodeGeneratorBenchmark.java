@@ -0,0 +1,32 @@
+package com.example.hotelreservationsystem.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Check-in code generation, run once per booking
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CheckInCodeGeneratorBenchmark {
+
+    private CheckInCodeGenerator checkInCodeGenerator;
+
+    @Setup
+    public void setUp() {
+        checkInCodeGenerator = new CheckInCodeGenerator();
+    }
+
+    @Benchmark
+    public String generateCheckInCode() {
+        return checkInCodeGenerator.generate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateCheckInCodeContended() {
+        return checkInCodeGenerator.generate();
+    }
+}
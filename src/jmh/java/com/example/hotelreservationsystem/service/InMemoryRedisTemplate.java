@@ -0,0 +1,102 @@
+package com.example.hotelreservationsystem.service;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Redis stand-in for benchmarks: hashes live in a map and every round trip
+ * can be given a simulated network latency.
+ * <p>
+ * Only the operations the lock lookups use are implemented (HMGET, HMSET, EXISTS,
+ * pipelined EXISTS); anything else throws {@link UnsupportedOperationException}.
+ */
+class InMemoryRedisTemplate extends RedisTemplate<String, String> {
+
+    private final Map<String, Map<Object, Object>> hashes = new ConcurrentHashMap<>();
+    private final long roundTripNanos;
+    private final HashOperations<String, Object, Object> hashOperations;
+
+    @SuppressWarnings("unchecked")
+    InMemoryRedisTemplate(long roundTripNanos) {
+        this.roundTripNanos = roundTripNanos;
+        this.hashOperations = (HashOperations<String, Object, Object>) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{HashOperations.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "multiGet" -> multiGet((String) args[0], (Collection<Object>) args[1]);
+                case "putAll" -> {
+                    roundTrip();
+                    hashes.computeIfAbsent((String) args[0], _ -> new ConcurrentHashMap<>()).putAll((Map<Object, Object>) args[1]);
+                    yield null;
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    @Override
+    public Boolean hasKey(String key) {
+        roundTrip();
+        return hashes.containsKey(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <HK, HV> HashOperations<String, HK, HV> opsForHash() {
+        return (HashOperations<String, HK, HV>) hashOperations;
+    }
+
+    /**
+     * Runs the callback against a connection that answers EXISTS from memory;
+     * the whole pipeline costs one round trip
+     */
+    @Override
+    public List<Object> executePipelined(RedisCallback<?> action) {
+        var results = new ArrayList<>();
+        var keyCommands = (RedisKeyCommands) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{RedisKeyCommands.class}, (proxy, method, args) -> {
+                if (!method.getName().equals("exists") || !(args[0] instanceof byte[] key)) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                results.add(hashes.containsKey(new String(key, StandardCharsets.UTF_8)));
+                return null;
+            });
+        var connection = (RedisConnection) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{RedisConnection.class}, (proxy, method, args) -> {
+                if (!method.getName().equals("keyCommands")) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                return keyCommands;
+            });
+
+        action.doInRedis(connection);
+        roundTrip();
+        return results;
+    }
+
+    private List<Object> multiGet(String key, Collection<Object> fields) {
+        roundTrip();
+        var hash = hashes.getOrDefault(key, new HashMap<>());
+        var values = new ArrayList<>(fields.size());
+        for (var field : fields) {
+            values.add(hash.get(field));
+        }
+        return values;
+    }
+
+    private void roundTrip() {
+        if (roundTripNanos > 0) {
+            LockSupport.parkNanos(roundTripNanos);
+        }
+    }
+}
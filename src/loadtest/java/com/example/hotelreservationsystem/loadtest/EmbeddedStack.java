@@ -0,0 +1,112 @@
+package com.example.hotelreservationsystem.loadtest;
+
+import com.example.hotelreservationsystem.HotelReservationSystemApplication;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the app in-process on local stand-ins: an embedded Redis server, in-memory H2
+ * in PostgreSQL mode and a mail sender that only counts messages.
+ * Command-line style overrides are used because they outrank application.properties.
+ */
+@Slf4j
+final class EmbeddedStack implements AutoCloseable {
+
+    private final RedisServer redisServer;
+    private final ConfigurableApplicationContext context;
+
+    /**
+     * Accepts mail without connecting to an SMTP server
+     */
+    static class CountingMailSender extends JavaMailSenderImpl {
+
+        private final LongAdder sent = new LongAdder();
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            sent.add(mimeMessages.length);
+        }
+
+        long getSentCount() {
+            return sent.sum();
+        }
+    }
+
+    private EmbeddedStack(RedisServer redisServer, ConfigurableApplicationContext context) {
+        this.redisServer = redisServer;
+        this.context = context;
+    }
+
+    static EmbeddedStack start() throws IOException {
+        var redisPort = freePort();
+        var redisServer = new RedisServer(redisPort);
+        redisServer.start();
+        log.warn("Embedded Redis listening on port {}", redisPort);
+
+        try {
+            var context = new SpringApplicationBuilder(HotelReservationSystemApplication.class)
+                .initializers(applicationContext -> ((GenericApplicationContext) applicationContext)
+                    .registerBean(CountingMailSender.class, CountingMailSender::new))
+                .run(
+                    "--server.port=0",
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.show-sql=false",
+                    "--spring.data.redis.host=localhost",
+                    "--spring.data.redis.port=" + redisPort,
+                    "--spring.data.redis.username=",
+                    "--spring.data.redis.password=",
+                    "--spring.data.redis.timeout=5000",
+                    "--spring.security.oauth2.client.registration.google.client-id=loadtest",
+                    "--spring.security.oauth2.client.registration.google.client-secret=loadtest",
+                    // Seeding registers every virtual user from one IP at once
+                    "--auth.rate-limit.ip.per-minute=0",
+                    "--auth.rate-limit.email.per-minute=0",
+                    // Per-request INFO logging would dominate the measurements
+                    "--logging.level.root=" + System.getProperty("loadtest.app-log-level", "WARN")
+                );
+            return new EmbeddedStack(redisServer, context);
+        } catch (RuntimeException e) {
+            redisServer.stop();
+            throw e;
+        }
+    }
+
+    String baseUrl() {
+        var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    long mailSentCount() {
+        return context.getBean(CountingMailSender.class).getSentCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            redisServer.stop();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.hotelreservationsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Thin HTTP client for the endpoints the funnel touches.
+ * Bodies are plain maps and responses are read as JSON trees, so the harness does
+ * not depend on DTO constructors.
+ */
+final class FunnelClient {
+
+    record Response(int status, JsonNode body) {
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+                                                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                                                    .connectTimeout(Duration.ofSeconds(5))
+                                                    .build();
+
+    FunnelClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    Response register(String name, String email, String password) throws IOException, InterruptedException {
+        return post("/api/auth/register", null, Map.of(
+            "name", name,
+            "email", email,
+            "password", password,
+            "phoneNumber", "+15550000000"
+        ));
+    }
+
+    Response currentUser(String token) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri("/api/auth/me")).GET(), token);
+    }
+
+    Response createRoomType(String token, String name, float price, int capacity) throws IOException, InterruptedException {
+        return post("/api/room-types", token, Map.of("name", name, "description", name, "price", price, "capacity", capacity));
+    }
+
+    Response createHotel(String name, String address) throws IOException, InterruptedException {
+        return post("/api/hotel", null, Map.of("name", name, "address", address));
+    }
+
+    Response addRoom(Long hotelId, Long roomTypeId, String roomNumber) throws IOException, InterruptedException {
+        return post("/api/hotel/" + hotelId + "/rooms", null,
+            Map.of("roomTypeId", roomTypeId, "roomNumber", roomNumber, "roomStatus", "AVAILABLE"));
+    }
+
+    Response search(String token, Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int limit)
+        throws IOException, InterruptedException {
+        var query = "?roomTypeId=" + roomTypeId + "&checkInDate=" + checkIn + "&checkOutDate=" + checkOut + "&limit=" + limit;
+        return send(HttpRequest.newBuilder(uri("/api/customer/rooms/search" + query)).GET(), token);
+    }
+
+    Response lock(String token, Long roomId) throws IOException, InterruptedException {
+        return post("/api/bookings/lock", token, Map.of("roomId", roomId));
+    }
+
+    Response releaseLock(String token, String lockId) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri("/api/bookings/lock/" + lockId)).DELETE(), token);
+    }
+
+    Response book(String token, String lockId, Long roomId, Long customerId, String email, LocalDate checkIn, LocalDate checkOut)
+        throws IOException, InterruptedException {
+        var body = new LinkedHashMap<String, Object>();
+        body.put("lockId", lockId);
+        body.put("roomId", roomId);
+        body.put("customerId", customerId);
+        body.put("guestName", "Load Test");
+        body.put("guestEmail", email);
+        body.put("guestPhone", "+15550000000");
+        body.put("checkInDate", checkIn.toString());
+        body.put("checkOutDate", checkOut.toString());
+        return post("/api/bookings", token, body);
+    }
+
+    Response pay(String token, Long orderId) throws IOException, InterruptedException {
+        return post("/api/payment/execute", token, Map.of("orderId", orderId, "paymentType", "CREDIT_CARD"));
+    }
+
+    private Response post(String path, String token, Map<String, ?> body) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(uri(path))
+                                 .header("Content-Type", "application/json")
+                                 .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        return send(request, token);
+    }
+
+    private Response send(HttpRequest.Builder request, String token) throws IOException, InterruptedException {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        request.timeout(Duration.ofSeconds(30));
+
+        var response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), readBody(response.body()));
+    }
+
+    private JsonNode readBody(byte[] body) {
+        if (body == null || body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            // Some error responses are plain text
+            return MissingNode.getInstance();
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
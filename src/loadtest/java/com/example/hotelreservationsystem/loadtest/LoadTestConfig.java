@@ -0,0 +1,42 @@
+package com.example.hotelreservationsystem.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties
+ * (Gradle passes {@code -Ploadtest.*} through)
+ *
+ * @param target       Base URL of a running app; null starts the app in-process on embedded stand-ins
+ * @param virtualUsers Concurrent customers, one virtual thread each
+ * @param duration     How long the funnel is driven after seeding
+ * @param rooms        Rooms seeded into the single test hotel
+ * @param skew         Zipf exponent of room choice: 0 is uniform, higher concentrates on a few hot rooms
+ * @param searchLimit  Page size of the search stage
+ */
+public record LoadTestConfig(
+    String target,
+    int virtualUsers,
+    Duration duration,
+    int rooms,
+    double skew,
+    int searchLimit
+) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        var target = System.getProperty("loadtest.target", "").trim();
+        return new LoadTestConfig(
+            target.isEmpty() ? null : target.replaceAll("/+$", ""),
+            Integer.getInteger("loadtest.users", 50),
+            Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60L)),
+            Integer.getInteger("loadtest.rooms", 200),
+            Double.parseDouble(System.getProperty("loadtest.skew", "1.0")),
+            Integer.getInteger("loadtest.search-limit", 50)
+        );
+    }
+
+    @Override
+    public String toString() {
+        return String.format("target=%s, users=%d, duration=%ds, rooms=%d, skew=%.2f, searchLimit=%d",
+            target == null ? "embedded" : target, virtualUsers, duration.toSeconds(), rooms, skew, searchLimit);
+    }
+}
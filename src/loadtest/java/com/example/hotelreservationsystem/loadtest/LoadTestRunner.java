@@ -0,0 +1,220 @@
+package com.example.hotelreservationsystem.loadtest;
+
+import com.example.hotelreservationsystem.loadtest.FunnelClient.Response;
+import com.example.hotelreservationsystem.loadtest.StageStats.Outcome;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Drives the search → lock → book → pay funnel with one virtual thread per customer
+ * and reports latency percentiles, throughput and conflict/error rates per stage.
+ * <p>
+ * Without {@code loadtest.target} the app is started in-process on {@link EmbeddedStack};
+ * otherwise a running instance is used. Either way, the test data is seeded over HTTP, registering
+ * every customer from this machine, so a target instance needs the login rate limits turned off.
+ * <p>
+ * Run with {@code ./gradlew loadTest -Ploadtest.users=100 -Ploadtest.skew=1.2}.
+ */
+public final class LoadTestRunner {
+
+    private static final String PASSWORD = "load-test-password";
+
+    private final LoadTestConfig config;
+    private final FunnelClient client;
+
+    private final StageStats search = new StageStats("search");
+    private final StageStats lock = new StageStats("lock");
+    private final StageStats book = new StageStats("book");
+    private final StageStats pay = new StageStats("pay");
+
+    private record Customer(String token, Long id, String email) {
+    }
+
+    private record Fixture(Long roomTypeId, RoomPicker roomPicker, List<Customer> customers) {
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Response execute() throws IOException, InterruptedException;
+    }
+
+    private LoadTestRunner(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.client = new FunnelClient(baseUrl);
+    }
+
+    public static void main(String[] args) throws Exception {
+        var config = LoadTestConfig.fromSystemProperties();
+        System.out.println("Load test: " + config);
+
+        if (config.target() != null) {
+            new LoadTestRunner(config, config.target()).run();
+            return;
+        }
+
+        try (var stack = EmbeddedStack.start()) {
+            new LoadTestRunner(config, stack.baseUrl()).run();
+            System.out.printf("Mail accepted by the stand-in sender: %d%n", stack.mailSentCount());
+        }
+    }
+
+    private void run() throws Exception {
+        var fixture = seed();
+        System.out.printf("Seeded %d rooms and %d customers; driving the funnel for %ds%n",
+            config.rooms(), fixture.customers().size(), config.duration().toSeconds());
+
+        var started = System.nanoTime();
+        var deadline = started + config.duration().toNanos();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var customer : fixture.customers()) {
+                executor.submit(() -> drive(customer, fixture, deadline));
+            }
+        }
+
+        report(Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    /**
+     * One customer running the funnel back to back until the deadline
+     */
+    private Void drive(Customer customer, Fixture fixture, long deadline) throws InterruptedException {
+        var random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            // Dates spread over a year keep booking overlaps rare; contention comes from the room skew
+            var checkIn = LocalDate.now().plusDays(random.nextInt(30, 395));
+            var checkOut = checkIn.plusDays(random.nextInt(1, 4));
+
+            var searched = timed(search, () -> client.search(customer.token(), fixture.roomTypeId(), checkIn, checkOut,
+                config.searchLimit()), _ -> Outcome.ERROR);
+            if (searched == null || !searched.isSuccess()) {
+                continue;
+            }
+
+            var roomId = fixture.roomPicker().next();
+            var locked = timed(lock, () -> client.lock(customer.token(), roomId),
+                response -> response.status() == 409 ? Outcome.CONFLICT : Outcome.ERROR);
+            if (locked == null || !locked.isSuccess()) {
+                continue;
+            }
+
+            var lockId = locked.body().path("lockId").asText();
+            var booked = timed(book, () -> client.book(customer.token(), lockId, roomId, customer.id(), customer.email(),
+                checkIn, checkOut), response -> response.status() == 400 ? Outcome.CONFLICT : Outcome.ERROR);
+            if (booked == null || !booked.isSuccess()) {
+                releaseQuietly(customer, lockId);
+                continue;
+            }
+
+            var orderId = booked.body().path("orderId").asLong();
+            timed(pay, () -> client.pay(customer.token(), orderId), _ -> Outcome.ERROR);
+        }
+        return null;
+    }
+
+    /**
+     * Time one call and record its outcome; 2xx is OK and other statuses are classified by the stage
+     *
+     * @return The response, or null if the request itself failed
+     */
+    private static Response timed(StageStats stats, Call call, Function<Response, Outcome> classifyFailure)
+        throws InterruptedException {
+        var start = System.nanoTime();
+        try {
+            var response = call.execute();
+            stats.record(response.isSuccess() ? Outcome.OK : classifyFailure.apply(response), System.nanoTime() - start);
+            return response;
+        } catch (IOException e) {
+            stats.record(Outcome.ERROR, System.nanoTime() - start);
+            return null;
+        }
+    }
+
+    private void releaseQuietly(Customer customer, String lockId) throws InterruptedException {
+        try {
+            client.releaseLock(customer.token(), lockId);
+        } catch (IOException e) {
+            // The lock expires on its own
+        }
+    }
+
+    private Fixture seed() throws Exception {
+        var runId = Long.toString(System.currentTimeMillis(), 36);
+        var seeder = register("seed-" + runId);
+
+        var roomTypeId = created(client.createRoomType(seeder.token(), "LoadTest-" + runId, 120f, 2), "room type");
+        var hotelId = created(client.createHotel("Load Test Hotel " + runId, "1 Benchmark Way"), "hotel");
+
+        var roomIds = new ArrayList<Long>(config.rooms());
+        for (int i = 0; i < config.rooms(); i++) {
+            roomIds.add(created(client.addRoom(hotelId, roomTypeId, "LT-" + runId + "-" + i), "room"));
+        }
+
+        // Registration hashes passwords, so sign customers up in parallel
+        List<Callable<Customer>> signUps = new ArrayList<>();
+        for (int i = 0; i < config.virtualUsers(); i++) {
+            var name = "user-" + runId + "-" + i;
+            signUps.add(() -> register(name));
+        }
+        var customers = new ArrayList<Customer>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var signUp : executor.invokeAll(signUps)) {
+                try {
+                    customers.add(signUp.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Failed to register load test customer", e.getCause());
+                }
+            }
+        }
+
+        return new Fixture(roomTypeId, new RoomPicker(roomIds, config.skew()), customers);
+    }
+
+    private Customer register(String name) throws IOException, InterruptedException {
+        var email = name + "-" + UUID.randomUUID().toString().substring(0, 8) + "@loadtest.example.com";
+        var registered = client.register(name, email, PASSWORD);
+        if (!registered.isSuccess()) {
+            throw new IllegalStateException("Registration failed with status " + registered.status());
+        }
+
+        var token = registered.body().path("token").asText();
+        var me = client.currentUser(token);
+        if (!me.isSuccess()) {
+            throw new IllegalStateException("Fetching the registered user failed with status " + me.status());
+        }
+        return new Customer(token, me.body().path("id").asLong(), email);
+    }
+
+    private static Long created(Response response, String what) {
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("Creating " + what + " failed with status " + response.status());
+        }
+        return response.body().path("id").asLong();
+    }
+
+    private void report(Duration elapsed) {
+        System.out.printf("%nFunnel results over %.1fs%n", elapsed.toMillis() / 1000.0);
+        System.out.printf("%-8s %9s %9s %9s %9s %9s %8s %8s %9s %9s %9s%n",
+            "stage", "requests", "ok", "conflict", "error", "req/s", "confl%", "err%", "p50 ms", "p95 ms", "p99 ms");
+
+        for (var stats : List.of(search, lock, book, pay)) {
+            var summary = stats.summarize(elapsed);
+            System.out.printf("%-8s %9d %9d %9d %9d %9.1f %7.2f%% %7.2f%% %9.2f %9.2f %9.2f%n",
+                summary.stage(), summary.requests(), summary.ok(), summary.conflicts(), summary.errors(),
+                summary.throughput(), summary.conflictRate() * 100, summary.errorRate() * 100,
+                summary.p50Millis(), summary.p95Millis(), summary.p99Millis());
+        }
+
+        var paid = pay.summarize(elapsed).ok();
+        System.out.printf("%nCompleted bookings: %d (%.1f/s)%n", paid, paid / Math.max(elapsed.toMillis() / 1000.0, 0.001));
+    }
+}
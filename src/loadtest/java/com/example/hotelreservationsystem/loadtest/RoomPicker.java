@@ -0,0 +1,35 @@
+package com.example.hotelreservationsystem.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks rooms with a Zipf distribution, so a few rooms draw most lock attempts
+ * the way popular rooms do. Rank 1 is the first room in the list.
+ */
+final class RoomPicker {
+
+    private final List<Long> roomIds;
+    private final double[] cumulative;
+
+    RoomPicker(List<Long> roomIds, double skew) {
+        this.roomIds = List.copyOf(roomIds);
+        this.cumulative = new double[roomIds.size()];
+
+        double total = 0;
+        for (int rank = 1; rank <= roomIds.size(); rank++) {
+            total += 1 / Math.pow(rank, skew);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    Long next() {
+        var index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        // binarySearch returns -(insertion point) - 1 when the value falls between two entries
+        return roomIds.get(Math.min(index >= 0 ? index : -index - 1, roomIds.size() - 1));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.hotelreservationsystem.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes and latencies of one funnel stage
+ */
+final class StageStats {
+
+    enum Outcome {
+        OK,
+        /** Lost a race for a room: lock held by someone else or dates already booked */
+        CONFLICT,
+        ERROR
+    }
+
+    private final String name;
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+    StageStats(String name) {
+        this.name = name;
+    }
+
+    void record(Outcome outcome, long elapsedNanos) {
+        switch (outcome) {
+            case OK -> ok.increment();
+            case CONFLICT -> conflicts.increment();
+            case ERROR -> errors.increment();
+        }
+        latencies.add(elapsedNanos);
+    }
+
+    /**
+     * Summary over the whole run; percentiles cover every request, whatever its outcome
+     */
+    Summary summarize(Duration elapsed) {
+        var sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        var total = ok.sum() + conflicts.sum() + errors.sum();
+        return new Summary(
+            name,
+            total,
+            ok.sum(),
+            conflicts.sum(),
+            errors.sum(),
+            total / Math.max(elapsed.toMillis() / 1000.0, 0.001),
+            percentileMillis(sorted, 0.50),
+            percentileMillis(sorted, 0.95),
+            percentileMillis(sorted, 0.99)
+        );
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        var index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    record Summary(
+        String stage,
+        long requests,
+        long ok,
+        long conflicts,
+        long errors,
+        double throughput,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis
+    ) {
+        double conflictRate() {
+            return requests == 0 ? 0 : (double) conflicts / requests;
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.example.hotelreservationsystem.aop;
 
+import com.example.hotelreservationsystem.dto.AuditEvent;
+import com.example.hotelreservationsystem.service.AuditLogStore;
+import com.example.hotelreservationsystem.service.EndpointMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -15,9 +16,8 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Spring AOP-based interceptor to mirror the custom interceptor behavior for room endpoints.
@@ -26,21 +26,23 @@ import java.util.List;
 @Aspect
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class BuiltInAuthInterceptor {
 
     private static final long SLOW_THRESHOLD = 1000; // 1 second
     private static final long WARNING_THRESHOLD = 500; // 500ms
     private static final String UNKNOWN = "unknown";
+    private static final String SOURCE = "aop";
+    private static final AtomicLong EVENT_SEQUENCE = new AtomicLong();
 
-    private final List<PerformanceMetric> metrics = Collections.synchronizedList(new ArrayList<>());
-    private static final int MAX_METRICS = 1000;
+    private final EndpointMetrics endpointMetrics;
 
-    private final List<AuditEvent> auditLog = Collections.synchronizedList(new ArrayList<>());
+    private final AuditLogStore auditLogStore;
 
     @Around("@annotation(com.example.hotelreservationsystem.aop.BuiltInInterceptor)"
         + " || @within(com.example.hotelreservationsystem.aop.BuiltInInterceptor)")
     public Object aroundAuthEndpoints(ProceedingJoinPoint pjp) throws Throwable {
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         HttpServletRequest request = currentRequest();
         HttpServletResponse response = currentResponse();
 
@@ -59,7 +61,7 @@ public class BuiltInAuthInterceptor {
             int status = response != null ? response.getStatus() : 200;
             log.info("[AOP AUTH] AFTER - {} completed with status: {}", uri, status);
             completeAudit(auditEvent, status, null);
-            recordPerformance(uri, method, clientIp, status, start);
+            recordPerformance(request, method, status, start);
             return result;
         } catch (Exception ex) {
             log.error("[AOP AUTH] Exception during {} {}: {}", method, uri, ex.getMessage(), ex);
@@ -67,10 +69,10 @@ public class BuiltInAuthInterceptor {
                 response.setStatus(500);
             }
             completeAudit(auditEvent, response != null ? response.getStatus() : 500, ex);
-            recordPerformance(uri, method, clientIp, response != null ? response.getStatus() : 500, start);
+            recordPerformance(request, method, response != null ? response.getStatus() : 500, start);
             throw ex;
         } finally {
-            long duration = System.currentTimeMillis() - start;
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
             log.info("[AOP AUTH] COMPLETE - {} {} took {}ms", method, uri, duration);
         }
     }
@@ -86,6 +88,7 @@ public class BuiltInAuthInterceptor {
 
         AuditEvent event = AuditEvent.builder()
             .eventId(generateEventId())
+            .source(SOURCE)
             .timestamp(LocalDateTime.now())
             .eventType(determineEventType(uri, method))
             .requestURI(uri)
@@ -95,7 +98,7 @@ public class BuiltInAuthInterceptor {
             .status("INITIATED")
             .build();
 
-        auditLog.add(event);
+        auditLogStore.add(event);
         log.info("[AOP AUDIT] Event {} - {} {} initiated from {}", event.getEventId(), method, uri, clientIp);
         return event;
     }
@@ -117,41 +120,30 @@ public class BuiltInAuthInterceptor {
         }
 
         logAuditResult(event);
+        auditLogStore.complete(event);
     }
 
-    private void recordPerformance(String uri, String method, String clientIp, int statusCode, long start) {
-        long executionTime = System.currentTimeMillis() - start;
-
-        PerformanceMetric metric = PerformanceMetric.builder()
-            .timestamp(LocalDateTime.now())
-            .requestURI(uri)
-            .httpMethod(method)
-            .executionTimeMs(executionTime)
-            .statusCode(statusCode)
-            .success(statusCode >= 200 && statusCode < 300)
-            .clientIP(clientIp)
-            .build();
-
-        metrics.add(metric);
-        if (metrics.size() > MAX_METRICS) {
-            metrics.remove(0);
-        }
+    private void recordPerformance(HttpServletRequest request, String method, int statusCode, long start) {
+        long elapsedNanos = System.nanoTime() - start;
+        String uri = request != null ? request.getRequestURI() : "N/A";
+        String route = request != null ? EndpointMetrics.routeOf(request) : uri;
+        endpointMetrics.record(method, route, statusCode, elapsedNanos);
 
-        logPerformance(metric);
+        logPerformance(method, uri, statusCode, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
     }
 
-    private void logPerformance(PerformanceMetric metric) {
-        String emoji = getPerformanceEmoji(metric.getExecutionTimeMs());
-        log.info("{} [AOP PERF] {} {} - {}ms - Status: {}",
-            emoji, metric.getHttpMethod(), metric.getRequestURI(),
-            metric.getExecutionTimeMs(), metric.getStatusCode());
+    private void logPerformance(String method, String uri, int statusCode, long executionTime) {
+        if (log.isDebugEnabled()) {
+            log.debug("{} [AOP PERF] {} {} - {}ms - Status: {}",
+                getPerformanceEmoji(executionTime), method, uri, executionTime, statusCode);
+        }
 
-        if (metric.getExecutionTimeMs() > SLOW_THRESHOLD) {
+        if (executionTime > SLOW_THRESHOLD) {
             log.warn("[AOP PERF] SLOW REQUEST: {} {} - {}ms (threshold: {}ms)",
-                metric.getHttpMethod(), metric.getRequestURI(), metric.getExecutionTimeMs(), SLOW_THRESHOLD);
-        } else if (metric.getExecutionTimeMs() > WARNING_THRESHOLD) {
+                method, uri, executionTime, SLOW_THRESHOLD);
+        } else if (executionTime > WARNING_THRESHOLD) {
             log.warn("[AOP PERF] Approaching threshold: {} {} - {}ms",
-                metric.getHttpMethod(), metric.getRequestURI(), metric.getExecutionTimeMs());
+                method, uri, executionTime);
         }
     }
 
@@ -195,7 +187,7 @@ public class BuiltInAuthInterceptor {
     }
 
     private String generateEventId() {
-        return "AOP-AUDIT-" + System.currentTimeMillis() + "-" + (int)(Math.random() * 1000);
+        return "AOP-AUDIT-" + System.currentTimeMillis() + "-" + EVENT_SEQUENCE.incrementAndGet();
     }
 
     private HttpServletRequest currentRequest() {
@@ -227,35 +219,4 @@ public class BuiltInAuthInterceptor {
         }
         return ip;
     }
-
-    @Data
-    @Builder
-    @AllArgsConstructor
-    private static class PerformanceMetric {
-        private LocalDateTime timestamp;
-        private String requestURI;
-        private String httpMethod;
-        private long executionTimeMs;
-        private int statusCode;
-        private boolean success;
-        private String clientIP;
-    }
-
-    @Data
-    @Builder
-    @AllArgsConstructor
-    private static class AuditEvent {
-        private String eventId;
-        private LocalDateTime timestamp;
-        private LocalDateTime completedAt;
-        private String eventType;
-        private String requestURI;
-        private String httpMethod;
-        private String clientIP;
-        private String userAgent;
-        private String status;
-        private Integer httpStatusCode;
-        private Long durationMs;
-        private String errorMessage;
-    }
 }
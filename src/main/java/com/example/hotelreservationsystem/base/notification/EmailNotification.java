@@ -1,5 +1,7 @@
 package com.example.hotelreservationsystem.base.notification;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
@@ -26,6 +28,7 @@ public class EmailNotification implements Notification<SimpleMailMessage> {
      * @return {@code true} if the message was sent successfully; {@code false} on error
      */
     @Override
+    @Timed(value = "hotel.notification.send", extraTags = {"channel", "email"}, description = "Notification send latency")
     public boolean sendNotification(SimpleMailMessage message) {
         log.info("send email: {}", message);
         try {
@@ -33,6 +36,7 @@ public class EmailNotification implements Notification<SimpleMailMessage> {
             return true;
         } catch (Exception e) {
             log.error("error sending email: {}", e.getMessage());
+            Metrics.counter("hotel.notification.failures", "channel", "email").increment();
             return false;
         }
     }
@@ -1,5 +1,6 @@
 package com.example.hotelreservationsystem.base.notification;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -19,6 +20,7 @@ public class SMSNotification implements Notification<String> {
      * @return {@code true} if the message was (assumed) sent successfully
      */
     @Override
+    @Timed(value = "hotel.notification.send", extraTags = {"channel", "sms"}, description = "Notification send latency")
     public boolean sendNotification(String message) {
         // sms implementation
         log.info("send SMS: {}", message);
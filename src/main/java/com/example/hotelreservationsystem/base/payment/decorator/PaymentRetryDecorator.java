@@ -3,6 +3,8 @@ package com.example.hotelreservationsystem.base.payment.decorator;
 import com.example.hotelreservationsystem.base.payment.PaymentStrategy;
 import com.example.hotelreservationsystem.dto.PaymentRequest;
 import com.example.hotelreservationsystem.dto.PaymentResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -10,6 +12,13 @@ public class PaymentRetryDecorator extends PaymentStrategyDecorator {
 
     private static final int MAX_RETRIES = 3;
 
+    // Decorators are created per payment, so the meters live on the global registry Actuator publishes
+    private static final Counter SUCCEEDED_ATTEMPTS = Metrics.counter("hotel.payment.attempts", "outcome", "success");
+    private static final Counter FAILED_ATTEMPTS = Metrics.counter("hotel.payment.attempts", "outcome", "failed");
+    private static final Counter ERROR_ATTEMPTS = Metrics.counter("hotel.payment.attempts", "outcome", "error");
+    private static final Counter RETRIES = Metrics.counter("hotel.payment.retries");
+    private static final Counter EXHAUSTED = Metrics.counter("hotel.payment.retries.exhausted");
+
     public PaymentRetryDecorator(PaymentStrategy wrappedStrategy) {
         super(wrappedStrategy);
     }
@@ -22,6 +31,9 @@ public class PaymentRetryDecorator extends PaymentStrategyDecorator {
         // Retry loop mechanism
         while (attempts < MAX_RETRIES) {
             attempts++;
+            if (attempts > 1) {
+                RETRIES.increment();
+            }
             try {
                 log.info("Attempt {}/{} for Order: {}",
                         attempts, MAX_RETRIES, request.getOrderId());
@@ -31,19 +43,23 @@ public class PaymentRetryDecorator extends PaymentStrategyDecorator {
 
                 // If successful, return immediately
                 if ("SUCCESS".equals(response.getStatus())) {
+                    SUCCEEDED_ATTEMPTS.increment();
                     return response;
                 }
+                FAILED_ATTEMPTS.increment();
 
                 // If FAILED and not the last attempt, log warning and continue loop
                 log.warn("Payment failed on attempt {}. Retrying...", attempts);
 
             } catch (Exception e) {
+                ERROR_ATTEMPTS.increment();
                 log.error("Exception on attempt {}: {}", attempts, e.getMessage());
             }
         }
 
         // If all 3 attempts failed
         log.error("All {} attempts failed.", MAX_RETRIES);
+        EXHAUSTED.increment();
         return response; // Return the last failure response
     }
 }
\ No newline at end of file
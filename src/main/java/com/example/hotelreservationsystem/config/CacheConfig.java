@@ -0,0 +1,138 @@
+package com.example.hotelreservationsystem.config;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-tier caching for room and room-type lookups.
+ * <p>
+ * Each cache is a {@link TwoTierCache}: a bounded Caffeine map per instance in front of
+ * Redis. The manager is transaction-aware, so evictions issued inside a write transaction
+ * are applied after commit and cannot be undone by a reader repopulating the old row.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Room DTOs by room ID */
+    public static final String ROOMS = "rooms";
+    /** Room DTO lists by query: "all" or "type:{roomTypeId}:{status}" */
+    public static final String ROOM_LISTS = "roomLists";
+    /** Room types by ID */
+    public static final String ROOM_TYPES = "roomTypes";
+
+    private static final List<String> CACHE_NAMES = List.of(ROOMS, ROOM_LISTS, ROOM_TYPES);
+
+    @Bean
+    public TwoTierCacheManager cacheManager(
+        RedisConnectionFactory connectionFactory,
+        @Value("${cache.local.max-size:10000}") long localMaxSize,
+        @Value("${cache.local.ttl-seconds:60}") long localTtlSeconds,
+        @Value("${cache.redis.ttl-minutes:10}") long redisTtlMinutes
+    ) {
+        var serializer = new GenericJackson2JsonRedisSerializer();
+        serializer.configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+
+        var redisConfig = RedisCacheConfiguration.defaultCacheConfig()
+                                                 .entryTtl(Duration.ofMinutes(redisTtlMinutes))
+                                                 .disableCachingNullValues()
+                                                 .prefixCacheNameWith("cache:")
+                                                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+
+        var redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                                                 .cacheDefaults(redisConfig)
+                                                 .initialCacheNames(new HashSet<>(CACHE_NAMES))
+                                                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        var manager = new TwoTierCacheManager(redisCacheManager, localMaxSize, Duration.ofSeconds(localTtlSeconds));
+        manager.setTransactionAware(true);
+        return manager;
+    }
+
+    /**
+     * Builds one {@link TwoTierCache} per configured name over a Redis cache manager
+     */
+    public static class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+        private final RedisCacheManager redisCacheManager;
+        private final long localMaxSize;
+        private final Duration localTtl;
+
+        // Undecorated caches, for stats; the manager itself hands out transaction-aware wrappers
+        private final Map<String, TwoTierCache> tiers = new ConcurrentHashMap<>();
+
+        public TwoTierCacheManager(RedisCacheManager redisCacheManager, long localMaxSize, Duration localTtl) {
+            this.redisCacheManager = redisCacheManager;
+            this.localMaxSize = localMaxSize;
+            this.localTtl = localTtl;
+        }
+
+        @Override
+        protected Collection<? extends Cache> loadCaches() {
+            return CACHE_NAMES.stream().map(this::createCache).toList();
+        }
+
+        @Override
+        protected Cache getMissingCache(String name) {
+            return createCache(name);
+        }
+
+        /**
+         * Hit/miss counters of every cache
+         */
+        public List<TwoTierCache.Stats> getStats() {
+            return tiers.values().stream()
+                        .map(TwoTierCache::getStats)
+                        .toList();
+        }
+
+        /**
+         * Drop a key from this instance's local tier, leaving Redis untouched
+         */
+        public void evictLocal(String name, Object key) {
+            var cache = tiers.get(name);
+            if (cache != null) {
+                cache.evictLocal(key);
+            }
+        }
+
+        /**
+         * Clear this instance's local tier of a cache, leaving Redis untouched
+         */
+        public void clearLocal(String name) {
+            var cache = tiers.get(name);
+            if (cache != null) {
+                cache.clearLocal();
+            }
+        }
+
+        private TwoTierCache createCache(String name) {
+            var local = Caffeine.newBuilder()
+                                .maximumSize(localMaxSize)
+                                .expireAfterWrite(localTtl)
+                                .build();
+            var cache = new TwoTierCache(name, local, redisCacheManager.getCache(name));
+            tiers.put(name, cache);
+            return cache;
+        }
+    }
+}
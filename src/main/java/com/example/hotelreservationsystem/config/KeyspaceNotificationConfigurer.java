@@ -0,0 +1,73 @@
+package com.example.hotelreservationsystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns on the Redis keyspace notification classes that listeners depend on.
+ * <p>
+ * Flags are merged into the server's current {@code notify-keyspace-events} value so
+ * classes enabled by other clients are kept. Managed Redis offerings often reject
+ * CONFIG SET; set {@code redis.keyspace-notifications.configure=false} there and enable
+ * the flags on the server instead.
+ */
+@Component
+@Slf4j
+public class KeyspaceNotificationConfigurer {
+
+    private static final String NOTIFY_KEYSPACE_EVENTS = "notify-keyspace-events";
+
+    // Event classes covered by the 'A' alias
+    private static final String ALL_ALIAS_CLASSES = "g$lshzxetd";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${redis.keyspace-notifications.configure:true}")
+    private boolean configure = true;
+
+    public KeyspaceNotificationConfigurer(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Make sure the given notification classes are enabled on the server
+     *
+     * @param required Flags in notify-keyspace-events syntax, e.g. "Kghx"
+     */
+    public synchronized void ensureEnabled(String required) {
+        if (!configure) {
+            return;
+        }
+
+        try {
+            redisTemplate.execute((RedisCallback<Void>) connection -> {
+                var config = connection.serverCommands().getConfig(NOTIFY_KEYSPACE_EVENTS);
+                var current = config != null ? config.getProperty(NOTIFY_KEYSPACE_EVENTS, "") : "";
+                var merged = merge(current, required);
+
+                if (!merged.equals(current)) {
+                    connection.serverCommands().setConfig(NOTIFY_KEYSPACE_EVENTS, merged);
+                    log.info("Enabled Redis keyspace notifications: '{}' -> '{}'", current, merged);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Could not enable Redis keyspace notifications '{}'; enable them on the server", required, e);
+        }
+    }
+
+    static String merge(String current, String required) {
+        var merged = new StringBuilder(current);
+        for (char flag : required.toCharArray()) {
+            var covered = merged.indexOf(String.valueOf(flag)) >= 0
+                || (merged.indexOf("A") >= 0 && ALL_ALIAS_CLASSES.indexOf(flag) >= 0);
+            if (!covered) {
+                merged.append(flag);
+            }
+        }
+        return merged.toString();
+    }
+}
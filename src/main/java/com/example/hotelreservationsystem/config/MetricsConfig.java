@@ -0,0 +1,138 @@
+package com.example.hotelreservationsystem.config;
+
+import com.example.hotelreservationsystem.events.ObserverDispatcher;
+import com.example.hotelreservationsystem.events.observers.CombinedAnalyticsObserver;
+import com.example.hotelreservationsystem.events.observers.CombinedAnalyticsObserver.AnalyticsSnapshot;
+import com.example.hotelreservationsystem.service.AuditLogWriter;
+import com.example.hotelreservationsystem.service.LoginRateLimiter;
+import com.example.hotelreservationsystem.service.PasswordHashingExecutor;
+import com.example.hotelreservationsystem.service.PrincipalCache;
+import com.example.hotelreservationsystem.service.VerifiedTokenCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Application meters published through Actuator ({@code /actuator/metrics}, {@code /actuator/prometheus}).
+ * <p>
+ * Service timers come from {@code @Timed} on the service methods, Redis command latency from
+ * Lettuce and repository call latency from Spring Data, all auto-configured. This class only
+ * binds state that already lives in components: the search/lock analytics counters, the
+ * observer dispatch queues, the audit log writer, the authentication caches and the
+ * password-hashing pool and login throttling.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Search and lock counters kept by {@link CombinedAnalyticsObserver}, read at scrape time
+     */
+    @Bean
+    public MeterBinder analyticsMetrics(CombinedAnalyticsObserver analyticsObserver) {
+        return registry -> {
+            bindCount(registry, analyticsObserver, "hotel.analytics.searches", "outcome", "results",
+                AnalyticsSnapshot::getSearchesWithResults);
+            bindCount(registry, analyticsObserver, "hotel.analytics.searches", "outcome", "no_results",
+                AnalyticsSnapshot::getSearchesWithNoResults);
+            bindCount(registry, analyticsObserver, "hotel.analytics.locks", "event", "created",
+                AnalyticsSnapshot::getTotalLocks);
+            bindCount(registry, analyticsObserver, "hotel.analytics.locks", "event", "conflict",
+                AnalyticsSnapshot::getLockConflicts);
+            bindCount(registry, analyticsObserver, "hotel.analytics.locks", "event", "expired",
+                AnalyticsSnapshot::getLockExpirations);
+
+            Gauge.builder("hotel.analytics.conversion.rate", analyticsObserver,
+                     observer -> observer.getAnalyticsSnapshot().getConversionRate())
+                 .description("Search-to-lock conversion in percent")
+                 .register(registry);
+        };
+    }
+
+    /**
+     * Backlog and drops of the per-observer dispatch queues
+     */
+    @Bean
+    public MeterBinder observerDispatchMetrics(ObserverDispatcher observerDispatcher) {
+        return registry -> {
+            FunctionCounter.builder("hotel.observer.events.dropped", observerDispatcher, ObserverDispatcher::getTotalDropped)
+                           .description("Observer events dropped because a queue was full")
+                           .register(registry);
+            Gauge.builder("hotel.observer.events.pending", observerDispatcher,
+                     dispatcher -> dispatcher.getPendingCounts().values().stream().mapToInt(Integer::intValue).sum())
+                 .description("Observer events waiting for delivery")
+                 .register(registry);
+        };
+    }
+
+    /**
+     * Progress of the batched audit log persistence
+     */
+    @Bean
+    public MeterBinder auditLogMetrics(AuditLogWriter auditLogWriter) {
+        return registry -> {
+            FunctionCounter.builder("hotel.audit.events.written", auditLogWriter, AuditLogWriter::getWrittenCount)
+                           .register(registry);
+            FunctionCounter.builder("hotel.audit.events.dropped", auditLogWriter, AuditLogWriter::getDroppedCount)
+                           .description("Audit events not persisted because the queue was full or a batch failed")
+                           .register(registry);
+            Gauge.builder("hotel.audit.events.pending", auditLogWriter, AuditLogWriter::getPendingCount)
+                 .register(registry);
+        };
+    }
+
+    /**
+     * Hit rate and size of the authentication caches, as cache.gets / cache.size
+     * with cache=verifiedTokens and cache=principals
+     */
+    @Bean
+    public MeterBinder authCacheMetrics(VerifiedTokenCache verifiedTokenCache, PrincipalCache principalCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, verifiedTokenCache.nativeCache(), "verifiedTokens");
+            CaffeineCacheMetrics.monitor(registry, principalCache.nativeCache(), "principals");
+        };
+    }
+
+    /**
+     * Load on the password-hashing pool and authentication attempts refused with 429
+     */
+    @Bean
+    public MeterBinder authThrottlingMetrics(PasswordHashingExecutor hashingExecutor, LoginRateLimiter loginRateLimiter) {
+        return registry -> {
+            Gauge.builder("hotel.auth.hashing.queued", hashingExecutor, PasswordHashingExecutor::getQueueDepth)
+                 .description("Password hashes waiting for a worker")
+                 .register(registry);
+            Gauge.builder("hotel.auth.hashing.active", hashingExecutor, PasswordHashingExecutor::getActiveCount)
+                 .description("Password hashes running")
+                 .register(registry);
+            FunctionCounter.builder("hotel.auth.throttled", hashingExecutor, PasswordHashingExecutor::getRejectedCount)
+                           .description("Authentication attempts refused because the hashing queue was full")
+                           .tag("reason", "queue_full")
+                           .register(registry);
+            FunctionCounter.builder("hotel.auth.throttled", hashingExecutor, PasswordHashingExecutor::getTimedOutCount)
+                           .description("Authentication attempts that waited too long for a hashing worker")
+                           .tag("reason", "queue_timeout")
+                           .register(registry);
+            FunctionCounter.builder("hotel.auth.throttled", loginRateLimiter, LoginRateLimiter::getThrottledByIpCount)
+                           .description("Authentication attempts over the per-IP rate limit")
+                           .tag("reason", "ip_rate")
+                           .register(registry);
+            FunctionCounter.builder("hotel.auth.throttled", loginRateLimiter, LoginRateLimiter::getThrottledByEmailCount)
+                           .description("Authentication attempts over the per-email rate limit")
+                           .tag("reason", "email_rate")
+                           .register(registry);
+        };
+    }
+
+    private static void bindCount(MeterRegistry registry, CombinedAnalyticsObserver observer,
+                                  String name, String tagKey, String tagValue, ToIntFunction<AnalyticsSnapshot> count) {
+        FunctionCounter.builder(name, observer, o -> count.applyAsInt(o.getAnalyticsSnapshot()))
+                       .tag(tagKey, tagValue)
+                       .register(registry);
+    }
+}
@@ -3,7 +3,10 @@ package com.example.hotelreservationsystem.config;
 import com.example.hotelreservationsystem.service.CustomOAuth2UserService;
 import com.example.hotelreservationsystem.security.JwtAuthenticationFilter;
 import com.example.hotelreservationsystem.security.OAuth2AuthenticationSuccessHandler;
+import com.example.hotelreservationsystem.security.OffloadingPasswordEncoder;
+import com.example.hotelreservationsystem.service.PasswordHashingExecutor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -33,12 +36,15 @@ public class SecurityConfig {
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
-                    .requestMatchers("/api/auth/**", "/hello", "/error", "/actuator/**", "/oauth2/**", "/login/oauth2/**",
+                    .requestMatchers("/api/auth/**", "/hello", "/error", "/oauth2/**", "/login/oauth2/**",
                                      "/api/rooms/search", "/api/bookings/lock/*/status", "/api/hotel/**")
                     .permitAll()
+                    // Probes only; metrics and prometheus reveal traffic and internals, so they need a token
+                    .requestMatchers(EndpointRequest.to("health", "info"))
+                    .permitAll()
                     .anyRequest()
                     .authenticated())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -46,22 +52,25 @@ public class SecurityConfig {
                     .userInfoEndpoint(userInfo -> userInfo
                             .userService(customOAuth2UserService))
                     .successHandler(oAuth2AuthenticationSuccessHandler))
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         var authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
+    /**
+     * BCrypt hashed on the bounded {@link PasswordHashingExecutor} pool, never on a request thread
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+        return new OffloadingPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor);
     }
 
     @Bean
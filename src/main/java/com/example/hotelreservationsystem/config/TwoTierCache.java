@@ -0,0 +1,154 @@
+package com.example.hotelreservationsystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache with an in-process tier in front of a shared (Redis) tier.
+ * <p>
+ * Reads try the local tier, then the remote tier (promoting hits into the local tier),
+ * and report a miss only when both are empty. Writes and evictions go to both tiers.
+ * Remote failures are logged and treated as misses so a Redis outage falls back to the database.
+ * <p>
+ * Local keys are stored as strings, like Redis keys, so an invalidation received as text
+ * from another instance matches the entry.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache remote;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Hit/miss counters of one cache
+     */
+    public record Stats(String name, long localHits, long remoteHits, long misses, long localSize) {
+        public double hitRatio() {
+            long total = localHits + remoteHits + misses;
+            return total == 0 ? 0.0 : (double) (localHits + remoteHits) / total;
+        }
+    }
+
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local, Cache remote) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        var value = local.getIfPresent(localKey(key));
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+
+        try {
+            var wrapper = remote.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                remoteHits.increment();
+                var stored = toStoreValue(wrapper.get());
+                local.put(localKey(key), stored);
+                return stored;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Remote tier of cache {} unavailable for key {}: {}", name, key, e.getMessage());
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var value = lookup(key);
+        if (value != null) {
+            return (T) fromStoreValue(value);
+        }
+
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(localKey(key), toStoreValue(value));
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write key {} to remote tier of cache {}: {}", key, name, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.invalidate(localKey(key));
+        try {
+            remote.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict key {} from remote tier of cache {}: {}", key, name, e.getMessage());
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear remote tier of cache {}: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop a key from this instance's tier only; used when another instance has changed it
+     */
+    public void evictLocal(Object key) {
+        local.invalidate(localKey(key));
+    }
+
+    /**
+     * Drop every entry from this instance's tier only
+     */
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    public Stats getStats() {
+        return new Stats(name, localHits.sum(), remoteHits.sum(), misses.sum(), local.estimatedSize());
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
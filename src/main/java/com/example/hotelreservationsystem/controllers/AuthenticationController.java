@@ -4,15 +4,19 @@ import com.example.hotelreservationsystem.dto.LoginRequest;
 import com.example.hotelreservationsystem.dto.LoginResponse;
 import com.example.hotelreservationsystem.dto.RegisterRequest;
 import com.example.hotelreservationsystem.dto.UserResponse;
+import com.example.hotelreservationsystem.exception.AuthenticationThrottledException;
 import com.example.hotelreservationsystem.pattern.InterceptorChain;
 import com.example.hotelreservationsystem.pattern.InterceptorManager;
 import com.example.hotelreservationsystem.pattern.RequestContext;
+import com.example.hotelreservationsystem.pattern.interceptors.AuthenticationInterceptor;
 import com.example.hotelreservationsystem.service.AuthenticationService;
 import com.example.hotelreservationsystem.service.TokenStorageService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
@@ -34,18 +38,32 @@ public class AuthenticationController {
     private final InterceptorManager interceptorManager;
 
     @PostMapping("/register")
-    public ResponseEntity<LoginResponse> register(@RequestBody @Validated RegisterRequest request) {
-        var response = authenticationService.register(request);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<LoginResponse> register(@RequestBody @Validated RegisterRequest request, HttpServletRequest httpRequest, HttpServletResponse httpResponse) throws Exception {
+        RequestContext context = new RequestContext(httpRequest, httpResponse);
+        // Lets the authentication interceptor throttle by email as well as by IP
+        context.setAttribute(AuthenticationInterceptor.EMAIL_KEY, request.getEmail());
+
+        try {
+            // Other failures propagate to GlobalExceptionHandler
+            var response = interceptorManager.authChain().executeChain(context, () -> authenticationService.register(request));
+            return ResponseEntity.ok(response);
+        } catch (InterceptorChain.InterceptorException ex) {
+            Long retryAfter = context.getAttribute(AuthenticationInterceptor.RETRY_AFTER_KEY);
+            if (retryAfter == null) {
+                throw ex;
+            }
+            return tooManyRequests(context, retryAfter);
+        }
     }
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@RequestBody @Validated LoginRequest request, HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
         // Create request context
         RequestContext context = new RequestContext(httpRequest, httpResponse);
+        context.setAttribute(AuthenticationInterceptor.EMAIL_KEY, request.getEmail());
 
-        // Get interceptor chain (configured by InterceptorManager)
-        InterceptorChain chain = interceptorManager.createAuthChain();
+        // Shared interceptor chain (built once by InterceptorManager)
+        InterceptorChain chain = interceptorManager.authChain();
 
         try {
             // Execute interceptor chain around the operation
@@ -53,7 +71,15 @@ public class AuthenticationController {
 
             return ResponseEntity.ok(response);
 
+        } catch (AuthenticationThrottledException ex) {
+            // Password hashing pool saturated
+            log.warn("Login rejected: {}", ex.getMessage());
+            return tooManyRequests(context, ex.getRetryAfterSeconds());
         } catch (Exception ex) {
+            Long retryAfter = context.getAttribute(AuthenticationInterceptor.RETRY_AFTER_KEY);
+            if (retryAfter != null) {
+                return tooManyRequests(context, retryAfter);
+            }
             log.error("Login failed: {}", ex.getMessage());
             context.setStatusCode(401);
             return ResponseEntity.status(401).build();
@@ -87,8 +113,8 @@ public class AuthenticationController {
         // Create request context
         RequestContext context = new RequestContext(httpRequest, httpResponse);
 
-        // Get interceptor chain
-        InterceptorChain chain = interceptorManager.createAuthChain();
+        // Shared interceptor chain
+        InterceptorChain chain = interceptorManager.authChain();
 
         try {
             // Execute with interceptor chain
@@ -121,10 +147,48 @@ public class AuthenticationController {
         }
     }
 
+    /**
+     * Log the current user out of every session
+     * POST /api/auth/logout-all
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<Map<String, Object>> logoutEverywhere() {
+        var email = SecurityContextHolder.getContext().getAuthentication().getName();
+        var customer = authenticationService.getCurrentUser(email);
+
+        var removed = tokenStorageService.removeAllTokens(customer.getEmail());
+
+        var response = new HashMap<String, Object>();
+        response.put(MESSAGE_KEY, "Logged out of all sessions");
+        response.put("removedSessions", removed);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Number of active sessions of the current user
+     * GET /api/auth/sessions
+     */
+    @GetMapping("/sessions")
+    public ResponseEntity<Map<String, Object>> sessions() {
+        var email = SecurityContextHolder.getContext().getAuthentication().getName();
+        var customer = authenticationService.getCurrentUser(email);
+
+        var response = new HashMap<String, Object>();
+        response.put("activeSessions", tokenStorageService.countActiveTokens(customer.getEmail()));
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
         var response = new HashMap<String, String>();
         response.put("status", "Authentication service is running");
         return ResponseEntity.ok(response);
     }
+
+    private static <T> ResponseEntity<T> tooManyRequests(RequestContext context, long retryAfterSeconds) {
+        context.setStatusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                             .build();
+    }
 }
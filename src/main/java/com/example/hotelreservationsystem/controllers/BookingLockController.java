@@ -6,6 +6,7 @@ import com.example.hotelreservationsystem.dto.LockStatusResponse;
 import com.example.hotelreservationsystem.entity.Customer;
 import com.example.hotelreservationsystem.service.AuthenticationService;
 import com.example.hotelreservationsystem.service.BookingLockService;
+import com.example.hotelreservationsystem.service.LockStatusCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +16,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/bookings/lock")
@@ -25,6 +25,7 @@ public class BookingLockController {
 
     private final BookingLockService bookingLockService;
     private final AuthenticationService authenticationService;
+    private final LockStatusCache lockStatusCache;
 
     /**
      * Create a booking lock for a room
@@ -113,36 +114,20 @@ public class BookingLockController {
         try {
             log.debug("Checking lock status for room {}", roomId);
 
-            var isLocked = bookingLockService.isLocked(roomId);
+            // Served from the near-cache; Redis is only hit after the lock changes
+            var status = lockStatusCache.getStatus(roomId);
 
-            if (!isLocked) {
+            if (!status.isLocked()) {
                 var response = LockStatusResponse.builder()
                                                  .isLocked(false)
                                                  .build();
                 return ResponseEntity.ok(response);
             }
 
-            // Get lock details
-            Map<String, Object> lockInfo = bookingLockService.getLockInfo(roomId);
-
-            if (lockInfo == null) {
-                var response = LockStatusResponse.builder()
-                                                 .isLocked(false)
-                                                 .build();
-                return ResponseEntity.ok(response);
-            }
-
-            var ttlSeconds = bookingLockService.getLockTtl(roomId);
-            var expiresAt = ttlSeconds != null && ttlSeconds > 0
-                ? LocalDateTime.now().plusSeconds(ttlSeconds)
-                : null;
-
-            var customerId = ((Number) lockInfo.get("customerId")).longValue();
-
             var response = LockStatusResponse.builder()
                                              .isLocked(true)
-                                             .lockedBy(customerId)
-                                             .expiresAt(expiresAt)
+                                             .lockedBy(status.lock().customerId())
+                                             .expiresAt(status.expiresAt())
                                              .build();
 
             return ResponseEntity.ok(response);
@@ -0,0 +1,28 @@
+package com.example.hotelreservationsystem.controllers;
+
+import com.example.hotelreservationsystem.config.CacheConfig;
+import com.example.hotelreservationsystem.config.TwoTierCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheConfig.TwoTierCacheManager cacheManager;
+
+    /**
+     * Hit/miss counters per cache
+     * GET /api/cache/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<TwoTierCache.Stats>> getStats() {
+        return ResponseEntity.ok(cacheManager.getStats());
+    }
+}
@@ -5,11 +5,13 @@ import com.example.hotelreservationsystem.entity.Hotel;
 import com.example.hotelreservationsystem.entity.Order;
 import com.example.hotelreservationsystem.service.HotelService;
 import com.example.hotelreservationsystem.service.RoomService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -25,6 +27,9 @@ public class HotelController {
     @Autowired
     RoomService roomService;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<HotelCreateResponse> addHotel(@RequestBody HotelCreateRequest hotelCreateRequest) {
         var response = hotelService.create(hotelCreateRequest);
@@ -57,6 +62,32 @@ public class HotelController {
         }
     }
 
+    /**
+     * Keyset-paginated hotel listing, without rooms
+     * GET /api/hotel/hotels/list?limit=100&after={nextCursor of the previous page}
+     */
+    @GetMapping(value = "/hotels/list", params = {"limit", "!stream"})
+    public ResponseEntity<KeysetPage<HotelCreateResponse>> getHotelsPage(
+        @RequestParam(required = false) Long after,
+        @RequestParam Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(hotelService.findPage(after, KeysetPage.clampLimit(limit)));
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Every hotel as newline-delimited JSON, read through a database cursor
+     * GET /api/hotel/hotels/list?stream=true
+     */
+    @GetMapping(value = "/hotels/list", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamHotels() {
+        return NdjsonResponses.stream(objectMapper, hotelService::streamAll);
+    }
+
     @GetMapping("/hotels/{id}")
     public ResponseEntity<Hotel> getHotelById(@PathVariable Long id) {
         try {
@@ -0,0 +1,38 @@
+package com.example.hotelreservationsystem.controllers;
+
+import com.example.hotelreservationsystem.service.EndpointMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final EndpointMetrics endpointMetrics;
+
+    /**
+     * Latency percentiles, throughput and status counts per endpoint, busiest first
+     * GET /api/metrics/endpoints
+     */
+    @GetMapping("/endpoints")
+    public ResponseEntity<List<EndpointMetrics.EndpointStats>> getEndpointStats() {
+        return ResponseEntity.ok(endpointMetrics.snapshot());
+    }
+
+    /**
+     * Start a fresh measurement window
+     * DELETE /api/metrics/endpoints
+     */
+    @DeleteMapping("/endpoints")
+    public ResponseEntity<Void> resetEndpointStats() {
+        endpointMetrics.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.hotelreservationsystem.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes listings as newline-delimited JSON while they are read, one object per line,
+ * so a response of any size needs memory for one row and the output buffer only.
+ */
+final class NdjsonResponses {
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private NdjsonResponses() {
+    }
+
+    /**
+     * @param producer Pushes every item into the sink it is given, e.g. from a database cursor
+     */
+    static <T> ResponseEntity<StreamingResponseBody> stream(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = outputStream -> {
+            var out = new BufferedOutputStream(outputStream);
+            var writer = objectMapper.writer();
+            producer.accept(item -> {
+                try {
+                    out.write(writer.writeValueAsBytes(item));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                             .contentType(APPLICATION_NDJSON)
+                             .body(body);
+    }
+}
@@ -2,29 +2,54 @@ package com.example.hotelreservationsystem.controllers;
 
 import com.example.hotelreservationsystem.dto.PaymentRequest;
 import com.example.hotelreservationsystem.dto.PaymentResponse;
+import com.example.hotelreservationsystem.pattern.InterceptorManager;
+import com.example.hotelreservationsystem.pattern.RequestContext;
 import com.example.hotelreservationsystem.service.PaymentService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/payment")
 @RequiredArgsConstructor
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final InterceptorManager interceptorManager;
 
+    /**
+     * Payment runs on a virtual thread inside the minimal interceptor chain (performance + audit),
+     * so the servlet thread is released while retries and gateway calls are in flight
+     */
     @PostMapping("/execute")
-    public ResponseEntity<PaymentResponse> executePayment(@RequestBody @Validated PaymentRequest request) {
-        // Call service
-        PaymentResponse response = paymentService.executePayment(request.getOrderId(), request.getPaymentType());
-
-        if ("SUCCESS".equals(response.getStatus())) {
-            return ResponseEntity.ok(response);
-        } else {
-            return ResponseEntity.badRequest().body(response);
-        }
+    public CompletableFuture<ResponseEntity<PaymentResponse>> executePayment(
+        @RequestBody @Validated PaymentRequest request,
+        HttpServletRequest httpRequest,
+        HttpServletResponse httpResponse
+    ) {
+        RequestContext context = new RequestContext(httpRequest, httpResponse);
+
+        return interceptorManager.minimalChain()
+                                 .executeChainAsync(context, () -> {
+                                     // Call service
+                                     PaymentResponse response = paymentService.executePayment(request.getOrderId(), request.getPaymentType());
+
+                                     // Set before the interceptors complete so they record the real outcome
+                                     context.setStatusCode("SUCCESS".equals(response.getStatus()) ? 200 : 400);
+                                     return response;
+                                 }, interceptorManager.asyncExecutor())
+                                 .thenApply(response -> {
+                                     if ("SUCCESS".equals(response.getStatus())) {
+                                         return ResponseEntity.ok(response);
+                                     } else {
+                                         return ResponseEntity.badRequest().body(response);
+                                     }
+                                 });
     }
-}
\ No newline at end of file
+}
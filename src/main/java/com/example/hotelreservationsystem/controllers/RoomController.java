@@ -2,17 +2,20 @@ package com.example.hotelreservationsystem.controllers;
 
 import com.example.hotelreservationsystem.base.pricing.RoomPriceFactory;
 import com.example.hotelreservationsystem.aop.BuiltInInterceptor;
+import com.example.hotelreservationsystem.dto.KeysetPage;
 import com.example.hotelreservationsystem.dto.RoomCreateRequest;
 import com.example.hotelreservationsystem.dto.RoomCreateResponse;
 import com.example.hotelreservationsystem.dto.RoomPriceUpdateRequest;
 import com.example.hotelreservationsystem.entity.RoomType;
 import com.example.hotelreservationsystem.service.RoomService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,31 +29,12 @@ public class RoomController {
 
     private final RoomService roomService;
     private final RoomPriceFactory roomPriceFactory;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/search")
     public ResponseEntity<List<RoomCreateResponse>> searchRooms(@RequestParam Long roomTypeId){
         try {
-            var rooms = roomService.searchedRooms(roomTypeId);
-            var dtos = rooms.stream().map(room -> {
-                Long hotelId = null;
-                if (room.getHotel() != null) {
-                    try { hotelId = room.getHotel().getId(); } catch (Exception ignored) {}
-                }
-
-                Long roomTypeIdLocal = null;
-                if (room.getRoomType() != null) {
-                    try { roomTypeIdLocal = room.getRoomType().getId(); } catch (Exception ignored) {}
-                }
-
-                return RoomCreateResponse.builder()
-                        .id(room.getId())
-                        .roomNumber(room.getRoomNumber())
-                        .hotelId(hotelId)
-                        .roomTypeId(roomTypeIdLocal)
-                        .roomStatus(room.getRoomStatus())
-                        .build();
-            }).toList();
-
+            var dtos = roomService.searchedRoomDtos(roomTypeId);
             return ResponseEntity.ok(dtos);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
@@ -82,6 +66,31 @@ public class RoomController {
         }
     }
 
+    /**
+     * Keyset-paginated room listing
+     * GET /api/rooms/list?limit=100&after={nextCursor of the previous page}
+     */
+    @GetMapping(value = "/list", params = {"limit", "!stream"})
+    public ResponseEntity<KeysetPage<RoomCreateResponse>> listRoomsPage(
+        @RequestParam(required = false) Long after,
+        @RequestParam Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(roomService.findDtoPage(after, KeysetPage.clampLimit(limit)));
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Every room as newline-delimited JSON, read through a database cursor
+     * GET /api/rooms/list?stream=true
+     */
+    @GetMapping(value = "/list", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamRooms() {
+        return NdjsonResponses.stream(objectMapper, roomService::streamAllDto);
+    }
 
     @PostMapping
     public ResponseEntity<RoomCreateResponse> addRoom(@RequestBody @Valid RoomCreateRequest request) {
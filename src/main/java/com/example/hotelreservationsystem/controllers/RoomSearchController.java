@@ -1,12 +1,16 @@
 package com.example.hotelreservationsystem.controllers;
 
-import com.example.hotelreservationsystem.entity.Room;
+import com.example.hotelreservationsystem.dto.KeysetPage;
+import com.example.hotelreservationsystem.dto.RoomSearchResult;
+import com.example.hotelreservationsystem.events.SearchEvent;
 import com.example.hotelreservationsystem.service.RoomSearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,17 +22,19 @@ import java.util.List;
 public class RoomSearchController {
 
     private final RoomSearchService roomSearchService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Search for available rooms with observer pattern support
      * GET /api/customer/rooms/search
      *
-     * @param checkInDate  Check-in date (optional, for future date-based booking)
-     * @param checkOutDate Check-out date (optional, for future date-based booking)
+     * @param checkInDate  Check-in date (optional, used together with checkOutDate)
+     * @param checkOutDate Check-out date (optional, exclusive)
      * @param roomTypeId   Room type filter (optional)
      * @param hotelId      Hotel filter (optional)
+     * @param minCapacity  Minimum guests the room type must hold (optional)
      * @param customerId   Customer ID for tracking and notifications (optional)
-     * @return List of available rooms excluding locked rooms
+     * @return List of available rooms excluding locked or already-booked rooms
      * <p>
      * Note: Including customerId enables:
      * - Notification when locked rooms matching search criteria become available
@@ -36,20 +42,21 @@ public class RoomSearchController {
      * - Personalized search experience
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Room>> searchRooms(
+    public ResponseEntity<List<RoomSearchResult>> searchRooms(
         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
         @RequestParam(required = false) Long roomTypeId,
         @RequestParam(required = false) Long hotelId,
+        @RequestParam(required = false) Integer minCapacity,
         @RequestParam(required = false) Long customerId
     ) {
         try {
-            log.info("Room search request - checkIn: {}, checkOut: {}, roomTypeId: {}, hotelId: {}, customerId: {}",
-                checkInDate, checkOutDate, roomTypeId, hotelId, customerId);
+            log.info("Room search request - checkIn: {}, checkOut: {}, roomTypeId: {}, hotelId: {}, minCapacity: {}, customerId: {}",
+                checkInDate, checkOutDate, roomTypeId, hotelId, minCapacity, customerId);
 
             // Pass customerId to service for observer pattern tracking
             var rooms = roomSearchService.searchAvailableRooms(
-                checkInDate, checkOutDate, roomTypeId, hotelId, customerId
+                checkInDate, checkOutDate, roomTypeId, hotelId, minCapacity, customerId
             );
 
             return ResponseEntity.ok(rooms);
@@ -59,4 +66,66 @@ public class RoomSearchController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    /**
+     * Keyset-paginated room search
+     * GET /api/customer/rooms/search?limit=100&after={nextCursor of the previous page}
+     * <p>
+     * The limit bounds the rooms scanned in the database; locked or booked rooms are removed
+     * afterwards, so a page can be short (even empty) while nextCursor is still set.
+     */
+    @GetMapping(value = "/search", params = {"limit", "!stream"})
+    public ResponseEntity<KeysetPage<RoomSearchResult>> searchRoomsPage(
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+        @RequestParam(required = false) Long roomTypeId,
+        @RequestParam(required = false) Long hotelId,
+        @RequestParam(required = false) Integer minCapacity,
+        @RequestParam(required = false) Long customerId,
+        @RequestParam(required = false) Long after,
+        @RequestParam Integer limit
+    ) {
+        try {
+            var criteria = criteria(checkInDate, checkOutDate, roomTypeId, hotelId, minCapacity);
+            return ResponseEntity.ok(
+                roomSearchService.searchAvailableRoomsPage(criteria, customerId, after, KeysetPage.clampLimit(limit)));
+        } catch (Exception e) {
+            log.error("Failed to search rooms", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Room search as newline-delimited JSON
+     * GET /api/customer/rooms/search?stream=true
+     */
+    @GetMapping(value = "/search", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamRooms(
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+        @RequestParam(required = false) Long roomTypeId,
+        @RequestParam(required = false) Long hotelId,
+        @RequestParam(required = false) Integer minCapacity,
+        @RequestParam(required = false) Long customerId
+    ) {
+        var criteria = criteria(checkInDate, checkOutDate, roomTypeId, hotelId, minCapacity);
+        return NdjsonResponses.<RoomSearchResult>stream(objectMapper,
+            sink -> roomSearchService.streamAvailableRooms(criteria, customerId, sink));
+    }
+
+    private static SearchEvent.SearchCriteria criteria(
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Long roomTypeId,
+        Long hotelId,
+        Integer minCapacity
+    ) {
+        return SearchEvent.SearchCriteria.builder()
+                                         .checkInDate(checkInDate)
+                                         .checkOutDate(checkOutDate)
+                                         .roomTypeId(roomTypeId)
+                                         .hotelId(hotelId)
+                                         .minCapacity(minCapacity)
+                                         .build();
+    }
 }
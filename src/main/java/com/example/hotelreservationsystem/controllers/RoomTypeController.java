@@ -3,6 +3,7 @@ package com.example.hotelreservationsystem.controllers;
 import com.example.hotelreservationsystem.dto.RoomTypeCreateRequest;
 import com.example.hotelreservationsystem.entity.RoomType;
 import com.example.hotelreservationsystem.repository.RoomTypeRepository;
+import com.example.hotelreservationsystem.service.RoomService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +20,9 @@ public class RoomTypeController {
     @Autowired
     private RoomTypeRepository roomTypeRepository;
 
+    @Autowired
+    private RoomService roomService;
+
     @PostMapping
     public ResponseEntity<RoomType> create(@RequestBody @Valid RoomTypeCreateRequest req) {
         var rt = RoomType.builder()
@@ -36,4 +40,11 @@ public class RoomTypeController {
     public List<RoomType> list() {
         return roomTypeRepository.findAll();
     }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RoomType> getById(@PathVariable Long id) {
+        var roomType = roomService.findRoomTypeById(id);
+        if (roomType == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(roomType);
+    }
 }
@@ -0,0 +1,30 @@
+package com.example.hotelreservationsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One audited request, created when the request starts and completed when it ends.
+ * Written by the audit interceptors and kept in {@link com.example.hotelreservationsystem.service.AuditLogStore}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class AuditEvent {
+    private String eventId;
+    private String source;
+    private LocalDateTime timestamp;
+    private LocalDateTime completedAt;
+    private String eventType;
+    private String requestURI;
+    private String httpMethod;
+    private String clientIP;
+    private String userAgent;
+    private String status;
+    private Integer httpStatusCode;
+    private Long durationMs;
+    private String errorMessage;
+}
@@ -0,0 +1,32 @@
+package com.example.hotelreservationsystem.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a listing ordered by ID.
+ * Pass {@code nextCursor} as {@code after} to get the next page; it is null on the last page.
+ */
+public record KeysetPage<T>(List<T> items, Long nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    /**
+     * Requested page size bounded to [1, MAX_LIMIT]; null means the default
+     */
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.clamp(limit, 1, MAX_LIMIT);
+    }
+
+    /**
+     * Page over rows fetched with {@code limit}: a full fetch means there may be more
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        var nextCursor = rows.size() < limit ? null : idOf.apply(rows.getLast());
+        return new KeysetPage<>(rows, nextCursor);
+    }
+}
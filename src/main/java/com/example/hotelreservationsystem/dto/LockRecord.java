@@ -0,0 +1,15 @@
+package com.example.hotelreservationsystem.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking lock as stored in Redis.
+ * Persisted as a hash under booking:lock:{roomId}, one field per component.
+ *
+ * @param fencingToken Monotonic per-room token issued on acquisition
+ */
+@Builder
+public record LockRecord(String lockId, Long roomId, Long customerId, Long fencingToken, LocalDateTime createdAt) {
+}
@@ -0,0 +1,13 @@
+package com.example.hotelreservationsystem.dto;
+
+import com.example.hotelreservationsystem.enums.RoomStatus;
+import lombok.Builder;
+
+/**
+ * Database-side room search filters; null components are not applied
+ *
+ * @param minCapacity Minimum guest capacity of the room type
+ */
+@Builder
+public record RoomSearchFilter(RoomStatus roomStatus, Long roomTypeId, Long hotelId, Integer minCapacity) {
+}
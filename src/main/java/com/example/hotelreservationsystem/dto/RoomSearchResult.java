@@ -0,0 +1,13 @@
+package com.example.hotelreservationsystem.dto;
+
+import com.example.hotelreservationsystem.enums.RoomStatus;
+import lombok.Builder;
+
+/**
+ * Room search hit, selected directly as columns rather than loaded as a managed entity
+ *
+ * @param price Nightly price of the room type
+ */
+@Builder
+public record RoomSearchResult(Long id, String roomNumber, Long hotelId, Long roomTypeId, RoomStatus roomStatus, Float price) {
+}
@@ -0,0 +1,66 @@
+package com.example.hotelreservationsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted audit event.
+ * Rows are inserted in JDBC batches by {@link com.example.hotelreservationsystem.service.AuditLogWriter};
+ * the entity defines the table for schema generation and later queries.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(
+        name = "audit_log",
+        indexes = {
+                @Index(name = "idx_audit_log_event_id", columnList = "event_id"),
+                @Index(name = "idx_audit_log_started_at", columnList = "started_at")
+        }
+)
+public class AuditLogEntry extends BaseEntity {
+
+    @Column(name = "event_id", nullable = false, length = 64)
+    private String eventId;
+
+    @Column(name = "source", nullable = false, length = 32)
+    private String source;
+
+    @Column(name = "event_type", length = 64)
+    private String eventType;
+
+    @Column(name = "request_uri", length = 2048)
+    private String requestUri;
+
+    @Column(name = "http_method", length = 16)
+    private String httpMethod;
+
+    @Column(name = "client_ip", length = 64)
+    private String clientIp;
+
+    @Column(name = "user_agent", length = 512)
+    private String userAgent;
+
+    @Column(name = "status", length = 32)
+    private String status;
+
+    @Column(name = "http_status_code")
+    private Integer httpStatusCode;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "error_message", length = 1024)
+    private String errorMessage;
+}
@@ -2,6 +2,7 @@ package com.example.hotelreservationsystem.entity;
 
 import com.example.hotelreservationsystem.enums.MembershipTier;
 import com.example.hotelreservationsystem.enums.Role;
+import com.example.hotelreservationsystem.service.CustomerChangeListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
@@ -17,6 +18,7 @@ import java.util.Collections;
 @ToString(callSuper = true)
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@EntityListeners(CustomerChangeListener.class)
 @Table(name = "customer", indexes = {
     @Index(name = "idx_customer_email", columnList = "email", unique = true)
 })
@@ -4,6 +4,7 @@ import com.example.hotelreservationsystem.converter.RoomStatusConverter;
 import com.example.hotelreservationsystem.enums.RoomStatus;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
@@ -43,4 +44,13 @@ public class Room extends BaseEntityAudit {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_type_id")
     private RoomType roomType;
+
+    /**
+     * Fencing token of the last booking lock used to book this room.
+     * Bookings carrying a token that is not newer are rejected, and a fencing counter
+     * missing from Redis is seeded from it.
+     */
+    @Column(name = "lock_fencing_token")
+    @JsonIgnore
+    private Long lockFencingToken;
 }
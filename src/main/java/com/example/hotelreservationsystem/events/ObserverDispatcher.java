@@ -0,0 +1,129 @@
+package com.example.hotelreservationsystem.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers observer notifications off the request thread.
+ * <p>
+ * Every observer gets its own lane: a bounded queue drained by one virtual thread,
+ * so events reach each observer in publication order and a slow observer only
+ * backs up its own lane. When a lane is full the event is dropped for that observer
+ * and counted; the publisher never blocks. With {@code observer.dispatch.async=false}
+ * notifications run inline, which keeps tests deterministic.
+ */
+@Component
+@Slf4j
+public class ObserverDispatcher implements DisposableBean {
+
+    private final ConcurrentHashMap<Object, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicLong totalDropped = new AtomicLong();
+
+    @Value("${observer.dispatch.async:true}")
+    private boolean async = true;
+
+    @Value("${observer.dispatch.queue-capacity:1024}")
+    private int queueCapacity = 1024;
+
+    /**
+     * Queue a notification for an observer
+     *
+     * @param observer     The observer instance; identifies the lane
+     * @param observerName Name used for logging and counters
+     * @param delivery     Invokes the observer with the event
+     */
+    public void dispatch(Object observer, String observerName, Runnable delivery) {
+        if (!async) {
+            deliver(observerName, delivery);
+            return;
+        }
+
+        var lane = lanes.computeIfAbsent(observer, _ -> new Lane(observerName, queueCapacity));
+        if (!lane.queue.offer(delivery)) {
+            lane.dropped.incrementAndGet();
+            var total = totalDropped.incrementAndGet();
+            log.warn("Observer {} queue full - event dropped ({} dropped in total)", observerName, total);
+        }
+    }
+
+    /**
+     * Stop the lane of an observer that has been unregistered
+     */
+    public void release(Object observer) {
+        var lane = lanes.remove(observer);
+        if (lane != null) {
+            lane.worker.interrupt();
+        }
+    }
+
+    /**
+     * Events dropped per observer because its lane was full
+     */
+    public Map<String, Long> getDroppedCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        lanes.values().forEach(lane -> counts.merge(lane.name, lane.dropped.get(), Long::sum));
+        return counts;
+    }
+
+    /**
+     * Events waiting for delivery per observer
+     */
+    public Map<String, Integer> getPendingCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        lanes.values().forEach(lane -> counts.merge(lane.name, lane.queue.size(), Integer::sum));
+        return counts;
+    }
+
+    public long getTotalDropped() {
+        return totalDropped.get();
+    }
+
+    @Override
+    public void destroy() {
+        lanes.values().forEach(lane -> lane.worker.interrupt());
+        lanes.clear();
+    }
+
+    private static void deliver(String observerName, Runnable delivery) {
+        try {
+            delivery.run();
+        } catch (Exception e) {
+            log.error("Observer {} failed to handle event", observerName, e);
+        }
+    }
+
+    /**
+     * Bounded queue plus the virtual thread that drains it
+     */
+    private static final class Lane {
+        private final String name;
+        private final BlockingQueue<Runnable> queue;
+        private final AtomicLong dropped = new AtomicLong();
+        private final Thread worker;
+
+        private Lane(String name, int capacity) {
+            this.name = name;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = Thread.ofVirtual().name("observer-" + name).start(this::drain);
+        }
+
+        private void drain() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    deliver(name, queue.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -44,10 +44,11 @@ public class SearchEvent {
         private LocalDate checkOutDate;
         private Long roomTypeId;
         private Long hotelId;
+        private Integer minCapacity;
 
         public boolean hasFilters() {
             return checkInDate != null || checkOutDate != null ||
-                   roomTypeId != null || hotelId != null;
+                   roomTypeId != null || hotelId != null || minCapacity != null;
         }
     }
 }
@@ -22,7 +22,6 @@ import java.util.stream.Collectors;
  * 1. Tracks customer searches (what rooms/criteria they searched for)
  * 2. Observes lock release events
  * 3. Notifies customers when rooms matching their search become available
- * 4. Provides cache invalidation signals for search results
  * <p>
  * Use cases:
  * - Customer searches for room type X but it's all locked -> notify when one becomes available
@@ -100,8 +99,8 @@ public class SearchAwarenessObserver implements LockEventObserver, SearchEventOb
         // Check for customers who had no results with matching criteria
         notifyCustomersWithNoResults(event.getRoomId());
 
-        // Signal cache invalidation
-        signalCacheInvalidation(event.getRoomId());
+        // Cached lock status is invalidated on every instance by BookingLockService through
+        // CacheInvalidationBus before this event is dispatched
     }
 
     /**
@@ -181,22 +180,6 @@ public class SearchAwarenessObserver implements LockEventObserver, SearchEventOb
         noResultSearches.removeIf(search -> search.getTimestamp().isBefore(cutoffTime));
     }
 
-    /**
-     * Signal that search result caches should be invalidated
-     */
-    private void signalCacheInvalidation(Long roomId) {
-        log.info("SearchAwareness: CACHE INVALIDATION signal for room {}", roomId);
-
-        // Since current implementation doesn't use caching (queries DB directly),
-        // this is a placeholder for future caching implementation
-
-        // TODO: Invalidate Redis cache keys related to room searches
-        // cacheManager.evictCache("room-search:*");
-
-        // TODO: Broadcast cache invalidation to all app instances
-        // redisPublisher.publish("cache-invalidation", roomId);
-    }
-
     /**
      * Get customers who recently searched for similar criteria
      * Useful for targeted marketing when rooms become available
@@ -0,0 +1,18 @@
+package com.example.hotelreservationsystem.exception;
+
+import lombok.Getter;
+
+/**
+ * Authentication work refused because a rate limit or the password-hashing pool is saturated.
+ * Mapped to 429 Too Many Requests with a Retry-After header.
+ */
+@Getter
+public class AuthenticationThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AuthenticationThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.hotelreservationsystem.exception;
 
 import com.example.hotelreservationsystem.dto.ErrorResponse;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
@@ -33,6 +34,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    @ExceptionHandler(AuthenticationThrottledException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationThrottled(AuthenticationThrottledException ex) {
+        var error = ErrorResponse.builder()
+                                 .error("Too Many Requests")
+                                 .message(ex.getMessage())
+                                 .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                                 .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                             .body(error);
+    }
+
     @ExceptionHandler(UsernameNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUsernameNotFound(UsernameNotFoundException ex) {
         var error = ErrorResponse.builder()
@@ -1,63 +1,74 @@
 package com.example.hotelreservationsystem.pattern;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Interceptor Chain - Manages and executes multiple interceptors.
  * <p>
  * This class implements the Chain of Responsibility pattern combined with
- * the Interceptor pattern. It maintains an ordered list of interceptors
- * and ensures they execute in the correct sequence.
+ * the Interceptor pattern. It holds the interceptors sorted by order and
+ * ensures they execute in the correct sequence.
+ * <p>
+ * A chain is immutable: the interceptors are sorted once when it is built and
+ * how far a request got is kept on its {@link RequestContext}, so one chain is
+ * shared by all requests and threads.
  * <p>
  * Execution Flow:
  * 1. before() - Execute all interceptors in order until one returns false
  * 2. Target operation (controller method)
  * 3. after() - Execute all interceptors in reverse order
- * 4. afterCompletion() - Always execute for cleanup (even if error)
+ * 4. afterCompletion() - Always execute for cleanup (even if error or blocked)
+ * <p>
+ * {@link #executeChainAsync} runs the same phases around an asynchronous operation:
+ * before() on the calling thread, after() and afterCompletion() on the thread that
+ * completes the operation.
  */
 @Slf4j
-public class InterceptorChain {
+public final class InterceptorChain {
 
-    private final List<Interceptor> interceptors;
-    private final List<Interceptor> executedInterceptors;
+    // Time spent in the interceptors themselves, i.e. the whole chain minus the wrapped operation
+    private static final Timer CHAIN_OVERHEAD = Timer.builder("hotel.interceptor.chain.overhead")
+                                                     .description("Time spent in interceptors around an operation")
+                                                     .register(Metrics.globalRegistry);
 
-    /**
-     * Create empty interceptor chain
-     */
-    public InterceptorChain() {
-        this.interceptors = new ArrayList<>();
-        this.executedInterceptors = new ArrayList<>();
-    }
+    private final Interceptor[] interceptors;
+    private final List<String> interceptorNames;
 
     /**
-     * Create chain with initial interceptors
+     * Create chain with the given interceptors, sorted by {@link Interceptor#getOrder()}
      */
-    public InterceptorChain(List<Interceptor> interceptors) {
-        this.interceptors = new ArrayList<>(interceptors);
-        this.executedInterceptors = new ArrayList<>();
-        sortByOrder();
+    public InterceptorChain(List<? extends Interceptor> interceptors) {
+        this.interceptors = interceptors.stream()
+                                        .sorted(Comparator.comparingInt(Interceptor::getOrder))
+                                        .toArray(Interceptor[]::new);
+        this.interceptorNames = Arrays.stream(this.interceptors).map(Interceptor::getName).toList();
     }
 
-    /**
-     * Add interceptor to chain
-     */
-    public void addInterceptor(Interceptor interceptor) {
-        interceptors.add(interceptor);
-        sortByOrder();
-        log.debug("Added interceptor: {} (order: {})", interceptor.getName(), interceptor.getOrder());
+    public static InterceptorChain of(Interceptor... interceptors) {
+        return new InterceptorChain(Arrays.asList(interceptors));
     }
 
     /**
-     * Remove interceptor from chain
+     * New chain with one more interceptor; this chain is unchanged
      */
-    public void removeInterceptor(Interceptor interceptor) {
-        interceptors.remove(interceptor);
-        log.debug("Removed interceptor: {}", interceptor.getName());
+    public InterceptorChain withInterceptor(Interceptor interceptor) {
+        var extended = new ArrayList<>(Arrays.asList(interceptors));
+        extended.add(interceptor);
+        return new InterceptorChain(extended);
     }
 
     /**
@@ -68,15 +79,16 @@ public class InterceptorChain {
      * @return true if all interceptors passed, false if any blocked
      */
     public boolean executeBefore(RequestContext context) {
-        log.debug("Executing BEFORE phase for {} interceptors", interceptors.size());
+        log.debug("Executing BEFORE phase for {} interceptors", interceptors.length);
 
-        for (Interceptor interceptor : interceptors) {
+        for (int i = 0; i < interceptors.length; i++) {
+            Interceptor interceptor = interceptors[i];
             try {
                 log.trace("Executing before() on: {}", interceptor.getName());
                 boolean shouldContinue = interceptor.before(context);
 
-                // Track which interceptors executed successfully
-                executedInterceptors.add(interceptor);
+                // Track how many interceptors executed successfully
+                context.setExecutedInterceptors(i + 1);
 
                 if (!shouldContinue) {
                     log.warn("Interceptor {} returned false - stopping chain", interceptor.getName());
@@ -87,8 +99,8 @@ public class InterceptorChain {
                 log.error("Exception in interceptor {}.before(): {}",
                     interceptor.getName(), ex.getMessage(), ex);
 
-                // Add to executed list even if failed (so afterCompletion runs)
-                executedInterceptors.add(interceptor);
+                // Count as executed even if failed (so afterCompletion runs)
+                context.setExecutedInterceptors(i + 1);
 
                 // Optionally continue or stop on exception
                 // Here we continue to next interceptor
@@ -106,11 +118,12 @@ public class InterceptorChain {
      * @param context Request context
      */
     public void executeAfter(RequestContext context) {
-        log.debug("Executing AFTER phase for {} interceptors", executedInterceptors.size());
+        int executed = context.getExecutedInterceptors();
+        log.debug("Executing AFTER phase for {} interceptors", executed);
 
         // Execute in reverse order (LIFO - Last In First Out)
-        for (int i = executedInterceptors.size() - 1; i >= 0; i--) {
-            Interceptor interceptor = executedInterceptors.get(i);
+        for (int i = executed - 1; i >= 0; i--) {
+            Interceptor interceptor = interceptors[i];
 
             try {
                 log.trace("Executing after() on: {}", interceptor.getName());
@@ -134,16 +147,16 @@ public class InterceptorChain {
      * @param exception Exception that occurred (null if none)
      */
     public void executeAfterCompletion(RequestContext context, Exception exception) {
-        log.debug("Executing AFTER COMPLETION phase for {} interceptors",
-            executedInterceptors.size());
+        int executed = context.getExecutedInterceptors();
+        log.debug("Executing AFTER COMPLETION phase for {} interceptors", executed);
 
         if (exception != null) {
             log.debug("Executing with exception: {}", exception.getMessage());
         }
 
         // Execute in reverse order (LIFO)
-        for (int i = executedInterceptors.size() - 1; i >= 0; i--) {
-            Interceptor interceptor = executedInterceptors.get(i);
+        for (int i = executed - 1; i >= 0; i--) {
+            Interceptor interceptor = interceptors[i];
 
             try {
                 log.trace("Executing afterCompletion() on: {}", interceptor.getName());
@@ -156,8 +169,8 @@ public class InterceptorChain {
             }
         }
 
-        // Clear executed list for next request
-        executedInterceptors.clear();
+        // Nothing left to unwind for this context
+        context.setExecutedInterceptors(0);
 
         log.debug("AFTER COMPLETION phase completed");
     }
@@ -169,13 +182,16 @@ public class InterceptorChain {
      * @param context Request context
      * @param operation The operation to execute (controller method)
      * @return Operation result
+     * @throws InterceptorException if an interceptor blocked the request
      * @throws Exception if operation fails
      */
     public <T> T executeChain(RequestContext context, Operation<T> operation) throws Exception {
+        long chainStart = System.nanoTime();
+        long operationNanos = 0;
+
         // Phase 1: Execute before interceptors
         if (!executeBefore(context)) {
-            log.warn("Request blocked by interceptor chain");
-            throw new InterceptorException("Request blocked by interceptor");
+            throw blocked(context, chainStart);
         }
 
         T result = null;
@@ -184,7 +200,12 @@ public class InterceptorChain {
         try {
             // Phase 2: Execute target operation
             log.debug("Executing target operation");
-            result = operation.execute();
+            long operationStart = System.nanoTime();
+            try {
+                result = operation.execute();
+            } finally {
+                operationNanos = System.nanoTime() - operationStart;
+            }
 
             // Phase 3: Execute after interceptors (only if operation succeeded)
             executeAfter(context);
@@ -196,6 +217,7 @@ public class InterceptorChain {
             // Phase 4: Always execute after completion (cleanup)
             context.markComplete();
             executeAfterCompletion(context, caughtException);
+            CHAIN_OVERHEAD.record(System.nanoTime() - chainStart - operationNanos, TimeUnit.NANOSECONDS);
         }
 
         // Rethrow exception if operation failed
@@ -207,49 +229,141 @@ public class InterceptorChain {
     }
 
     /**
-     * Sort interceptors by order value (ascending)
+     * Execute the interceptor chain around an asynchronous operation.
+     * <p>
+     * before() runs on the calling thread, which is free as soon as the operation has
+     * started. after() and afterCompletion() run in LIFO order on the thread that completes
+     * the operation, and the returned future completes only after they have run. The same
+     * {@link RequestContext} is handed to every phase; completing the operation happens-after
+     * the before() phase, so interceptors see the attributes they stored earlier.
+     *
+     * @param context   Request context
+     * @param operation Starts the operation and returns its stage; a synchronous throw counts as a failure
+     * @return Result of the operation, completed after the interceptors have run
      */
-    private void sortByOrder() {
-        interceptors.sort(Comparator.comparingInt(Interceptor::getOrder));
+    public <T> CompletableFuture<T> executeChainAsync(RequestContext context, AsyncOperation<T> operation) {
+        long beforeStart = System.nanoTime();
+
+        // Phase 1: Execute before interceptors on the calling thread
+        if (!executeBefore(context)) {
+            return CompletableFuture.failedFuture(blocked(context, beforeStart));
+        }
+        long beforeNanos = System.nanoTime() - beforeStart;
+
+        // Phase 2: Start target operation
+        CompletionStage<T> stage;
+        try {
+            log.debug("Starting asynchronous target operation");
+            stage = Objects.requireNonNull(operation.execute(), "Asynchronous operation returned no stage");
+        } catch (Exception ex) {
+            stage = CompletableFuture.failedFuture(ex);
+        }
+
+        var completed = new CompletableFuture<T>();
+        stage.whenComplete((result, error) -> {
+            long completionStart = System.nanoTime();
+            Exception exception = error == null ? null : unwrap(error);
+
+            // Phase 3: Execute after interceptors (only if operation succeeded)
+            if (exception == null) {
+                executeAfter(context);
+            } else {
+                log.error("Exception during operation: {}", exception.getMessage());
+            }
+
+            // Phase 4: Always execute after completion (cleanup)
+            context.markComplete();
+            executeAfterCompletion(context, exception);
+            CHAIN_OVERHEAD.record(beforeNanos + System.nanoTime() - completionStart, TimeUnit.NANOSECONDS);
+
+            if (exception == null) {
+                completed.complete(result);
+            } else {
+                completed.completeExceptionally(exception);
+            }
+        });
+        return completed;
+    }
+
+    /**
+     * Execute the interceptor chain around a blocking operation run on the given executor,
+     * e.g. a virtual-thread-per-task executor, so the calling thread does not wait for it
+     *
+     * @see #executeChainAsync(RequestContext, AsyncOperation)
+     */
+    public <T> CompletableFuture<T> executeChainAsync(RequestContext context, Operation<T> operation, Executor executor) {
+        return executeChainAsync(context, () -> {
+            var future = new CompletableFuture<T>();
+            executor.execute(() -> {
+                try {
+                    future.complete(operation.execute());
+                } catch (Exception ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+            return future;
+        });
+    }
+
+    /**
+     * Unwind the interceptors that ran for a request one of them blocked, so the rejection
+     * (e.g. a 429 set by the blocker) is still timed and audited
+     */
+    private InterceptorException blocked(RequestContext context, long chainStart) {
+        log.warn("Request blocked by interceptor chain");
+        var exception = new InterceptorException("Request blocked by interceptor");
+        context.markComplete();
+        executeAfterCompletion(context, exception);
+        CHAIN_OVERHEAD.record(System.nanoTime() - chainStart, TimeUnit.NANOSECONDS);
+        return exception;
     }
 
     /**
-     * Get list of all interceptors
+     * The failure interceptors and callers should see, without the future's wrapper
+     */
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof Exception exception ? exception : new CompletionException(cause);
+    }
+
+    /**
+     * Get list of all interceptors, in execution order
      */
     public List<Interceptor> getInterceptors() {
-        return new ArrayList<>(interceptors);
+        return List.of(interceptors);
     }
 
     /**
      * Get interceptor names (for debugging)
      */
     public List<String> getInterceptorNames() {
-        return interceptors.stream()
-            .map(Interceptor::getName)
-            .collect(Collectors.toList());
+        return interceptorNames;
     }
 
     /**
      * Get number of interceptors
      */
     public int size() {
-        return interceptors.size();
+        return interceptors.length;
     }
 
     /**
-     * Clear all interceptors
+     * Functional interface for operations that can be wrapped by interceptors
      */
-    public void clear() {
-        interceptors.clear();
-        executedInterceptors.clear();
+    @FunctionalInterface
+    public interface Operation<T> {
+        T execute() throws Exception;
     }
 
     /**
-     * Functional interface for operations that can be wrapped by interceptors
+     * Functional interface for operations that complete asynchronously
      */
     @FunctionalInterface
-    public interface Operation<T> {
-        T execute() throws Exception;
+    public interface AsyncOperation<T> {
+        CompletionStage<T> execute() throws Exception;
     }
 
     /**
@@ -3,21 +3,47 @@ package com.example.hotelreservationsystem.pattern;
 import com.example.hotelreservationsystem.pattern.interceptors.AuthenticationInterceptor;
 import com.example.hotelreservationsystem.pattern.interceptors.AuditInterceptor;
 import com.example.hotelreservationsystem.pattern.interceptors.PerformanceInterceptor;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Builds the interceptor chains once at startup.
+ * Chains are immutable and keep per-request state on the {@link RequestContext},
+ * so every request reuses the same instance.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class InterceptorManager {
+public class InterceptorManager implements DisposableBean {
+
+    private final InterceptorChain authChain;
+    private final InterceptorChain minimalChain;
+    private final InterceptorChain performanceChain;
+
+    // One virtual thread per intercepted asynchronous operation
+    private final ExecutorService asyncExecutor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("intercepted-", 0).factory());
+
+    public InterceptorManager(
+        PerformanceInterceptor performanceInterceptor,
+        AuditInterceptor auditInterceptor,
+        AuthenticationInterceptor authenticationInterceptor
+    ) {
+        // Add in any order - chain will sort by getOrder()
+        this.authChain = InterceptorChain.of(performanceInterceptor, auditInterceptor, authenticationInterceptor);
+        this.minimalChain = InterceptorChain.of(performanceInterceptor, auditInterceptor);
+        this.performanceChain = InterceptorChain.of(performanceInterceptor);
 
-    private final PerformanceInterceptor performanceInterceptor;
-    private final AuditInterceptor auditInterceptor;
-    private final AuthenticationInterceptor authenticationInterceptor;
+        log.debug("Built auth interceptor chain with {} interceptors: {}",
+            authChain.size(), authChain.getInterceptorNames());
+    }
 
     /**
-     * Create interceptor chain for authentication endpoints.
+     * Interceptor chain for authentication endpoints.
      * Includes all three interceptors in proper order.
      * <p>
      * Execution order:
@@ -25,57 +51,49 @@ public class InterceptorManager {
      * 2. Audit (order=20) - middle
      * 3. Authentication (order=30) - innermost
      *
-     * @return Configured interceptor chain
+     * @return Shared auth chain
      */
-    public InterceptorChain createAuthChain() {
-        InterceptorChain chain = new InterceptorChain();
-
-        // Add in any order - chain will sort by getOrder()
-        chain.addInterceptor(performanceInterceptor);
-        chain.addInterceptor(auditInterceptor);
-        chain.addInterceptor(authenticationInterceptor);
-
-        log.debug("Created auth interceptor chain with {} interceptors: {}",
-            chain.size(), chain.getInterceptorNames());
-
-        return chain;
+    public InterceptorChain authChain() {
+        return authChain;
     }
 
     /**
-     * Create minimal chain (performance + audit only)
+     * Minimal chain (performance + audit only)
      * Useful for non-authentication endpoints
      */
-    public InterceptorChain createMinimalChain() {
-        InterceptorChain chain = new InterceptorChain();
-        chain.addInterceptor(performanceInterceptor);
-        chain.addInterceptor(auditInterceptor);
-
-        log.debug("Created minimal interceptor chain with {} interceptors", chain.size());
-        return chain;
+    public InterceptorChain minimalChain() {
+        return minimalChain;
     }
 
     /**
-     * Create performance-only chain
+     * Performance-only chain
      * Useful for high-throughput endpoints
      */
-    public InterceptorChain createPerformanceChain() {
-        InterceptorChain chain = new InterceptorChain();
-        chain.addInterceptor(performanceInterceptor);
+    public InterceptorChain performanceChain() {
+        return performanceChain;
+    }
 
-        log.debug("Created performance-only chain");
-        return chain;
+    /**
+     * Executor for blocking operations run through
+     * {@link InterceptorChain#executeChainAsync(RequestContext, InterceptorChain.Operation, Executor)}
+     */
+    public Executor asyncExecutor() {
+        return asyncExecutor;
     }
 
     /**
-     * Create custom chain with specific interceptors
+     * Create custom chain with specific interceptors.
+     * Build it once and keep it; chains are safe to share.
      */
     public InterceptorChain createCustomChain(Interceptor... interceptors) {
-        InterceptorChain chain = new InterceptorChain();
-        for (Interceptor interceptor : interceptors) {
-            chain.addInterceptor(interceptor);
-        }
-
+        InterceptorChain chain = InterceptorChain.of(interceptors);
         log.debug("Created custom chain with {} interceptors", chain.size());
         return chain;
     }
+
+    @Override
+    public void destroy() {
+        // Waits for operations still running
+        asyncExecutor.close();
+    }
 }
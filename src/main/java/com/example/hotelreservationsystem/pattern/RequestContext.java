@@ -2,7 +2,9 @@ package com.example.hotelreservationsystem.pattern;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -26,6 +28,11 @@ public class RequestContext {
     private final LocalDateTime startTime;
     private LocalDateTime endTime;
 
+    // Interceptors of the current chain whose before() ran; the chain itself is shared
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private int executedInterceptors;
+
     /**
      * Create a new request context.
      *
@@ -70,6 +77,15 @@ public class RequestContext {
         return ip;
     }
 
+    /**
+     * Address of the connected peer. Unlike {@link #getClientIP()} it cannot be set by the client:
+     * forwarding headers are applied only when the peer is a trusted proxy
+     * ({@code server.forward-headers-strategy}), so use this for rate limiting and other security decisions.
+     */
+    public String getRemoteAddr() {
+        return request.getRemoteAddr();
+    }
+
     /**
      * Get request header
      */
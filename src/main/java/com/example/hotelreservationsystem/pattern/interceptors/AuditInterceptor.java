@@ -1,17 +1,16 @@
 package com.example.hotelreservationsystem.pattern.interceptors;
 
+import com.example.hotelreservationsystem.dto.AuditEvent;
 import com.example.hotelreservationsystem.pattern.Interceptor;
 import com.example.hotelreservationsystem.pattern.RequestContext;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
+import com.example.hotelreservationsystem.service.AuditLogStore;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Audit Interceptor - Framework-agnostic audit logging.
@@ -20,23 +19,30 @@ import java.util.List;
  * - Record security-relevant data
  * - Generate audit events
  * - Store for compliance
+ * <p>
+ * Events go to the shared {@link AuditLogStore}: bounded in memory, looked up by ID
+ * on completion and persisted in batches.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class AuditInterceptor implements Interceptor {
 
+    static final String SOURCE = "interceptor";
+
     private static final String EVENT_ID_KEY = "audit.eventId";
     private static final String START_TIME_KEY = "audit.startTime";
 
-    // In-memory audit log
-    private final List<AuditEvent> auditLog = Collections.synchronizedList(new ArrayList<>());
+    private static final AtomicLong EVENT_SEQUENCE = new AtomicLong();
+
+    private final AuditLogStore auditLogStore;
 
     @Override
     public boolean before(RequestContext context) {
         String uri = context.getRequestURI();
 
-        // Only audit auth endpoints
-        if (isNotAuthEndpoint(uri)) {
+        // Only audit auth and payment endpoints
+        if (isNotAudited(uri)) {
             return true;
         }
 
@@ -49,6 +55,7 @@ public class AuditInterceptor implements Interceptor {
         // Create initial audit event
         AuditEvent event = AuditEvent.builder()
             .eventId(eventId)
+            .source(SOURCE)
             .timestamp(startTime)
             .eventType(determineEventType(uri, context.getMethod()))
             .requestURI(uri)
@@ -58,7 +65,7 @@ public class AuditInterceptor implements Interceptor {
             .status("INITIATED")
             .build();
 
-        auditLog.add(event);
+        auditLogStore.add(event);
 
         log.info("[AUDIT] Event {} - {} {} initiated from {}",
             eventId, context.getMethod(), uri, event.getClientIP());
@@ -76,7 +83,7 @@ public class AuditInterceptor implements Interceptor {
     public void afterCompletion(RequestContext context, Exception exception) {
         String uri = context.getRequestURI();
 
-        if (isNotAuthEndpoint(uri)) {
+        if (isNotAudited(uri)) {
             return;
         }
 
@@ -88,34 +95,35 @@ public class AuditInterceptor implements Interceptor {
         }
 
         // Find and update audit event
-        auditLog.stream()
-            .filter(e -> e.getEventId().equals(eventId))
-            .findFirst()
-            .ifPresent(event -> {
-                event.setCompletedAt(LocalDateTime.now());
-                event.setHttpStatusCode(context.getStatusCode());
-                event.setStatus(determineStatus(context.getStatusCode(), exception));
-
-                if (exception != null) {
-                    event.setErrorMessage(exception.getMessage());
-                }
-
-                if (startTime != null) {
-                    event.setDurationMs(
-                        java.time.Duration.between(startTime, LocalDateTime.now()).toMillis()
-                    );
-                }
-
-                logAuditResult(event);
-            });
+        AuditEvent event = auditLogStore.find(eventId);
+        if (event != null) {
+            event.setCompletedAt(LocalDateTime.now());
+            event.setHttpStatusCode(context.getStatusCode());
+            event.setStatus(determineStatus(context.getStatusCode(), exception));
+
+            if (exception != null) {
+                event.setErrorMessage(exception.getMessage());
+            }
+
+            if (startTime != null) {
+                event.setDurationMs(
+                    java.time.Duration.between(startTime, LocalDateTime.now()).toMillis()
+                );
+            }
+
+            logAuditResult(event);
+            auditLogStore.complete(event);
+        } else {
+            log.debug("[AUDIT] Event {} was evicted before it completed", eventId);
+        }
 
         // Cleanup
         context.removeAttribute(EVENT_ID_KEY);
         context.removeAttribute(START_TIME_KEY);
     }
 
-    private boolean isNotAuthEndpoint(String uri) {
-        return !uri.contains("/api/auth/") && !uri.contains("/oauth2/");
+    private boolean isNotAudited(String uri) {
+        return !uri.contains("/api/auth/") && !uri.contains("/oauth2/") && !uri.contains("/api/payment/");
     }
 
     private String determineEventType(String uri, String method) {
@@ -123,6 +131,7 @@ public class AuditInterceptor implements Interceptor {
         if (uri.contains("/logout")) return "LOGOUT_REQUEST";
         if (uri.contains("/register")) return "REGISTRATION_ATTEMPT";
         if (uri.contains("/oauth2/")) return "OAUTH2_AUTHENTICATION";
+        if (uri.contains("/api/payment/")) return "PAYMENT_REQUEST";
         return "AUTH_REQUEST";
     }
 
@@ -151,15 +160,21 @@ public class AuditInterceptor implements Interceptor {
     }
 
     private String generateEventId() {
-        return "AUDIT-" + System.currentTimeMillis() + "-" + (int)(Math.random() * 1000);
+        // The sequence keeps IDs unique, which the store's index relies on
+        return "AUDIT-" + System.currentTimeMillis() + "-" + EVENT_SEQUENCE.incrementAndGet();
     }
 
+    /**
+     * Recent events recorded by this interceptor, oldest first
+     */
     public List<AuditEvent> getAuditLog() {
-        return new ArrayList<>(auditLog);
+        return auditLogStore.recent().stream()
+                            .filter(event -> SOURCE.equals(event.getSource()))
+                            .toList();
     }
 
     public void clearAuditLog() {
-        auditLog.clear();
+        auditLogStore.clear();
     }
 
     @Override
@@ -171,22 +186,4 @@ public class AuditInterceptor implements Interceptor {
     public String getName() {
         return "PureAuditInterceptor";
     }
-
-    @Data
-    @Builder
-    @AllArgsConstructor
-    public static class AuditEvent {
-        private String eventId;
-        private LocalDateTime timestamp;
-        private LocalDateTime completedAt;
-        private String eventType;
-        private String requestURI;
-        private String httpMethod;
-        private String clientIP;
-        private String userAgent;
-        private String status;
-        private Integer httpStatusCode;
-        private Long durationMs;
-        private String errorMessage;
-    }
 }
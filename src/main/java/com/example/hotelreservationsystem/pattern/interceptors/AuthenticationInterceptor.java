@@ -2,6 +2,8 @@ package com.example.hotelreservationsystem.pattern.interceptors;
 
 import com.example.hotelreservationsystem.pattern.Interceptor;
 import com.example.hotelreservationsystem.pattern.RequestContext;
+import com.example.hotelreservationsystem.service.LoginRateLimiter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Component;
  *Authentication Interceptor.
  * <p>
  * Responsibilities:
+ * - Throttle login and registration attempts per client IP and email
  * - Validate authentication request format
  * - Log authentication attempts
  * - Track authentication results
@@ -16,10 +19,23 @@ import org.springframework.stereotype.Component;
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class AuthenticationInterceptor implements Interceptor {
 
+    /**
+     * Email of a login or registration, set by the controller before running the chain
+     */
+    public static final String EMAIL_KEY = "auth.email";
+
+    /**
+     * Seconds the client should wait, set when an attempt was throttled
+     */
+    public static final String RETRY_AFTER_KEY = "auth.retryAfterSeconds";
+
     private static final String START_TIME_KEY = "auth.startTime";
 
+    private final LoginRateLimiter loginRateLimiter;
+
     @Override
     public boolean before(RequestContext context) {
         String uri = context.getRequestURI();
@@ -31,6 +47,11 @@ public class AuthenticationInterceptor implements Interceptor {
         log.info("[AUTH] BEFORE - {} {} from IP: {}",
             method, uri, context.getClientIP());
 
+        // Checked before any password is hashed
+        if ((uri.contains("/login") || uri.contains("/register")) && isThrottled(context)) {
+            return false; // Block
+        }
+
         // Validate based on endpoint
         if (uri.contains("/login")) {
             return validateLogin(context);
@@ -70,7 +91,7 @@ public class AuthenticationInterceptor implements Interceptor {
                 context.getRequestURI(), duration);
         }
 
-        if (exception != null) {
+        if (exception != null && !context.hasAttribute(RETRY_AFTER_KEY)) {
             log.error("[AUTH] Exception occurred: {}", exception.getMessage(), exception);
         }
 
@@ -78,6 +99,23 @@ public class AuthenticationInterceptor implements Interceptor {
         context.removeAttribute(START_TIME_KEY);
     }
 
+    /**
+     * Take an attempt from the rate limiter; when refused, answer 429 and stop the chain
+     */
+    private boolean isThrottled(RequestContext context) {
+        // Not getClientIP(): X-Forwarded-For is client-controlled and would let every attempt get a fresh bucket
+        long retryAfter = loginRateLimiter.tryAcquire(context.getRemoteAddr(), context.getAttribute(EMAIL_KEY));
+        if (retryAfter == 0) {
+            return false;
+        }
+
+        log.warn("[AUTH] Throttled {} from IP: {} - retry after {}s",
+            context.getRequestURI(), context.getRemoteAddr(), retryAfter);
+        context.setAttribute(RETRY_AFTER_KEY, retryAfter);
+        context.setStatusCode(429);
+        return true;
+    }
+
     /**
      * Validate login request
      */
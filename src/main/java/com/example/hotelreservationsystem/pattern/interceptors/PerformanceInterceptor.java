@@ -2,16 +2,13 @@ package com.example.hotelreservationsystem.pattern.interceptors;
 
 import com.example.hotelreservationsystem.pattern.Interceptor;
 import com.example.hotelreservationsystem.pattern.RequestContext;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
+import com.example.hotelreservationsystem.service.EndpointMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Performance Interceptor - Framework-agnostic performance monitoring.
@@ -23,21 +20,24 @@ import java.util.List;
  * - Identify slow requests
  * - Calculate performance statistics
  * - Alert on performance issues
+ * <p>
+ * Latencies go into the shared {@link EndpointMetrics} histograms rather than a list of
+ * per-request objects, so recording takes no lock and allocates nothing.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class PerformanceInterceptor implements Interceptor {
 
     private static final long SLOW_THRESHOLD = 1000; // 1 second
     private static final long WARNING_THRESHOLD = 500; // 500ms
     private static final String START_TIME_KEY = "perf.startTime";
 
-    private final List<PerformanceMetric> metrics = Collections.synchronizedList(new ArrayList<>());
-    private static final int MAX_METRICS = 1000;
+    private final EndpointMetrics endpointMetrics;
 
     @Override
     public boolean before(RequestContext context) {
-        context.setAttribute(START_TIME_KEY, System.currentTimeMillis());
+        context.setAttribute(START_TIME_KEY, System.nanoTime());
         log.debug("[PERF] Starting timer for {}", context.getRequestURI());
         return true;
     }
@@ -54,22 +54,16 @@ public class PerformanceInterceptor implements Interceptor {
             return;
         }
 
-        long executionTime = System.currentTimeMillis() - startTime;
+        long elapsedNanos = System.nanoTime() - startTime;
+        long executionTime = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
         int statusCode = context.getStatusCode();
 
-        // Create metric
-        PerformanceMetric metric = PerformanceMetric.builder()
-            .timestamp(LocalDateTime.now())
-            .requestURI(context.getRequestURI())
-            .httpMethod(context.getMethod())
-            .executionTimeMs(executionTime)
-            .statusCode(statusCode)
-            .success(statusCode >= 200 && statusCode < 300)
-            .clientIP(context.getClientIP())
-            .build();
+        endpointMetrics.record(context.getMethod(), EndpointMetrics.routeOf(context.getRequest()), statusCode, elapsedNanos);
 
-        addMetric(metric);
-        logPerformance(metric);
+        if (log.isDebugEnabled()) {
+            log.debug("{} [PERF] {} {} - {}ms - Status: {}",
+                getPerformanceEmoji(executionTime), context.getMethod(), context.getRequestURI(), executionTime, statusCode);
+        }
 
         // Check for performance issues
         if (executionTime > SLOW_THRESHOLD) {
@@ -83,20 +77,6 @@ public class PerformanceInterceptor implements Interceptor {
         context.removeAttribute(START_TIME_KEY);
     }
 
-    private void addMetric(PerformanceMetric metric) {
-        metrics.add(metric);
-        if (metrics.size() > MAX_METRICS) {
-            metrics.removeFirst();
-        }
-    }
-
-    private void logPerformance(PerformanceMetric metric) {
-        String emoji = getPerformanceEmoji(metric.getExecutionTimeMs());
-        log.info("{} [PERF] {} {} - {}ms - Status: {}",
-            emoji, metric.getHttpMethod(), metric.getRequestURI(),
-            metric.getExecutionTimeMs(), metric.getStatusCode());
-    }
-
     private String getPerformanceEmoji(long time) {
         if (time < 100) return "⚡";
         if (time < WARNING_THRESHOLD) return "🚀";
@@ -104,12 +84,15 @@ public class PerformanceInterceptor implements Interceptor {
         return "";
     }
 
-    public List<PerformanceMetric> getAllMetrics() {
-        return new ArrayList<>(metrics);
+    /**
+     * Latency percentiles and status counts per endpoint
+     */
+    public List<EndpointMetrics.EndpointStats> getMetrics() {
+        return endpointMetrics.snapshot();
     }
 
     public void clearMetrics() {
-        metrics.clear();
+        endpointMetrics.reset();
     }
 
     @Override
@@ -122,16 +105,4 @@ public class PerformanceInterceptor implements Interceptor {
         return "PurePerformanceInterceptor";
     }
 
-    @Data
-    @Builder
-    @AllArgsConstructor
-    public static class PerformanceMetric {
-        private LocalDateTime timestamp;
-        private String requestURI;
-        private String httpMethod;
-        private long executionTimeMs;
-        private int statusCode;
-        private boolean success;
-        private String clientIP;
-    }
 }
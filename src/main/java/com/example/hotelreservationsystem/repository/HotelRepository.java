@@ -1,10 +1,35 @@
 package com.example.hotelreservationsystem.repository;
 
+import com.example.hotelreservationsystem.dto.HotelCreateResponse;
 import com.example.hotelreservationsystem.entity.Hotel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
     boolean existsByName(String name);
+
+    /**
+     * Keyset page of hotels with ID greater than {@code after}, without their rooms
+     */
+    @Query("select new com.example.hotelreservationsystem.dto.HotelCreateResponse(h.id, h.name, h.address) " +
+           "from Hotel h where h.id > :after order by h.id")
+    List<HotelCreateResponse> findDtosAfter(@Param("after") long after, Limit limit);
+
+    /**
+     * All hotels in ID order, read through a cursor; must be consumed inside a transaction and closed
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.hotelreservationsystem.dto.HotelCreateResponse(h.id, h.name, h.address) " +
+           "from Hotel h order by h.id")
+    Stream<HotelCreateResponse> streamAllDtos();
 }
@@ -1,9 +1,17 @@
 package com.example.hotelreservationsystem.repository;
 
 import com.example.hotelreservationsystem.entity.Order;
+import com.example.hotelreservationsystem.enums.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -11,5 +19,73 @@ import java.util.Optional;
  */
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    Optional<Order> findByRoomId(Long roomId);
+    /**
+     * Orders of a room in the given statuses whose stay started on or before the date, latest first.
+     * A room has many orders over time, so callers pick the one they need by status and date.
+     */
+    @EntityGraph(attributePaths = "customer")
+    @Query("select o from Order o where o.room.id = :roomId and o.orderStatus in :statuses " +
+           "and o.checkInDate <= :date order by o.checkInDate desc")
+    List<Order> findStartedByRoom(@Param("roomId") Long roomId,
+                                  @Param("statuses") Collection<OrderStatus> statuses,
+                                  @Param("date") LocalDate date,
+                                  Limit limit);
+
+    /**
+     * Orders of a room in the given statuses that have not ended before the date, earliest first
+     */
+    @EntityGraph(attributePaths = {"customer", "room"})
+    @Query("select o from Order o where o.room.id = :roomId and o.orderStatus in :statuses " +
+           "and o.checkOutDate >= :date order by o.checkInDate")
+    List<Order> findNotEndedByRoom(@Param("roomId") Long roomId,
+                                   @Param("statuses") Collection<OrderStatus> statuses,
+                                   @Param("date") LocalDate date,
+                                   Limit limit);
+
+    /**
+     * Order with customer, room and room type fetched in one statement,
+     * for flows that check ownership and render the room in notifications
+     */
+    @EntityGraph(attributePaths = {"customer", "room", "room.roomType"})
+    Optional<Order> findWithDetailsById(Long id);
+
+    /**
+     * Room stays that still occupy nights on or after the given date.
+     * Returns a lightweight projection so the availability index can be built
+     * without materializing Order, Room or Customer entities.
+     */
+    @Query("select o.room.id as roomId, o.checkInDate as checkInDate, o.checkOutDate as checkOutDate " +
+           "from Order o where o.orderStatus in :statuses and o.checkOutDate > :from")
+    List<RoomStay> findStaysEndingAfter(@Param("statuses") Collection<OrderStatus> statuses,
+                                        @Param("from") LocalDate from);
+
+    /**
+     * Stays of one room that still occupy nights on or after the given date
+     */
+    @Query("select o.room.id as roomId, o.checkInDate as checkInDate, o.checkOutDate as checkOutDate " +
+           "from Order o where o.room.id = :roomId and o.orderStatus in :statuses and o.checkOutDate > :from")
+    List<RoomStay> findStaysOfRoomEndingAfter(@Param("roomId") Long roomId,
+                                              @Param("statuses") Collection<OrderStatus> statuses,
+                                              @Param("from") LocalDate from);
+
+    /**
+     * Whether an order in one of the statuses occupies any night of [checkIn, checkOut) in the room
+     */
+    @Query("select count(o) > 0 from Order o where o.room.id = :roomId and o.orderStatus in :statuses " +
+           "and o.checkInDate < :checkOut and o.checkOutDate > :checkIn")
+    boolean existsOverlapping(@Param("roomId") Long roomId,
+                              @Param("statuses") Collection<OrderStatus> statuses,
+                              @Param("checkIn") LocalDate checkIn,
+                              @Param("checkOut") LocalDate checkOut);
+
+    /**
+     * Projection of an order's room and date range
+     */
+    interface RoomStay {
+        Long getRoomId();
+
+        LocalDate getCheckInDate();
+
+        LocalDate getCheckOutDate();
+    }
 }
@@ -1,12 +1,76 @@
 package com.example.hotelreservationsystem.repository;
 
+import com.example.hotelreservationsystem.dto.RoomCreateResponse;
 import com.example.hotelreservationsystem.entity.Room;
 import com.example.hotelreservationsystem.enums.RoomStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface RoomRepository extends JpaRepository<Room, Long>, RoomSearchRepository {
+
+    /**
+     * Selects room DTOs in the query itself. Hotel and room type IDs are the foreign key
+     * columns, so no association is joined or loaded.
+     */
+    String DTO_SELECT = "select new com.example.hotelreservationsystem.dto.RoomCreateResponse(" +
+                        "r.id, r.roomNumber, r.hotel.id, r.roomType.id, r.roomStatus) from Room r ";
+
     List<Room> findByRoomType_IdAndRoomStatus(Long roomTypeId, RoomStatus roomStatus);
+
+    /**
+     * Room with its room type fetched in the same statement, for pricing
+     */
+    @EntityGraph(attributePaths = "roomType")
+    Optional<Room> findWithRoomTypeById(Long id);
+
+    /**
+     * Room with its room type, locked (SELECT ... FOR UPDATE) until the transaction ends.
+     * Bookings of the same room take this lock first, so their overlap checks run one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Room r join fetch r.roomType where r.id = :id")
+    Optional<Room> findWithRoomTypeForUpdateById(@Param("id") Long id);
+
+    /**
+     * Fencing token of the last booking of a room; empty if never booked or no such room
+     */
+    @Query("select r.lockFencingToken from Room r where r.id = :id")
+    Optional<Long> findLockFencingTokenById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "where r.id = :id")
+    Optional<RoomCreateResponse> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "order by r.id")
+    List<RoomCreateResponse> findAllDtos();
+
+    @Query(DTO_SELECT + "where r.roomType.id = :roomTypeId and r.roomStatus = :roomStatus order by r.id")
+    List<RoomCreateResponse> findDtosByRoomTypeAndStatus(@Param("roomTypeId") Long roomTypeId,
+                                                         @Param("roomStatus") RoomStatus roomStatus);
+
+    /**
+     * Keyset page of room DTOs with ID greater than {@code after}
+     */
+    @Query(DTO_SELECT + "where r.id > :after order by r.id")
+    List<RoomCreateResponse> findDtosAfter(@Param("after") long after, Limit limit);
+
+    /**
+     * All room DTOs in ID order, read through a cursor; must be consumed inside a transaction and closed
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + "order by r.id")
+    Stream<RoomCreateResponse> streamAllDtos();
 }
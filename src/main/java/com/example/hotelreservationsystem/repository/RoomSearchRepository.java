@@ -0,0 +1,22 @@
+package com.example.hotelreservationsystem.repository;
+
+import com.example.hotelreservationsystem.dto.RoomSearchFilter;
+import com.example.hotelreservationsystem.dto.RoomSearchResult;
+
+import java.util.List;
+
+/**
+ * Projection queries for room search, mixed into {@link RoomRepository}
+ */
+public interface RoomSearchRepository {
+
+    /**
+     * Rooms matching the filter, ordered by ID, selected as projections
+     */
+    List<RoomSearchResult> searchRooms(RoomSearchFilter filter);
+
+    /**
+     * Keyset page of rooms matching the filter with ID greater than {@code afterId}
+     */
+    List<RoomSearchResult> searchRooms(RoomSearchFilter filter, long afterId, int limit);
+}
@@ -0,0 +1,66 @@
+package com.example.hotelreservationsystem.repository;
+
+import com.example.hotelreservationsystem.dto.RoomSearchFilter;
+import com.example.hotelreservationsystem.dto.RoomSearchResult;
+import com.example.hotelreservationsystem.entity.Room;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link RoomSearchRepository}.
+ * <p>
+ * Filters from {@link RoomSpecifications} become the WHERE clause and the SELECT list is
+ * built with a constructor expression, so only the matching rows' columns are read and
+ * no entities or lazy proxies enter the persistence context.
+ */
+public class RoomSearchRepositoryImpl implements RoomSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RoomSearchResult> searchRooms(RoomSearchFilter filter) {
+        return entityManager.createQuery(buildQuery(filter, null)).getResultList();
+    }
+
+    @Override
+    public List<RoomSearchResult> searchRooms(RoomSearchFilter filter, long afterId, int limit) {
+        return entityManager.createQuery(buildQuery(filter, afterId))
+                            .setMaxResults(limit)
+                            .getResultList();
+    }
+
+    private CriteriaQuery<RoomSearchResult> buildQuery(RoomSearchFilter filter, Long afterId) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(RoomSearchResult.class);
+        var room = query.from(Room.class);
+        // Room type is optional; an implicit path to its price would be an inner join and drop untyped rooms
+        var roomType = room.join("roomType", JoinType.LEFT);
+
+        query.select(cb.construct(
+            RoomSearchResult.class,
+            room.get("id"),
+            room.get("roomNumber"),
+            room.get("hotel").get("id"),
+            roomType.get("id"),
+            room.get("roomStatus"),
+            roomType.get("price")
+        ));
+
+        var spec = RoomSpecifications.matching(filter);
+        if (afterId != null) {
+            spec = spec.and(RoomSpecifications.idAfter(afterId));
+        }
+
+        var predicate = spec.toPredicate(room, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(room.get("id")));
+        return query;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.hotelreservationsystem.repository;
+
+import com.example.hotelreservationsystem.dto.RoomSearchFilter;
+import com.example.hotelreservationsystem.entity.Room;
+import com.example.hotelreservationsystem.enums.RoomStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reusable room query predicates.
+ * Hotel and room type are matched on the foreign key, so they need no join.
+ */
+public final class RoomSpecifications {
+
+    private RoomSpecifications() {
+    }
+
+    public static Specification<Room> hasStatus(RoomStatus roomStatus) {
+        return (room, query, cb) -> cb.equal(room.get("roomStatus"), roomStatus);
+    }
+
+    public static Specification<Room> inHotel(Long hotelId) {
+        return (room, query, cb) -> cb.equal(room.get("hotel").get("id"), hotelId);
+    }
+
+    public static Specification<Room> ofRoomType(Long roomTypeId) {
+        return (room, query, cb) -> cb.equal(room.get("roomType").get("id"), roomTypeId);
+    }
+
+    public static Specification<Room> withCapacityAtLeast(Integer minCapacity) {
+        return (room, query, cb) -> cb.greaterThanOrEqualTo(room.get("roomType").get("capacity"), minCapacity);
+    }
+
+    /**
+     * Keyset condition: rows after the given ID in ID order
+     */
+    public static Specification<Room> idAfter(Long id) {
+        return (room, query, cb) -> cb.greaterThan(room.get("id"), id);
+    }
+
+    /**
+     * Conjunction of every filter that is set
+     */
+    public static Specification<Room> matching(RoomSearchFilter filter) {
+        List<Specification<Room>> specs = new ArrayList<>();
+        if (filter.roomStatus() != null) {
+            specs.add(hasStatus(filter.roomStatus()));
+        }
+        if (filter.roomTypeId() != null) {
+            specs.add(ofRoomType(filter.roomTypeId()));
+        }
+        if (filter.hotelId() != null) {
+            specs.add(inHotel(filter.hotelId()));
+        }
+        if (filter.minCapacity() != null) {
+            specs.add(withCapacityAtLeast(filter.minCapacity()));
+        }
+        return Specification.allOf(specs);
+    }
+}
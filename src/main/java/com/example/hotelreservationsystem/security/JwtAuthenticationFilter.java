@@ -1,6 +1,7 @@
 package com.example.hotelreservationsystem.security;
 
 import com.example.hotelreservationsystem.service.TokenStorageService;
+import com.example.hotelreservationsystem.service.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -20,9 +22,16 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Request attribute holding the {@link JwtUtil.VerifiedToken} of an authenticated request,
+     * so later code can read the claims without parsing the token again
+     */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".VERIFIED_TOKEN";
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
     private final TokenStorageService tokenStorageService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
@@ -34,29 +43,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            final var jwt = authHeader.substring(7);
+            authenticateToken(request, authHeader.substring(7));
+        } catch (Exception e) {
+            logger.error("Cannot set user authentication: {}", e);
+        }
+
+        filterChain.doFilter(request, response);
+    }
 
+    private void authenticateToken(HttpServletRequest request, String jwt) {
+        // Tokens already checked by this instance skip Redis and the signature check
+        var verified = verifiedTokenCache.get(jwt);
+        var cached = verified != null;
+
+        if (!cached) {
             if (!tokenStorageService.validateToken(jwt)) {
                 logger.debug("Token not found in Redis or expired, denying access");
-                filterChain.doFilter(request, response);
                 return;
             }
+            // Signature and expiry are checked once; the claims are reused below
+            verified = jwtUtil.verify(jwt);
+        }
 
-            final var userEmail = jwtUtil.extractEmail(jwt);
+        final var userEmail = verified.email();
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                var userDetails = userDetailsService.loadUserByUsername(userEmail);
+        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Served from the principal cache in steady state
+            var userDetails = userDetailsService.loadUserByUsername(userEmail);
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    var authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (jwtUtil.validateToken(verified, userDetails)) {
+                authenticate(request, verified, userDetails);
+                if (!cached) {
+                    verifiedTokenCache.put(verified);
                 }
             }
-        } catch (Exception e) {
-            logger.error("Cannot set user authentication: {}", e);
         }
+    }
 
-        filterChain.doFilter(request, response);
+    private void authenticate(HttpServletRequest request, JwtUtil.VerifiedToken verified, UserDetails userDetails) {
+        var authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verified);
     }
 }
@@ -2,6 +2,8 @@ package com.example.hotelreservationsystem.security;
 
 import com.example.hotelreservationsystem.service.TokenStorageService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
@@ -27,8 +29,46 @@ public class JwtUtil {
     @Value("${jwt.expiration:1800000}") // 30 mins
     private Long expiration;
 
+    // Key and parser are immutable; built on first use, once the secret has been injected
+    private volatile Signing signing;
+
+    private record Signing(SecretKey key, JwtParser parser) {
+    }
+
+    /**
+     * Claims of a token whose signature and expiry have been checked.
+     * Parse the token once with {@link #verify(String)} and reuse this for the rest of the request.
+     */
+    public record VerifiedToken(String token, String email, Date expiration, Claims claims) {
+
+        public boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
+        }
+    }
+
+    private Signing signing() {
+        var current = signing;
+        if (current == null) {
+            // Racing threads build equivalent instances, so the last write winning is harmless
+            var key = Keys.hmacShaKeyFor(secret.getBytes());
+            current = new Signing(key, Jwts.parser().verifyWith(key).build());
+            signing = current;
+        }
+        return current;
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signing().key();
+    }
+
+    /**
+     * Check the signature and expiry and return the claims in one parse
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        var claims = extractAllClaims(token);
+        return new VerifiedToken(token, claims.getSubject(), claims.getExpiration(), claims);
     }
 
     public String extractEmail(String token) {
@@ -45,15 +85,9 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                   .verifyWith(getSigningKey())
-                   .build()
-                   .parseSignedClaims(token)
-                   .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return signing().parser()
+                        .parseSignedClaims(token)
+                        .getPayload();
     }
 
     public String generateToken(String email) {
@@ -85,14 +119,16 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final var email = extractEmail(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
+    }
+
+    public boolean validateToken(VerifiedToken verified, UserDetails userDetails) {
+        return verified.email().equals(userDetails.getUsername()) && !verified.isExpired();
     }
 
     public Boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            return !verify(token).isExpired();
         } catch (Exception e) {
             return false;
         }
@@ -0,0 +1,105 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.dto.AuditEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recent audit events in memory, shared by the audit interceptors.
+ * <p>
+ * Events live in a fixed-size ring buffer, so memory stays bounded and the oldest
+ * event is overwritten once it is full. An index by event ID lets an interceptor find
+ * its in-flight event in O(1) when the request completes. Completed events are handed
+ * to {@link AuditLogWriter}, which persists them in batches off the request thread.
+ */
+@Service
+public class AuditLogStore {
+
+    private final AuditEvent[] ring;
+    private final ConcurrentHashMap<String, AuditEvent> index = new ConcurrentHashMap<>();
+    private final AuditLogWriter writer;
+
+    // Guarded by this; slot of the next event is next % ring.length
+    private long next;
+
+    @Autowired
+    public AuditLogStore(@Value("${audit.store.capacity:10000}") int capacity, AuditLogWriter writer) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Audit store capacity must be positive");
+        }
+        this.ring = new AuditEvent[capacity];
+        this.writer = writer;
+    }
+
+    /**
+     * Store without persistence, for tests and benchmarks
+     */
+    public AuditLogStore(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Keep a new event, evicting the oldest one when the buffer is full
+     */
+    public void add(AuditEvent event) {
+        synchronized (this) {
+            var slot = (int) (next++ % ring.length);
+            var evicted = ring[slot];
+            ring[slot] = event;
+            if (evicted != null) {
+                index.remove(evicted.getEventId(), evicted);
+            }
+            index.put(event.getEventId(), event);
+        }
+    }
+
+    /**
+     * The event with this ID, or null once it has been evicted
+     */
+    public AuditEvent find(String eventId) {
+        return index.get(eventId);
+    }
+
+    /**
+     * Hand a completed event to the persistence writer
+     */
+    public void complete(AuditEvent event) {
+        if (writer != null) {
+            writer.enqueue(event);
+        }
+    }
+
+    /**
+     * Events still in the buffer, oldest first
+     */
+    public List<AuditEvent> recent() {
+        synchronized (this) {
+            var size = (int) Math.min(next, ring.length);
+            var events = new ArrayList<AuditEvent>(size);
+            for (long i = next - size; i < next; i++) {
+                events.add(ring[(int) (i % ring.length)]);
+            }
+            return events;
+        }
+    }
+
+    public int size() {
+        synchronized (this) {
+            return (int) Math.min(next, ring.length);
+        }
+    }
+
+    public void clear() {
+        synchronized (this) {
+            Arrays.fill(ring, null);
+            index.clear();
+            next = 0;
+        }
+    }
+}
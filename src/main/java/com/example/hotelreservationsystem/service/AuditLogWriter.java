@@ -0,0 +1,179 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.dto.AuditEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists completed audit events to the audit_log table with JDBC batch inserts.
+ * <p>
+ * Requests only offer the event to a bounded queue; a background thread drains it every
+ * {@code audit.persist.flush-millis} and inserts up to {@code audit.persist.batch-size}
+ * rows per statement batch. When the queue is full the event is dropped and counted,
+ * so a slow database never blocks requests. Remaining events are written on shutdown.
+ * <p>
+ * Strings are cut to their {@link com.example.hotelreservationsystem.entity.AuditLogEntry}
+ * column lengths, since user agents, URIs and error messages come from clients. If a batch
+ * still fails, its rows are inserted one by one so a single bad row only loses itself.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter implements DisposableBean {
+
+    static final String INSERT_SQL = """
+        insert into audit_log (event_id, source, event_type, request_uri, http_method, client_ip, user_agent,
+                               status, http_status_code, started_at, completed_at, duration_ms, error_message)
+        values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    // Column lengths of AuditLogEntry
+    static final int EVENT_ID_LENGTH = 64;
+    static final int SOURCE_LENGTH = 32;
+    static final int EVENT_TYPE_LENGTH = 64;
+    static final int REQUEST_URI_LENGTH = 2048;
+    static final int HTTP_METHOD_LENGTH = 16;
+    static final int CLIENT_IP_LENGTH = 64;
+    static final int USER_AGENT_LENGTH = 512;
+    static final int STATUS_LENGTH = 32;
+    static final int ERROR_MESSAGE_LENGTH = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final boolean enabled;
+    private final BlockingQueue<AuditEvent> queue;
+    private final ScheduledExecutorService flusher;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public AuditLogWriter(
+        JdbcTemplate jdbcTemplate,
+        @Value("${audit.persist.enabled:true}") boolean enabled,
+        @Value("${audit.persist.queue-capacity:10000}") int queueCapacity,
+        @Value("${audit.persist.batch-size:500}") int batchSize,
+        @Value("${audit.persist.flush-millis:1000}") long flushMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "audit-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Queue a completed event for persistence without blocking
+     */
+    public void enqueue(AuditEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            var total = dropped.incrementAndGet();
+            if (total % 1000 == 1) {
+                log.warn("Audit log queue full - event {} not persisted ({} dropped in total)", event.getEventId(), total);
+            }
+        }
+    }
+
+    /**
+     * Write everything queued so far, one batch at a time
+     */
+    void flush() {
+        var batch = new ArrayList<AuditEvent>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), AuditLogWriter::bind);
+                written.addAndGet(batch.size());
+            } catch (Exception e) {
+                log.warn("Audit batch of {} events failed, inserting them one by one", batch.size(), e);
+                insertEach(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Insert rows of a failed batch separately; rows that still fail are dropped, not retried
+     */
+    private void insertEach(List<AuditEvent> events) {
+        for (var event : events) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, statement -> bind(statement, event));
+                written.incrementAndGet();
+            } catch (Exception e) {
+                dropped.incrementAndGet();
+                log.error("Failed to persist audit event {}", event.getEventId(), e);
+            }
+        }
+    }
+
+    static void bind(PreparedStatement statement, AuditEvent event) throws SQLException {
+        statement.setString(1, truncate(event.getEventId(), EVENT_ID_LENGTH));
+        statement.setString(2, truncate(event.getSource(), SOURCE_LENGTH));
+        statement.setString(3, truncate(event.getEventType(), EVENT_TYPE_LENGTH));
+        statement.setString(4, truncate(event.getRequestURI(), REQUEST_URI_LENGTH));
+        statement.setString(5, truncate(event.getHttpMethod(), HTTP_METHOD_LENGTH));
+        statement.setString(6, truncate(event.getClientIP(), CLIENT_IP_LENGTH));
+        statement.setString(7, truncate(event.getUserAgent(), USER_AGENT_LENGTH));
+        statement.setString(8, truncate(event.getStatus(), STATUS_LENGTH));
+        statement.setObject(9, event.getHttpStatusCode(), Types.INTEGER);
+        statement.setTimestamp(10, event.getTimestamp() == null ? null : Timestamp.valueOf(event.getTimestamp()));
+        statement.setTimestamp(11, event.getCompletedAt() == null ? null : Timestamp.valueOf(event.getCompletedAt()));
+        statement.setObject(12, event.getDurationMs(), Types.BIGINT);
+        statement.setString(13, truncate(event.getErrorMessage(), ERROR_MESSAGE_LENGTH));
+    }
+
+    static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        // Do not split a surrogate pair at the cut
+        var end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return value.substring(0, end);
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        if (enabled) {
+            flush();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.example.hotelreservationsystem.exception.EmailAlreadyExistsException;
 import com.example.hotelreservationsystem.exception.InvalidCredentialsException;
 import com.example.hotelreservationsystem.repository.CustomerRepository;
 import com.example.hotelreservationsystem.security.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -17,7 +18,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashMap;
 
@@ -29,24 +30,34 @@ public class AuthenticationService{
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    /**
+     * Register a customer. The password is hashed before any database access, so a registration
+     * waiting for the hashing pool never holds a JDBC connection; only the final check and insert
+     * run in a transaction.
+     */
+    @Timed(value = "hotel.auth.register", description = "Registration latency including the queue wait for password hashing")
     public LoginResponse register(RegisterRequest request) {
-        if (customerRepository.findByEmail(request.getEmail()).isPresent())
-            throw new EmailAlreadyExistsException("Email already registered");
+        var passwordHash = passwordEncoder.encode(request.getPassword());
 
-        var customer = Customer.builder()
-                               .name(request.getName())
-                               .email(request.getEmail())
-                               .passwordHash(passwordEncoder.encode(request.getPassword()))
-                               .phoneNumber(request.getPhoneNumber())
-                               .role(Role.USER)
-                               .membershipTier(MembershipTier.BRONZE)
-                               .enabled(true)
-                               .build();
+        var savedCustomer = transactionTemplate.execute(_ -> {
+            if (customerRepository.findByEmail(request.getEmail()).isPresent())
+                throw new EmailAlreadyExistsException("Email already registered");
 
-        var savedCustomer = customerRepository.save(customer);
-        var token = tokenGeneration(customer);
+            var customer = Customer.builder()
+                                   .name(request.getName())
+                                   .email(request.getEmail())
+                                   .passwordHash(passwordHash)
+                                   .phoneNumber(request.getPhoneNumber())
+                                   .role(Role.USER)
+                                   .membershipTier(MembershipTier.BRONZE)
+                                   .enabled(true)
+                                   .build();
+            return customerRepository.save(customer);
+        });
+        var token = tokenGeneration(savedCustomer);
 
         return LoginResponse.builder()
                             .token(token)
@@ -55,14 +66,16 @@ public class AuthenticationService{
                             .build();
     }
 
+    @Timed(value = "hotel.auth.login", description = "Login latency including the queue wait for password hashing")
     public LoginResponse login(LoginRequest request) {
         try {
             var authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
             if (!authentication.isAuthenticated())
                 throw new BadCredentialsException("Bad credentials");
 
-            var customer = customerRepository.findByEmail(request.getEmail())
-                                             .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            // Loaded by the authentication manager just above, so normally served from the cache
+            var customer = principalCache.findByEmail(request.getEmail())
+                                         .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
             var token = tokenGeneration(customer);
 
@@ -83,8 +96,11 @@ public class AuthenticationService{
         return jwtUtil.generateToken(customer.getEmail(), claims);
     }
 
+    /**
+     * The authenticated customer, memoized for the request and cached across requests
+     */
     public Customer getCurrentUser(String email) {
-        return customerRepository.findByEmail(email)
-                                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        return principalCache.findByEmail(email)
+                             .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 }
@@ -1,14 +1,20 @@
 package com.example.hotelreservationsystem.service;
 
+import com.example.hotelreservationsystem.dto.LockRecord;
 import com.example.hotelreservationsystem.events.LockEvent;
 import com.example.hotelreservationsystem.events.LockEventObserver;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.hotelreservationsystem.events.ObserverDispatcher;
+import com.example.hotelreservationsystem.repository.RoomRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -17,21 +23,113 @@ import java.util.concurrent.TimeUnit;
 /**
  * Booking Lock Service with Observer Pattern support
  * Manages Redis-based room locks and notifies observers of state changes
+ * <p>
+ * Every script declares the keys it touches in KEYS, but a lock's keys do not share a hash
+ * slot (the lockId index is per lock), so only a single Redis primary is supported, not Redis Cluster.
  */
 @Service
 @Slf4j
 public class BookingLockService {
 
     private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final ObserverDispatcher observerDispatcher;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final RoomRepository roomRepository;
 
     // Observer pattern: List of observers to notify on lock events
     private final List<LockEventObserver> observers = new CopyOnWriteArrayList<>();
 
-    private static final String LOCK_PREFIX = "booking:lock:";
-    private static final String ROOM_ID_KEY = "roomId";
-    private static final String CUSTOMER_ID_KEY = "customerId";
-    private static final String LOCK_ID_KEY = "lockId";
+    static final String LOCK_PREFIX = "booking:lock:";
+    private static final String LOCK_ID_INDEX_PREFIX = "booking:lockid:";
+    private static final String FENCE_PREFIX = "booking:fence:";
+    private static final String LOCK_META_PREFIX = "booking:lockmeta:";
+
+    // How long lock metadata outlives the lock so an expiry can still be attributed to its owner
+    private static final long LOCK_META_GRACE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    // Hash fields of a lock record, in the order they are read back with HMGET
+    private static final String LOCK_ID_FIELD = "lockId";
+    private static final String ROOM_ID_FIELD = "roomId";
+    private static final String CUSTOMER_ID_FIELD = "customerId";
+    private static final String FENCING_TOKEN_FIELD = "fencingToken";
+    private static final String CREATED_AT_FIELD = "createdAt";
+    private static final List<Object> LOCK_FIELDS = List.of(
+        LOCK_ID_FIELD, ROOM_ID_FIELD, CUSTOMER_ID_FIELD, FENCING_TOKEN_FIELD, CREATED_AT_FIELD
+    );
+
+    // Upper bound on keys sent in a single pipeline flush
+    private static final int LOCK_CHECK_BATCH_SIZE = 500;
+
+    /**
+     * Atomic acquire: fails if the lock key exists, otherwise INCRs the per-room fencing counter,
+     * writes the lock record as a hash with a millisecond TTL and writes the lockId -> roomId index
+     * with the same TTL. Scripts run atomically, so the EXISTS check and the writes cannot interleave.
+     * Owner metadata is copied to a key that outlives the lock, so expirations can be reported.
+     * A missing counter (new room, or Redis lost its data) is seeded with the token last stored on the
+     * room, so tokens keep growing past the one bookings are checked against; without a seed the script
+     * returns -1 and the caller retries with one.
+     * KEYS[1] = lock key, KEYS[2] = lockId index key, KEYS[3] = fencing counter key, KEYS[4] = metadata key
+     * ARGV[1] = lockId, ARGV[2] = roomId, ARGV[3] = customerId, ARGV[4] = createdAt, ARGV[5] = TTL in milliseconds,
+     * ARGV[6] = metadata TTL in milliseconds, ARGV[7] = counter seed, or empty if not loaded
+     * Returns the fencing token, 0 if the room is already locked, -1 if the counter needs a seed.
+     */
+    private static final RedisScript<Long> ACQUIRE_LOCK_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+        "if redis.call('EXISTS', KEYS[3]) == 0 then " +
+        "  if ARGV[7] == '' then return -1 end " +
+        "  redis.call('SET', KEYS[3], ARGV[7]) " +
+        "end " +
+        "local token = redis.call('INCR', KEYS[3]) " +
+        "redis.call('HSET', KEYS[1], 'lockId', ARGV[1], 'roomId', ARGV[2], 'customerId', ARGV[3], " +
+        "'fencingToken', token, 'createdAt', ARGV[4]) " +
+        "redis.call('PEXPIRE', KEYS[1], ARGV[5]) " +
+        "redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[5]) " +
+        "redis.call('HSET', KEYS[4], 'lockId', ARGV[1], 'customerId', ARGV[3], 'fencingToken', token) " +
+        "redis.call('PEXPIRE', KEYS[4], ARGV[6]) " +
+        "return token",
+        Long.class
+    );
+
+    /**
+     * Compare-and-delete by lockId. The room is resolved through the index before the call; the
+     * script checks that the index still points at it, checks lockId and owner against the stored
+     * record and deletes the lock, index and metadata keys only if they match.
+     * KEYS[1] = lockId index key, KEYS[2] = lock key, KEYS[3] = metadata key
+     * ARGV[1] = lockId, ARGV[2] = customerId, ARGV[3] = roomId
+     * Returns the roomId on release, 0 on owner mismatch, -1 if the lock does not exist.
+     */
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('GET', KEYS[1]) ~= ARGV[3] then return -1 end " +
+        "local lock = redis.call('HMGET', KEYS[2], 'lockId', 'customerId') " +
+        "if lock[1] ~= ARGV[1] then redis.call('DEL', KEYS[1]) return -1 end " +
+        "if lock[2] ~= ARGV[2] then return 0 end " +
+        "redis.call('DEL', KEYS[2], KEYS[1], KEYS[3]) " +
+        "return tonumber(ARGV[3])",
+        Long.class
+    );
+
+    /**
+     * Claim expired locks for event publication. KEYS come in triples per room: lock key,
+     * metadata key, fencing counter key. A room is claimed when the lock is gone, metadata is
+     * still present and its token is the latest issued (so no newer lock has taken over).
+     * Claiming deletes the metadata, so only one instance reports each expiry.
+     * Returns lockId, customerId pairs per room; empty strings when not claimed.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> CLAIM_EXPIRED_SCRIPT = new DefaultRedisScript(
+        "local out = {} " +
+        "for i = 1, #KEYS, 3 do " +
+        "  local meta = redis.call('HMGET', KEYS[i + 1], 'lockId', 'customerId', 'fencingToken') " +
+        "  if meta[1] and redis.call('EXISTS', KEYS[i]) == 0 and meta[3] == redis.call('GET', KEYS[i + 2]) then " +
+        "    redis.call('DEL', KEYS[i + 1]) " +
+        "    table.insert(out, meta[1]) table.insert(out, meta[2]) " +
+        "  else " +
+        "    table.insert(out, '') table.insert(out, '') " +
+        "  end " +
+        "end " +
+        "return out",
+        List.class
+    );
 
     @Value("${booking.lock.ttl-minutes:10}")
     private Integer defaultTtlMinutes;
@@ -41,11 +139,15 @@ public class BookingLockService {
      */
     public BookingLockService(
         RedisTemplate<String, String> redisTemplate,
-        ObjectMapper objectMapper,
+        ObserverDispatcher observerDispatcher,
+        CacheInvalidationBus cacheInvalidationBus,
+        RoomRepository roomRepository,
         List<LockEventObserver> observers
     ) {
         this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
+        this.observerDispatcher = observerDispatcher;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.roomRepository = roomRepository;
 
         // Auto-register all Spring-managed observers
         observers.forEach(this::registerObserver);
@@ -67,21 +169,23 @@ public class BookingLockService {
      */
     public void unregisterObserver(LockEventObserver observer) {
         observers.remove(observer);
+        observerDispatcher.release(observer);
         log.debug("Unregistered observer: {}", observer.getObserverName());
     }
 
     /**
      * Notify all observers of a lock event
+     * Delivery is queued per observer, so the caller does not wait for observer work
      */
     private void notifyObservers(LockEvent event) {
+        // Every event except a conflict changes the lock state other instances may have cached
+        if (event.getEventType() != LockEvent.LockEventType.LOCK_CONFLICT_DETECTED) {
+            cacheInvalidationBus.publish(LockStatusCache.REGION, event.getRoomId());
+        }
+
         log.debug("Notifying {} observers of event: {}", observers.size(), event.getEventType());
-        observers.forEach(observer -> {
-            try {
-                observer.onLockEvent(event);
-            } catch (Exception e) {
-                log.error("Observer {} failed to handle event", observer.getObserverName(), e);
-            }
-        });
+        observers.forEach(observer ->
+            observerDispatcher.dispatch(observer, observer.getObserverName(), () -> observer.onLockEvent(event)));
     }
 
     /**
@@ -92,6 +196,7 @@ public class BookingLockService {
      * @return The lock ID (UUID)
      * @throws IllegalStateException if room is already locked
      */
+    @Timed(value = "hotel.lock.create", description = "Lock acquisition latency; conflicts are tagged IllegalStateException")
     public String createLock(Long roomId, Long customerId) {
         return createLock(roomId, customerId, defaultTtlMinutes);
     }
@@ -105,12 +210,28 @@ public class BookingLockService {
      * @return The lock ID (UUID)
      * @throws IllegalStateException if room is already locked
      */
+    @Timed(value = "hotel.lock.create", description = "Lock acquisition latency; conflicts are tagged IllegalStateException")
     public String createLock(Long roomId, Long customerId, Integer ttlMinutes) {
         try {
             var key = LOCK_PREFIX + roomId;
 
-            // Check if room is already locked
-            if (redisTemplate.hasKey(key)) {
+            // Generate lock ID
+            var lockId = UUID.randomUUID().toString();
+            var now = LocalDateTime.now();
+
+            // Acquire atomically and obtain a fencing token for this lock
+            var ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+            var keys = List.of(key, LOCK_ID_INDEX_PREFIX + lockId, FENCE_PREFIX + roomId, LOCK_META_PREFIX + roomId);
+            Long fencingToken = acquire(keys, lockId, roomId, customerId, now, ttlMillis, "");
+
+            if (fencingToken != null && fencingToken < 0) {
+                // No counter in Redis: continue from the last token a booking of this room was written with
+                var seed = roomRepository.findLockFencingTokenById(roomId).orElse(0L);
+                log.info("Seeding fencing counter of room {} with {}", roomId, seed);
+                fencingToken = acquire(keys, lockId, roomId, customerId, now, ttlMillis, String.valueOf(seed));
+            }
+
+            if (fencingToken == null || fencingToken <= 0) {
                 log.warn("Room {} is already locked", roomId);
 
                 // Notify observers of conflict
@@ -125,22 +246,8 @@ public class BookingLockService {
                 throw new IllegalStateException("Room is already locked");
             }
 
-            // Generate lock ID
-            var lockId = UUID.randomUUID().toString();
-            var now = LocalDateTime.now();
-
-            // Create lock data
-            Map<String, Object> lockData = new HashMap<>();
-            lockData.put(LOCK_ID_KEY, lockId);
-            lockData.put(CUSTOMER_ID_KEY, customerId);
-            lockData.put(ROOM_ID_KEY, roomId);
-            lockData.put("timestamp", now.toString());
-
-            // Store in Redis with TTL
-            var lockJson = objectMapper.writeValueAsString(lockData);
-            redisTemplate.opsForValue().set(key, lockJson, ttlMinutes, TimeUnit.MINUTES);
-
-            log.info("Created lock {} for room {} by customer {} with TTL {}min", lockId, roomId, customerId, ttlMinutes);
+            log.info("Created lock {} for room {} by customer {} with TTL {}min (fencing token {})",
+                lockId, roomId, customerId, ttlMinutes, fencingToken);
 
             // Notify observers of lock creation
             notifyObservers(LockEvent.builder()
@@ -156,15 +263,21 @@ public class BookingLockService {
         } catch (IllegalStateException e) {
             // Room already locked - propagate without wrapping
             throw e;
-        } catch (JsonProcessingException e) {
-            log.error("Failed to serialize lock data for room: {}", roomId, e);
-            throw new RuntimeException("Failed to create booking lock", e);
         } catch (Exception e) {
             log.error("Failed to create lock in Redis for room: {}", roomId, e);
             throw new RuntimeException("Failed to create booking lock", e);
         }
     }
 
+    private Long acquire(List<String> keys, String lockId, Long roomId, Long customerId, LocalDateTime now,
+                         long ttlMillis, String counterSeed) {
+        return redisTemplate.execute(
+            ACQUIRE_LOCK_SCRIPT, keys,
+            lockId, String.valueOf(roomId), String.valueOf(customerId), now.toString(), String.valueOf(ttlMillis),
+            String.valueOf(ttlMillis + LOCK_META_GRACE_MILLIS), counterSeed
+        );
+    }
+
     /**
      * Check if a room is currently locked
      *
@@ -181,104 +294,150 @@ public class BookingLockService {
         }
     }
 
+    /**
+     * Find which of the given rooms are currently locked.
+     * Issues pipelined EXISTS commands, so a whole search result costs one
+     * network round-trip per batch instead of one per room.
+     *
+     * @param roomIds The room IDs to check
+     * @return IDs of rooms that are locked; empty if none or on Redis failure
+     */
+    public Set<Long> lockedRoomIds(Collection<Long> roomIds) {
+        if (roomIds == null || roomIds.isEmpty()) {
+            return Set.of();
+        }
+
+        try {
+            var ids = new ArrayList<>(roomIds);
+            Set<Long> locked = new HashSet<>();
+
+            for (int start = 0; start < ids.size(); start += LOCK_CHECK_BATCH_SIZE) {
+                var batch = ids.subList(start, Math.min(start + LOCK_CHECK_BATCH_SIZE, ids.size()));
+
+                List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (var roomId : batch) {
+                        connection.keyCommands().exists((LOCK_PREFIX + roomId).getBytes(StandardCharsets.UTF_8));
+                    }
+                    return null;
+                });
+
+                for (int i = 0; i < batch.size(); i++) {
+                    if (Boolean.TRUE.equals(results.get(i))) {
+                        locked.add(batch.get(i));
+                    }
+                }
+            }
+
+            return locked;
+        } catch (Exception e) {
+            log.error("Failed to check lock status for {} rooms", roomIds.size(), e);
+            return Set.of();
+        }
+    }
+
+    /**
+     * Check that a fencing token is still the latest one issued for a room.
+     * A lower token means the lock it came from has expired and the room was locked again since.
+     *
+     * @param roomId       The room ID
+     * @param fencingToken The token read from the lock being used
+     * @return true if no newer lock has been acquired for the room
+     */
+    public boolean isCurrentFencingToken(Long roomId, long fencingToken) {
+        try {
+            var current = redisTemplate.opsForValue().get(FENCE_PREFIX + roomId);
+            return current != null && Long.parseLong(current) == fencingToken;
+        } catch (Exception e) {
+            log.error("Failed to check fencing token for room: {}", roomId, e);
+            return false;
+        }
+    }
+
     /**
      * Get lock information for a room
      *
      * @param roomId The room ID
-     * @return Lock data map, or null if not locked
+     * @return Lock record, or null if not locked
      */
-    @SuppressWarnings("unchecked")
-    public Map<String, Object> getLockInfo(Long roomId) {
+    public LockRecord getLockInfo(Long roomId) {
         try {
             var key = LOCK_PREFIX + roomId;
-            var lockJson = redisTemplate.opsForValue().get(key);
+            var values = redisTemplate.opsForHash().multiGet(key, LOCK_FIELDS);
 
-            if (lockJson == null) {
+            if (values == null || values.getFirst() == null) {
                 return null;
             }
 
-            return objectMapper.readValue(lockJson, Map.class);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to deserialize lock data for room: {}", roomId, e);
-            return null;
+            return LockRecord.builder()
+                             .lockId((String) values.get(0))
+                             .roomId(parseLong(values.get(1)))
+                             .customerId(parseLong(values.get(2)))
+                             .fencingToken(parseLong(values.get(3)))
+                             .createdAt(values.get(4) != null ? LocalDateTime.parse((String) values.get(4)) : null)
+                             .build();
         } catch (Exception e) {
             log.error("Failed to get lock info for room: {}", roomId, e);
             return null;
         }
     }
 
+    private static Long parseLong(Object value) {
+        return value != null ? Long.valueOf((String) value) : null;
+    }
+
     /**
      * Release a booking lock
+     * Resolves the room through the lockId index and compare-and-deletes in a single
+     * server-side script, so no key scan is needed.
      *
      * @param lockId     The lock ID to release
      * @param customerId The customer ID requesting release
      * @return true if released successfully, false if lock doesn't exist or customer mismatch
      */
+    @Timed(value = "hotel.lock.release", description = "Lock release latency")
     public boolean releaseLock(String lockId, Long customerId) {
         try {
-            // Find the lock by lockId (need to scan all locks)
-            var keys = redisTemplate.keys(LOCK_PREFIX + "*");
-
-            if (keys.isEmpty()) {
-                log.warn("No locks found to release for lockId: {}", lockId);
+            // Resolve the room first so the script gets every key it touches in KEYS
+            var indexKey = LOCK_ID_INDEX_PREFIX + lockId;
+            var roomId = redisTemplate.opsForValue().get(indexKey);
+            if (roomId == null) {
+                log.warn("Lock not found: {}", lockId);
                 return false;
             }
 
-            for (var key : keys) {
-                Optional<Boolean> result = releaseLockIfMatch(key, lockId, customerId);
-                if (result.isPresent()) {
-                    return result.get();
-                }
-            }
-
-            log.warn("Lock not found: {}", lockId);
-            return false;
-
-        } catch (JsonProcessingException e) {
-            log.error("Failed to deserialize lock data for lockId: {}", lockId, e);
-            return false;
-        } catch (Exception e) {
-            log.error("Failed to release lock: {}", lockId, e);
-            throw new RuntimeException("Failed to release booking lock", e);
-        }
-    }
+            Long result = redisTemplate.execute(
+                RELEASE_LOCK_SCRIPT,
+                List.of(indexKey, LOCK_PREFIX + roomId, LOCK_META_PREFIX + roomId),
+                lockId, String.valueOf(customerId), roomId
+            );
 
-    @SuppressWarnings("unchecked")
-    private Optional<Boolean> releaseLockIfMatch(String key, String lockId, Long customerId) throws JsonProcessingException {
-        var lockJson = redisTemplate.opsForValue().get(key);
-        if (lockJson == null) {
-            return Optional.empty();
-        }
-
-        Map<String, Object> lockData = objectMapper.readValue(lockJson, Map.class);
-
-        if (!lockId.equals(lockData.get(LOCK_ID_KEY))) {
-            return Optional.empty();
-        }
+            if (result == null || result < 0) {
+                log.warn("Lock not found: {}", lockId);
+                return false;
+            }
 
-        Long lockCustomerId = ((Number) lockData.get(CUSTOMER_ID_KEY)).longValue();
-        if (!lockCustomerId.equals(customerId)) {
-            log.warn("Customer {} attempted to release lock {} owned by customer {}",
-                customerId, lockId, lockCustomerId);
-            return Optional.of(false);
-        }
+            if (result == 0) {
+                log.warn("Customer {} attempted to release lock {} owned by another customer", customerId, lockId);
+                return false;
+            }
 
-        boolean deleted = Boolean.TRUE.equals(redisTemplate.delete(key));
-        log.info("Released lock {} for room {} by customer {}",
-            lockId, lockData.get(ROOM_ID_KEY), customerId);
+            log.info("Released lock {} for room {} by customer {}", lockId, result, customerId);
 
-        if (deleted) {
             notifyObservers(LockEvent.builder()
                                      .eventType(LockEvent.LockEventType.LOCK_RELEASED)
-                                     .roomId(((Number) lockData.get(ROOM_ID_KEY)).longValue())
+                                     .roomId(result)
                                      .customerId(customerId)
                                      .lockId(lockId)
                                      .timestamp(LocalDateTime.now())
                                      .reason("manual")
                                      .build());
-        }
 
-        return Optional.of(deleted);
+            return true;
+
+        } catch (Exception e) {
+            log.error("Failed to release lock: {}", lockId, e);
+            throw new RuntimeException("Failed to release booking lock", e);
+        }
     }
 
     /**
@@ -287,6 +446,7 @@ public class BookingLockService {
      * @param roomId The room ID
      * @return true if released successfully
      */
+    @Timed(value = "hotel.lock.release", description = "Lock release latency")
     public boolean releaseLockByRoomId(Long roomId) {
         try {
             var key = LOCK_PREFIX + roomId;
@@ -297,14 +457,17 @@ public class BookingLockService {
             var deleted = redisTemplate.delete(key);
             log.info("Released lock for room {}: {}", roomId, deleted);
 
+            if (lockInfo != null) {
+                redisTemplate.delete(List.of(LOCK_ID_INDEX_PREFIX + lockInfo.lockId(), LOCK_META_PREFIX + roomId));
+            }
+
             // Notify observers if lock was successfully deleted
             if (deleted && lockInfo != null) {
                 notifyObservers(LockEvent.builder()
                                          .eventType(LockEvent.LockEventType.LOCK_RELEASED)
                                          .roomId(roomId)
-                                         .customerId(lockInfo.get(CUSTOMER_ID_KEY) != null ?
-                                             ((Number) lockInfo.get(CUSTOMER_ID_KEY)).longValue() : null)
-                                         .lockId((String) lockInfo.get(LOCK_ID_KEY))
+                                         .customerId(lockInfo.customerId())
+                                         .lockId(lockInfo.lockId())
                                          .timestamp(LocalDateTime.now())
                                          .reason("admin_release")
                                          .build());
@@ -317,6 +480,65 @@ public class BookingLockService {
         }
     }
 
+    /**
+     * Publish LOCK_EXPIRED for rooms whose lock key expired in Redis.
+     * Expirations are claimed atomically, so with several instances listening each
+     * expiry is published by exactly one of them; rooms that were re-locked in the
+     * meantime are skipped.
+     *
+     * @param roomIds Rooms reported by the expired keyevent notification
+     * @return Number of LOCK_EXPIRED events published
+     */
+    public int handleExpiredLocks(Collection<Long> roomIds) {
+        if (roomIds == null || roomIds.isEmpty()) {
+            return 0;
+        }
+
+        var ids = new ArrayList<>(roomIds);
+        var keys = new ArrayList<String>(ids.size() * 3);
+        for (var roomId : ids) {
+            keys.add(LOCK_PREFIX + roomId);
+            keys.add(LOCK_META_PREFIX + roomId);
+            keys.add(FENCE_PREFIX + roomId);
+        }
+
+        List<String> claimed;
+        try {
+            claimed = redisTemplate.execute(CLAIM_EXPIRED_SCRIPT, keys);
+        } catch (Exception e) {
+            log.error("Failed to claim {} expired locks", ids.size(), e);
+            return 0;
+        }
+
+        if (claimed == null) {
+            return 0;
+        }
+
+        int published = 0;
+        var now = LocalDateTime.now();
+        for (int i = 0; i < ids.size() && 2 * i + 1 < claimed.size(); i++) {
+            var lockId = claimed.get(2 * i);
+            if (lockId == null || lockId.isEmpty()) {
+                continue;
+            }
+
+            var customerId = claimed.get(2 * i + 1);
+            log.info("Lock {} for room {} expired", lockId, ids.get(i));
+
+            notifyObservers(LockEvent.builder()
+                                     .eventType(LockEvent.LockEventType.LOCK_EXPIRED)
+                                     .roomId(ids.get(i))
+                                     .customerId(customerId != null && !customerId.isEmpty() ? Long.valueOf(customerId) : null)
+                                     .lockId(lockId)
+                                     .timestamp(now)
+                                     .reason("expired")
+                                     .build());
+            published++;
+        }
+
+        return published;
+    }
+
     /**
      * Get TTL (remaining time) for a room lock in seconds
      *
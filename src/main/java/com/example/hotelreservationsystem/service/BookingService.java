@@ -6,6 +6,7 @@ import com.example.hotelreservationsystem.base.pricing.OrderPriceObserver;
 import com.example.hotelreservationsystem.dto.BookingCreateRequest;
 import com.example.hotelreservationsystem.dto.BookingResponse;
 import com.example.hotelreservationsystem.dto.CancellationResponse;
+import com.example.hotelreservationsystem.dto.LockRecord;
 import com.example.hotelreservationsystem.entity.Customer;
 import com.example.hotelreservationsystem.entity.Order;
 import com.example.hotelreservationsystem.entity.Room;
@@ -15,17 +16,18 @@ import com.example.hotelreservationsystem.repository.CustomerRepository;
 import com.example.hotelreservationsystem.repository.OrderRepository;
 import com.example.hotelreservationsystem.repository.RoomRepository;
 import com.example.hotelreservationsystem.service.roomstate.ReservationContext;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Map;
-import java.util.Random;
 
 /**
  * Service for managing booking orders
@@ -42,7 +44,8 @@ public class BookingService {
     private final CustomerRepository customerRepository;
     private final NotificationServiceFactory notificationServiceFactory;
     private final RoomService roomService;
-    private final Random random = new Random();
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final CheckInCodeGenerator checkInCodeGenerator;
 
     /**
      * Get a booking order by ID for the authenticated customer.
@@ -66,17 +69,19 @@ public class BookingService {
     }
 
     /**
-     * Get a booking order by room for the authenticated customer.
+     * Get the current or next active booking order of a room for the authenticated customer.
      *
      * @param roomId The room ID to retrieve the current order for
      * @param customerId The authenticated customer ID
      * @return BookingResponse with order details
-     * @throws IllegalArgumentException if no order exists for the room
+     * @throws IllegalArgumentException if no PENDING or CONFIRMED order of the room ends today or later
      * @throws SecurityException if order does not belong to the customer
      */
     @Transactional(readOnly = true)
     public BookingResponse getBookingByRoom(Long roomId, Long customerId) {
-        Order order = orderRepository.findByRoomId(roomId)
+        Order order = orderRepository.findNotEndedByRoom(roomId, RoomAvailabilityIndex.OCCUPYING_STATUSES, LocalDate.now(), Limit.of(1))
+            .stream()
+            .findFirst()
             .orElseThrow(() -> new IllegalArgumentException("Order not found for room: " + roomId));
 
         if (!order.getCustomer().getId().equals(customerId)) {
@@ -105,16 +110,17 @@ public class BookingService {
      *
      * @param request Booking creation request with lock ID and booking details
      * @return BookingResponse with order details
-     * @throws IllegalArgumentException if lock is invalid, expired, or belongs to another customer
-     * @throws IllegalStateException if room or customer not found
+     * @throws IllegalArgumentException if lock is invalid, expired, superseded, or belongs to another customer
+     * @throws IllegalStateException if room or customer not found, or room already booked for the dates
      */
     @Transactional
+    @Timed(value = "hotel.booking.create", description = "Booking creation latency")
     public BookingResponse createBooking(BookingCreateRequest request) {
         log.info("Creating booking from lock: {} for room: {} and customer: {}",
             request.getLockId(), request.getRoomId(), request.getCustomerId());
 
         // Step 1: Validate lock exists for the room
-        Map<String, Object> lockInfo = bookingLockService.getLockInfo(request.getRoomId());
+        LockRecord lockInfo = bookingLockService.getLockInfo(request.getRoomId());
 
         if (lockInfo == null) {
             log.warn("Lock not found or expired for room: {}", request.getRoomId());
@@ -122,9 +128,10 @@ public class BookingService {
         }
 
         // Step 2: Validate lock details match request
-        String lockId = (String) lockInfo.get("lockId");
-        Long lockCustomerId = ((Number) lockInfo.get("customerId")).longValue();
-        Long roomId = ((Number) lockInfo.get("roomId")).longValue();
+        String lockId = lockInfo.lockId();
+        Long lockCustomerId = lockInfo.customerId();
+        Long roomId = lockInfo.roomId();
+        Long fencingToken = lockInfo.fencingToken();
 
         if (!lockId.equals(request.getLockId())) {
             log.warn("Lock ID mismatch: expected {}, got {}", lockId, request.getLockId());
@@ -137,8 +144,9 @@ public class BookingService {
             throw new SecurityException("Lock belongs to another customer");
         }
 
-        // Step 3: Get room and customer entities
-        Room room = roomRepository.findById(roomId)
+        // Step 3: Get room (with its room type, for pricing) and customer entities.
+        // The room row stays locked until commit, so overlapping bookings of this room queue up here.
+        Room room = roomRepository.findWithRoomTypeForUpdateById(roomId)
             .orElseThrow(() -> new IllegalStateException("Room not found: " + roomId));
 
         Customer customer = customerRepository.findById(request.getCustomerId())
@@ -150,13 +158,20 @@ public class BookingService {
             throw new IllegalArgumentException("Check-out date must be after check-in date");
         }
 
+        // Authoritative overlap check: the order table, not the per-instance availability index
+        if (orderRepository.existsOverlapping(roomId, RoomAvailabilityIndex.OCCUPYING_STATUSES,
+                request.getCheckInDate(), request.getCheckOutDate())) {
+            log.warn("Room {} is already booked between {} and {}", roomId, request.getCheckInDate(), request.getCheckOutDate());
+            throw new IllegalStateException("Room is not available for the selected dates");
+        }
+
         BigDecimal roomPrice = BigDecimal.valueOf(room.getRoomType().getPrice());
         BigDecimal totalPrice = roomPrice.multiply(BigDecimal.valueOf(numberOfNights));
 
         log.info("Calculated price: {} × {} nights = {}", roomPrice, numberOfNights, totalPrice);
 
         // Step 5: Generate unique check-in code
-        String checkInCode = generateCheckInCode();
+        String checkInCode = checkInCodeGenerator.generate();
         log.info("Generated check-in code: {}", checkInCode);
 
         // Step 6: Create Order entity with PENDING status
@@ -172,10 +187,31 @@ public class BookingService {
 
         order.initState();
 
+        // Step 6.5: Fencing check - reject if the lock expired and the room was locked again meanwhile
+        if (fencingToken != null && !bookingLockService.isCurrentFencingToken(roomId, fencingToken)) {
+            log.warn("Stale fencing token {} for room {} - lock was superseded", fencingToken, roomId);
+            throw new IllegalArgumentException("Lock expired or superseded by a newer lock");
+        }
+
+        // Step 6.6: Enforce the token in the write itself. Redis may hand out a newer lock right
+        // after the check above; the room row is locked, so comparing and storing the highest
+        // token used for this room cannot interleave with another booking of it.
+        if (fencingToken != null) {
+            Long lastToken = room.getLockFencingToken();
+            if (lastToken != null && fencingToken <= lastToken) {
+                log.warn("Fencing token {} for room {} is not newer than {} already used", fencingToken, roomId, lastToken);
+                throw new IllegalArgumentException("Lock expired or superseded by a newer lock");
+            }
+            room.setLockFencingToken(fencingToken);
+        }
+
         // Step 7: Save order
         Order savedOrder = orderRepository.save(order);
         log.info("Created order {} with PENDING status and check-in code {}", savedOrder.getId(), checkInCode);
 
+        // Step 8: Reserve the nights in the availability index
+        roomAvailabilityIndex.markBooked(roomId, request.getCheckInDate(), request.getCheckOutDate());
+
 
         // Step 8.5: Register order as observer for room price changes (Observer Pattern)
         Long roomTypeId = room.getRoomType().getId();
@@ -208,23 +244,6 @@ public class BookingService {
             .build();
     }
 
-    /**
-     * Generate a random 8-character alphanumeric check-in code
-     * Format: XXXXXXXX (uppercase letters and numbers)
-     *
-     * @return Random check-in code
-     */
-    private String generateCheckInCode() {
-        String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        StringBuilder code = new StringBuilder(8);
-
-        for (int i = 0; i < 8; i++) {
-            code.append(characters.charAt(random.nextInt(characters.length())));
-        }
-
-        return code.toString();
-    }
-
     /**
      * Send booking confirmation notifications via Email and SMS
      *
@@ -333,8 +352,8 @@ public class BookingService {
     public CancellationResponse cancelBooking(Long orderId, Long customerId, String cancellationReason) {
         log.info("Cancelling booking order: {} for customer: {}", orderId, customerId);
 
-        // Step 1: Validate order exists
-        Order order = orderRepository.findById(orderId)
+        // Step 1: Validate order exists; customer, room and room type are fetched with it
+        Order order = orderRepository.findWithDetailsById(orderId)
             .orElseThrow(() -> {
                 log.warn("Order not found: {}", orderId);
                 return new IllegalArgumentException("Order not found with ID: " + orderId);
@@ -377,6 +396,9 @@ public class BookingService {
         Order cancelledOrder = orderRepository.save(order);
         log.info("Order {} cancelled successfully at {}", orderId, cancelledAt);
 
+        // Step 7.5: Free the nights in the availability index
+        roomAvailabilityIndex.markReleased(order.getRoom().getId(), order.getCheckInDate(), order.getCheckOutDate());
+
         // Step 8: Unregister order from price observers (Observer Pattern cleanup)
         try {
             Long roomTypeId = order.getRoom().getRoomType().getId();
@@ -0,0 +1,264 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.config.CacheConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Broadcasts local-cache invalidations to every app instance over Redis pub/sub.
+ * <p>
+ * Publishers name a region (a cache name) and a key. Invalidations are applied to this
+ * instance immediately, then collected for a few milliseconds, deduplicated and sent as
+ * one message. Inside a transaction both happen after commit, so no instance can reload
+ * the old row in between.
+ * <p>
+ * Messages carry a format version, the sender's origin ID and a per-origin sequence.
+ * Receivers skip their own messages and duplicates. When a sequence gap shows that
+ * messages were lost, or a message uses a newer format, every local region is cleared:
+ * over-invalidating is always safe.
+ */
+@Service
+@Slf4j
+public class CacheInvalidationBus implements MessageListener, DisposableBean {
+
+    static final String CHANNEL = "cache:invalidation";
+    static final int MESSAGE_VERSION = 1;
+
+    // Upper bound on entries per message; larger flushes are split
+    private static final int MAX_ENTRIES_PER_MESSAGE = 500;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentLinkedQueue<Invalidation> pending = new ConcurrentLinkedQueue<>();
+
+    private final ConcurrentHashMap<String, LocalInvalidator> regions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> lastSequenceByOrigin = new ConcurrentHashMap<>();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong fullResets = new AtomicLong();
+
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * One invalidation; a null key invalidates the whole region
+     */
+    public record Invalidation(String region, String key) {
+    }
+
+    /**
+     * Wire format of a batch of invalidations
+     */
+    public record InvalidationMessage(int version, String origin, long sequence, List<Invalidation> entries) {
+    }
+
+    /**
+     * Drops entries from one in-process cache region
+     */
+    public interface LocalInvalidator {
+        void invalidate(String key);
+
+        void invalidateAll();
+    }
+
+    public CacheInvalidationBus(
+        RedisTemplate<String, String> redisTemplate,
+        ObjectMapper objectMapper,
+        RedisMessageListenerContainer listenerContainer,
+        CacheConfig.TwoTierCacheManager cacheManager,
+        @Value("${cache.invalidation.flush-millis:5}") long flushMillis
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+
+        // Local tiers of the two-tier caches are the main consumers
+        cacheManager.getCacheNames().forEach(name -> register(name, new LocalInvalidator() {
+            @Override
+            public void invalidate(String key) {
+                cacheManager.evictLocal(name, key);
+            }
+
+            @Override
+            public void invalidateAll() {
+                cacheManager.clearLocal(name);
+            }
+        }));
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "cache-invalidation-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        log.info("CacheInvalidationBus {} subscribed to {} (flush every {}ms)", origin, CHANNEL, flushMillis);
+    }
+
+    /**
+     * Register the local cache behind a region
+     */
+    public void register(String region, LocalInvalidator invalidator) {
+        regions.put(region, invalidator);
+    }
+
+    /**
+     * Invalidate a key of a region on every instance
+     *
+     * @param region Cache region, e.g. a cache name
+     * @param key    Key within the region; null invalidates the whole region
+     */
+    public void publish(String region, Object key) {
+        var invalidation = new Invalidation(region, key == null ? null : String.valueOf(key));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(invalidation);
+                }
+            });
+        } else {
+            enqueue(invalidation);
+        }
+    }
+
+    /**
+     * Send everything collected since the last flush
+     */
+    void flush() {
+        // Draining with poll() cannot lose an entry enqueued concurrently; the set dedupes
+        var batch = new LinkedHashSet<Invalidation>();
+        Invalidation next;
+        while ((next = pending.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        var entries = new ArrayList<>(batch);
+        for (int from = 0; from < entries.size(); from += MAX_ENTRIES_PER_MESSAGE) {
+            var chunk = entries.subList(from, Math.min(from + MAX_ENTRIES_PER_MESSAGE, entries.size()));
+            var message = new InvalidationMessage(MESSAGE_VERSION, origin, sequence.incrementAndGet(), List.copyOf(chunk));
+
+            try {
+                redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+                published.incrementAndGet();
+            } catch (Exception e) {
+                // Peers will see the sequence gap and clear their local caches
+                log.error("Failed to publish {} cache invalidations", chunk.size(), e);
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        InvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), InvalidationMessage.class);
+        } catch (Exception e) {
+            log.warn("Unreadable cache invalidation message - clearing local caches", e);
+            invalidateAllRegions();
+            return;
+        }
+
+        if (origin.equals(invalidation.origin())) {
+            return; // Already applied when published
+        }
+
+        received.incrementAndGet();
+
+        if (invalidation.version() > MESSAGE_VERSION) {
+            log.warn("Cache invalidation message version {} is newer than {} - clearing local caches",
+                invalidation.version(), MESSAGE_VERSION);
+            invalidateAllRegions();
+            return;
+        }
+
+        var previous = lastSequenceByOrigin.get(invalidation.origin());
+        if (previous != null && invalidation.sequence() <= previous) {
+            log.debug("Skipping duplicate invalidation {} from {}", invalidation.sequence(), invalidation.origin());
+            return;
+        }
+        lastSequenceByOrigin.merge(invalidation.origin(), invalidation.sequence(), Math::max);
+
+        if (previous != null && invalidation.sequence() > previous + 1) {
+            log.warn("Lost {} invalidation messages from {} - clearing local caches",
+                invalidation.sequence() - previous - 1, invalidation.origin());
+            invalidateAllRegions();
+            return;
+        }
+
+        invalidation.entries().forEach(this::applyLocally);
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    public long getFullResetCount() {
+        return fullResets.get();
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private void enqueue(Invalidation invalidation) {
+        applyLocally(invalidation);
+        pending.add(invalidation);
+    }
+
+    private void applyLocally(Invalidation invalidation) {
+        var invalidator = regions.get(invalidation.region());
+        if (invalidator == null) {
+            return;
+        }
+
+        try {
+            if (invalidation.key() == null) {
+                invalidator.invalidateAll();
+            } else {
+                invalidator.invalidate(invalidation.key());
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply invalidation {}", invalidation, e);
+        }
+    }
+
+    private void invalidateAllRegions() {
+        fullResets.incrementAndGet();
+        regions.values().forEach(LocalInvalidator::invalidateAll);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hotelreservationsystem.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Random;
+
+/**
+ * Generates the check-in codes handed out with new bookings
+ */
+@Component
+public class CheckInCodeGenerator {
+
+    private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int LENGTH = 8;
+
+    private final Random random = new Random();
+
+    /**
+     * Generate a random 8-character alphanumeric check-in code
+     * Format: XXXXXXXX (uppercase letters and numbers)
+     *
+     * @return Random check-in code
+     */
+    public String generate() {
+        StringBuilder code = new StringBuilder(LENGTH);
+
+        for (int i = 0; i < LENGTH; i++) {
+            code.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+        }
+
+        return code.toString();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.entity.Customer;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener that drops a customer from {@link PrincipalCache} whenever the row changes,
+ * e.g. a membership tier update, whichever code path saved it.
+ * <p>
+ * Hibernate creates entity listeners while the persistence unit boots, before the repositories
+ * the cache depends on exist, so the cache is looked up on first use.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerChangeListener {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onCustomerChanged(Customer customer) {
+        principalCache.ifAvailable(cache -> cache.invalidate(customer));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.hotelreservationsystem.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and status counters, shared by the request interceptors.
+ * <p>
+ * Endpoints are keyed by HTTP method and route template ("/api/rooms/{id}"), so IDs in
+ * paths do not create new entries. Recording an already-known endpoint is two map reads
+ * and a few {@link LongAdder} increments: no locks and no allocation. The number of
+ * endpoints is capped; anything beyond the cap is folded into one overflow entry.
+ * Clients choose the method token, so methods other than the standard ones are recorded as
+ * {@value #OTHER_METHOD}.
+ */
+@Service
+@Slf4j
+public class EndpointMetrics {
+
+    static final int MAX_ENDPOINTS = 500;
+    static final String OVERFLOW_PATH = "(other)";
+    static final String OTHER_METHOD = "OTHER";
+
+    private static final Set<String> KNOWN_METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, EndpointRecorder>> recorders = new ConcurrentHashMap<>();
+    private final AtomicInteger endpointCount = new AtomicInteger();
+    private volatile long startedAtNanos = System.nanoTime();
+
+    /**
+     * Latency and outcome counts of one endpoint since startup or the last reset
+     */
+    public record EndpointStats(String method, String path, long requests, long successes, long clientErrors,
+                                long serverErrors, double requestsPerSecond, LatencyHistogram.Snapshot latency) {
+    }
+
+    private static final class EndpointRecorder {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+
+        void record(int statusCode, long elapsedNanos) {
+            latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (statusCode >= 500) {
+                serverErrors.increment();
+            } else if (statusCode >= 400) {
+                clientErrors.increment();
+            } else {
+                successes.increment();
+            }
+        }
+
+        void reset() {
+            latency.reset();
+            successes.reset();
+            clientErrors.reset();
+            serverErrors.reset();
+        }
+    }
+
+    /**
+     * Route template of the handler that served the request, or the raw URI
+     * when the request did not go through Spring MVC handler mapping
+     */
+    public static String routeOf(HttpServletRequest request) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String route ? route : request.getRequestURI();
+    }
+
+    public void record(String method, String path, int statusCode, long elapsedNanos) {
+        recorderFor(method, path).record(statusCode, elapsedNanos);
+    }
+
+    /**
+     * Stats of every endpoint, busiest first
+     */
+    public List<EndpointStats> snapshot() {
+        var elapsedSeconds = Math.max((System.nanoTime() - startedAtNanos) / 1e9, 1e-3);
+        var stats = new ArrayList<EndpointStats>();
+        recorders.forEach((method, byPath) -> byPath.forEach((path, recorder) -> {
+            var latency = recorder.latency.snapshot();
+            stats.add(new EndpointStats(
+                method,
+                path,
+                latency.count(),
+                recorder.successes.sum(),
+                recorder.clientErrors.sum(),
+                recorder.serverErrors.sum(),
+                latency.count() / elapsedSeconds,
+                latency
+            ));
+        }));
+        stats.sort(Comparator.comparingLong(EndpointStats::requests).reversed());
+        return stats;
+    }
+
+    /**
+     * Zero every counter; endpoints stay registered so recording stays allocation-free
+     */
+    public void reset() {
+        recorders.values().forEach(byPath -> byPath.values().forEach(EndpointRecorder::reset));
+        startedAtNanos = System.nanoTime();
+    }
+
+    private EndpointRecorder recorderFor(String requestMethod, String path) {
+        var method = KNOWN_METHODS.contains(requestMethod) ? requestMethod : OTHER_METHOD;
+        var byPath = recorders.get(method);
+        if (byPath != null) {
+            var recorder = byPath.get(path);
+            if (recorder != null) {
+                return recorder;
+            }
+        }
+
+        // First request to this endpoint
+        var methodPaths = recorders.computeIfAbsent(method, _ -> new ConcurrentHashMap<>());
+        var existing = methodPaths.get(path);
+        if (existing != null) {
+            return existing;
+        }
+        if (endpointCount.get() >= MAX_ENDPOINTS) {
+            return methodPaths.computeIfAbsent(OVERFLOW_PATH, _ -> new EndpointRecorder());
+        }
+        return methodPaths.computeIfAbsent(path, _ -> {
+            if (endpointCount.incrementAndGet() == MAX_ENDPOINTS) {
+                log.warn("Endpoint metrics reached {} endpoints; further paths are recorded as {}", MAX_ENDPOINTS, OVERFLOW_PATH);
+            }
+            return new EndpointRecorder();
+        });
+    }
+}
@@ -5,6 +5,7 @@ import com.example.hotelreservationsystem.dto.CheckInResponse;
 import com.example.hotelreservationsystem.dto.CheckoutResponse;
 import com.example.hotelreservationsystem.dto.HotelCreateRequest;
 import com.example.hotelreservationsystem.dto.HotelCreateResponse;
+import com.example.hotelreservationsystem.dto.KeysetPage;
 import com.example.hotelreservationsystem.entity.Hotel;
 import com.example.hotelreservationsystem.entity.Order;
 import com.example.hotelreservationsystem.enums.NotificationType;
@@ -15,12 +16,15 @@ import com.example.hotelreservationsystem.repository.OrderRepository;
 import com.example.hotelreservationsystem.service.roomstate.ReservationContext;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -29,11 +33,34 @@ public class HotelService {
     private final HotelRepository hotelRepository;
     private final OrderRepository orderRepository;
     private final NotificationServiceFactory notificationServiceFactory;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final RoomService roomService;
 
     public List<Hotel> findAll() {
         return hotelRepository.findAll();
     }
 
+    /**
+     * Keyset page of hotels, without their rooms
+     *
+     * @param after Last ID of the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<HotelCreateResponse> findPage(Long after, int limit) {
+        var rows = hotelRepository.findDtosAfter(after == null ? 0L : after, Limit.of(limit));
+        return KeysetPage.of(rows, limit, HotelCreateResponse::id);
+    }
+
+    /**
+     * Push every hotel to the sink in ID order, reading through a database cursor
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<HotelCreateResponse> sink) {
+        try (var rows = hotelRepository.streamAllDtos()) {
+            rows.forEach(sink);
+        }
+    }
+
     @Transactional
     public HotelCreateResponse create(HotelCreateRequest hotelCreateRequest) {
         var isExisted = hotelRepository.existsByName(hotelCreateRequest.getName());
@@ -86,9 +113,13 @@ public class HotelService {
 
     @Transactional
     public boolean delete(Long id) {
-        if (!hotelRepository.existsById(id)) {
+        var existing = hotelRepository.findById(id);
+        if (existing.isEmpty()) {
             return false;
         }
+
+        // Rooms are deleted with the hotel (cascade), so their cache entries go too
+        roomService.evictCachedRooms(existing.get().getRooms());
         hotelRepository.deleteById(id);
         return true;
     }
@@ -153,7 +184,7 @@ public class HotelService {
     public CheckoutResponse checkOut(Long roomId) {
         // update the order status
         // and send a notification
-        Optional<Order> order = orderRepository.findByRoomId(roomId);
+        Optional<Order> order = findCheckOutCandidate(roomId);
         if (order.isEmpty()) {
             return CheckoutResponse.builder()
                     .status("ORDER_NOT_FOUND")
@@ -171,6 +202,7 @@ public class HotelService {
             Order currentOrder = order.get();
             new ReservationContext(currentOrder).complete();
             orderRepository.save(currentOrder);
+            roomAvailabilityIndex.markReleased(roomId, currentOrder.getCheckInDate(), currentOrder.getCheckOutDate());
 
             // send notification
             try {
@@ -191,6 +223,21 @@ public class HotelService {
         }
     }
 
+    /**
+     * The room's checked-in stay (latest CONFIRMED order that has started); failing that,
+     * its latest started order in any status so the caller can report why it cannot be checked out
+     */
+    private Optional<Order> findCheckOutCandidate(Long roomId) {
+        var today = LocalDate.now();
+        var current = orderRepository.findStartedByRoom(roomId, List.of(OrderStatus.CONFIRMED), today, Limit.of(1));
+        if (!current.isEmpty()) {
+            return Optional.of(current.getFirst());
+        }
+        return orderRepository.findStartedByRoom(roomId, List.of(OrderStatus.values()), today, Limit.of(1))
+                              .stream()
+                              .findFirst();
+    }
+
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
@@ -0,0 +1,130 @@
+package com.example.hotelreservationsystem.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets.
+ * <p>
+ * Values are recorded in microseconds. Every power of two is split into 16 equal buckets,
+ * so a reported percentile is within about 6% of the true value, from 1µs up to ~76 hours.
+ * Each bucket is a {@link LongAdder}, so concurrent recorders do not contend on one counter
+ * and recording allocates nothing once a bucket's cells exist.
+ */
+public class LatencyHistogram {
+
+    // 2^SUB_BUCKET_BITS buckets per power of two
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 37;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Counts and percentiles at one point in time, in milliseconds
+     */
+    public record Snapshot(long count, double meanMillis, double p50Millis, double p90Millis, double p95Millis,
+                           double p99Millis, double p999Millis, double maxMillis) {
+    }
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long elapsed, TimeUnit unit) {
+        var micros = Math.clamp(unit.toMicros(elapsed), 0, MAX_VALUE);
+        buckets[bucketIndex(micros)].increment();
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Percentiles are read from bucket counts summed without a global lock, so a snapshot
+     * taken under load can be off by the few values recorded while it was being read
+     */
+    public Snapshot snapshot() {
+        var counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+
+        if (total == 0) {
+            return new Snapshot(0, 0, 0, 0, 0, 0, 0, 0);
+        }
+
+        // Bucket bounds can overshoot the largest recorded value
+        var max = maxMicros.get();
+        return new Snapshot(
+            total,
+            toMillis(totalMicros.sum() / (double) Math.max(count.sum(), 1)),
+            toMillis(Math.min(percentile(counts, total, 0.50), max)),
+            toMillis(Math.min(percentile(counts, total, 0.90), max)),
+            toMillis(Math.min(percentile(counts, total, 0.95), max)),
+            toMillis(Math.min(percentile(counts, total, 0.99), max)),
+            toMillis(Math.min(percentile(counts, total, 0.999), max)),
+            toMillis(max)
+        );
+    }
+
+    public void reset() {
+        for (var bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        totalMicros.reset();
+        maxMicros.reset();
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Highest value that falls into a bucket, reported for every value in it
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lowerBound = (SUB_BUCKETS + index % SUB_BUCKETS) * width;
+        return lowerBound + width - 1;
+    }
+
+    private static long percentile(long[] counts, long total, double percentile) {
+        var rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketUpperBound(i);
+            }
+        }
+        return bucketUpperBound(counts.length - 1);
+    }
+
+    private static double toMillis(double micros) {
+        return micros / 1000.0;
+    }
+}
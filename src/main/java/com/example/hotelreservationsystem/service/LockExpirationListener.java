@@ -0,0 +1,122 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.config.KeyspaceNotificationConfigurer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns Redis expirations of booking locks into LOCK_EXPIRED events.
+ * <p>
+ * The pub/sub thread only parses the key and offers the room ID to a bounded queue;
+ * a single dispatcher thread drains the queue in batches and hands each batch to
+ * {@link BookingLockService#handleExpiredLocks}. During an expiry storm the queue
+ * fills up and further expirations are dropped (and counted) instead of blocking
+ * the listener connection.
+ */
+@Component
+@Slf4j
+public class LockExpirationListener implements MessageListener, DisposableBean {
+
+    // Keyevent channel (E) for expired events (x)
+    static final String REQUIRED_NOTIFICATIONS = "Ex";
+    static final String EXPIRED_PATTERN = "__keyevent@*__:expired";
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 200;
+
+    private final BookingLockService bookingLockService;
+    private final BlockingQueue<Long> pending = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread dispatcher;
+
+    public LockExpirationListener(
+        BookingLockService bookingLockService,
+        RedisMessageListenerContainer listenerContainer,
+        KeyspaceNotificationConfigurer keyspaceNotificationConfigurer
+    ) {
+        this.bookingLockService = bookingLockService;
+        this.dispatcher = Thread.ofPlatform()
+                                .name("lock-expiry-dispatcher")
+                                .daemon()
+                                .start(this::dispatchLoop);
+
+        keyspaceNotificationConfigurer.ensureEnabled(REQUIRED_NOTIFICATIONS);
+        listenerContainer.addMessageListener(this, new PatternTopic(EXPIRED_PATTERN));
+        log.info("LockExpirationListener subscribed to {}", EXPIRED_PATTERN);
+    }
+
+    /**
+     * Keyevent notification: body is the name of the expired key
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var key = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!key.startsWith(BookingLockService.LOCK_PREFIX)) {
+            return;
+        }
+
+        Long roomId;
+        try {
+            roomId = Long.valueOf(key.substring(BookingLockService.LOCK_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring expiry of unexpected lock key {}", key);
+            return;
+        }
+
+        if (!pending.offer(roomId)) {
+            var total = dropped.incrementAndGet();
+            log.warn("Lock expiry queue full - dropped expiry for room {} ({} dropped so far)", roomId, total);
+        }
+    }
+
+    /**
+     * Number of expirations dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Number of expirations waiting to be dispatched
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.interrupt();
+    }
+
+    private void dispatchLoop() {
+        var batch = new ArrayList<Long>(BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(pending.take());
+                pending.drainTo(batch, BATCH_SIZE - 1);
+
+                // Same room can expire twice in one batch only if it was re-locked; one claim covers it
+                var published = bookingLockService.handleExpiredLocks(new LinkedHashSet<>(batch));
+                log.debug("Dispatched {} of {} lock expirations", published, batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Failed to dispatch {} lock expirations", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.config.KeyspaceNotificationConfigurer;
+import com.example.hotelreservationsystem.dto.LockRecord;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-process near-cache of room lock status for the public status endpoint.
+ * <p>
+ * Entries are dropped when Redis publishes a keyspace notification for
+ * {@code booking:lock:<roomId>} (hset, del, expired, ...), so polling clients are
+ * served from memory until the lock actually changes. A short max age bounds
+ * staleness if notifications are lost or disabled on the server.
+ * <p>
+ * Room IDs come from a public path variable, so the cache is bounded by
+ * {@code booking.lock.status-cache.max-size}. Statuses are loaded from Redis outside any
+ * map lock: the first caller for a room installs an incomplete future and loads it, and
+ * concurrent callers wait on that future. Invalidating a room removes its future, so a
+ * load that was in flight when the lock changed is never served to later callers.
+ */
+@Service
+@Slf4j
+public class LockStatusCache implements MessageListener {
+
+    // Classes needed: keyspace channel (K), generic del/expire (g), hash writes (h), expired (x)
+    static final String REQUIRED_NOTIFICATIONS = "Kghx";
+    static final String LOCK_KEYSPACE_PATTERN = "__keyspace@*__:" + BookingLockService.LOCK_PREFIX + "*";
+
+    /** Invalidation bus region for lock statuses, keyed by room ID */
+    public static final String REGION = "lockStatus";
+
+    private final BookingLockService bookingLockService;
+
+    private final AsyncCache<Long, LockStatus> statuses;
+
+    /**
+     * Snapshot of a room's lock state
+     *
+     * @param lock      The lock record, or null if the room is not locked
+     * @param expiresAt When the lock expires, or null if unknown or not locked
+     * @param loadedAt  System.nanoTime() at load
+     */
+    public record LockStatus(LockRecord lock, LocalDateTime expiresAt, long loadedAt) {
+        public boolean isLocked() {
+            return lock != null;
+        }
+    }
+
+    public LockStatusCache(
+        BookingLockService bookingLockService,
+        RedisMessageListenerContainer listenerContainer,
+        KeyspaceNotificationConfigurer keyspaceNotificationConfigurer,
+        CacheInvalidationBus cacheInvalidationBus,
+        @Value("${booking.lock.status-cache.max-size:10000}") long maxSize,
+        @Value("${booking.lock.status-cache.max-age-seconds:5}") long maxAgeSeconds
+    ) {
+        this.bookingLockService = bookingLockService;
+        this.statuses = Caffeine.newBuilder()
+                                .maximumSize(maxSize)
+                                .expireAfterWrite(Duration.ofSeconds(maxAgeSeconds))
+                                .buildAsync();
+
+        // Lock changes published by any instance; also covers servers where keyspace events are off
+        cacheInvalidationBus.register(REGION, new CacheInvalidationBus.LocalInvalidator() {
+            @Override
+            public void invalidate(String key) {
+                LockStatusCache.this.invalidate(Long.valueOf(key));
+            }
+
+            @Override
+            public void invalidateAll() {
+                LockStatusCache.this.invalidateAll();
+            }
+        });
+
+        keyspaceNotificationConfigurer.ensureEnabled(REQUIRED_NOTIFICATIONS);
+        listenerContainer.addMessageListener(this, new PatternTopic(LOCK_KEYSPACE_PATTERN));
+        log.info("LockStatusCache subscribed to {}", LOCK_KEYSPACE_PATTERN);
+    }
+
+    /**
+     * Get the lock status of a room, loading it from Redis on a miss
+     *
+     * @param roomId The room ID
+     * @return Current lock status snapshot
+     */
+    public LockStatus getStatus(Long roomId) {
+        var future = statusFuture(roomId);
+        var status = future.join();
+        if (isFresh(status)) {
+            return status;
+        }
+
+        // A missed expiry notification must not keep showing an expired lock
+        statuses.asMap().remove(roomId, future);
+        return statusFuture(roomId).join();
+    }
+
+    /**
+     * Drop the cached status of a room, including a load still in flight
+     */
+    public void invalidate(Long roomId) {
+        statuses.synchronous().invalidate(roomId);
+    }
+
+    /**
+     * Drop all cached statuses
+     */
+    public void invalidateAll() {
+        statuses.synchronous().invalidateAll();
+    }
+
+    /**
+     * Keyspace notification: channel is __keyspace@db__:booking:lock:<roomId>, body is the command
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        var roomId = roomIdFromChannel(channel);
+
+        if (roomId == null) {
+            log.debug("Ignoring keyspace notification on {}", channel);
+            return;
+        }
+
+        invalidate(roomId);
+        log.debug("Lock status for room {} invalidated by '{}'", roomId,
+            new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    static Long roomIdFromChannel(String channel) {
+        var index = channel.indexOf(BookingLockService.LOCK_PREFIX);
+        if (index < 0) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(channel.substring(index + BookingLockService.LOCK_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The cached future for a room; on a miss, install an incomplete one and load it on this thread
+     */
+    private CompletableFuture<LockStatus> statusFuture(Long roomId) {
+        var loading = new CompletableFuture<LockStatus>();
+        var future = statuses.get(roomId, (_, _) -> loading);
+        if (future == loading) {
+            try {
+                loading.complete(load(roomId));
+            } catch (RuntimeException e) {
+                // Failed futures are dropped by the cache, so the next caller retries
+                loading.completeExceptionally(e);
+            }
+        }
+        return future;
+    }
+
+    private static boolean isFresh(LockStatus status) {
+        return status.expiresAt() == null || status.expiresAt().isAfter(LocalDateTime.now());
+    }
+
+    private LockStatus load(Long roomId) {
+        var loadedAt = System.nanoTime();
+        var lock = bookingLockService.getLockInfo(roomId);
+
+        if (lock == null) {
+            return new LockStatus(null, null, loadedAt);
+        }
+
+        var ttlSeconds = bookingLockService.getLockTtl(roomId);
+        var expiresAt = ttlSeconds != null && ttlSeconds > 0
+            ? LocalDateTime.now().plusSeconds(ttlSeconds)
+            : null;
+
+        return new LockStatus(lock, expiresAt, loadedAt);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.hotelreservationsystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for login and registration attempts, per client IP and per email.
+ * <p>
+ * Each key may make {@code burst} attempts at once and regains {@code per-minute} attempts per
+ * minute. A rate of 0 turns that key type off. Buckets live in bounded Caffeine caches and are
+ * dropped after a few minutes without attempts, when they would be full again anyway. Limits are
+ * per instance; behind a load balancer the effective limit is this one times the instance count.
+ */
+@Service
+@Slf4j
+public class LoginRateLimiter {
+
+    private static final long MAX_KEYS = 100_000;
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(10);
+
+    private final Limit ipLimit;
+    private final Limit emailLimit;
+    private final Cache<String, Bucket> ipBuckets;
+    private final Cache<String, Bucket> emailBuckets;
+
+    private final AtomicLong throttledByIp = new AtomicLong();
+    private final AtomicLong throttledByEmail = new AtomicLong();
+
+    public LoginRateLimiter(
+        @Value("${auth.rate-limit.ip.per-minute:60}") int ipPerMinute,
+        @Value("${auth.rate-limit.ip.burst:20}") int ipBurst,
+        @Value("${auth.rate-limit.email.per-minute:10}") int emailPerMinute,
+        @Value("${auth.rate-limit.email.burst:5}") int emailBurst
+    ) {
+        this.ipLimit = new Limit(ipPerMinute, ipBurst);
+        this.emailLimit = new Limit(emailPerMinute, emailBurst);
+        this.ipBuckets = Caffeine.newBuilder().maximumSize(MAX_KEYS).expireAfterAccess(IDLE_EXPIRY).build();
+        this.emailBuckets = Caffeine.newBuilder().maximumSize(MAX_KEYS).expireAfterAccess(IDLE_EXPIRY).build();
+    }
+
+    /**
+     * Take one attempt from the IP's bucket and then from the email's bucket
+     *
+     * @param ip    Client IP, or null if unknown
+     * @param email Email the attempt is for, or null if not known yet
+     * @return 0 if the attempt may go ahead, otherwise seconds until the next one is allowed
+     */
+    public long tryAcquire(String ip, String email) {
+        if (ip != null && ipLimit.enabled()) {
+            var wait = ipBuckets.get(ip, _ -> new Bucket(ipLimit)).tryTake();
+            if (wait > 0) {
+                throttledByIp.incrementAndGet();
+                log.debug("Throttled authentication attempt from {}", ip);
+                return wait;
+            }
+        }
+        if (email != null && emailLimit.enabled()) {
+            var key = email.trim().toLowerCase(Locale.ROOT);
+            var wait = emailBuckets.get(key, _ -> new Bucket(emailLimit)).tryTake();
+            if (wait > 0) {
+                throttledByEmail.incrementAndGet();
+                log.debug("Throttled authentication attempt for {}", key);
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    public long getThrottledByIpCount() {
+        return throttledByIp.get();
+    }
+
+    public long getThrottledByEmailCount() {
+        return throttledByEmail.get();
+    }
+
+    private record Limit(int perMinute, int burst) {
+
+        boolean enabled() {
+            return perMinute > 0;
+        }
+
+        double nanosPerToken() {
+            return TimeUnit.MINUTES.toNanos(1) / (double) perMinute;
+        }
+    }
+
+    /**
+     * Refilled lazily from the time elapsed since the last attempt
+     */
+    private static final class Bucket {
+
+        private final Limit limit;
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(Limit limit) {
+            this.limit = limit;
+            this.tokens = Math.max(limit.burst(), 1);
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized long tryTake() {
+            var now = System.nanoTime();
+            tokens = Math.min(Math.max(limit.burst(), 1), tokens + (now - refilledAt) / limit.nanosPerToken());
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            var waitNanos = (1 - tokens) * limit.nanosPerToken();
+            return Math.max(1, (long) Math.ceil(waitNanos / TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+}
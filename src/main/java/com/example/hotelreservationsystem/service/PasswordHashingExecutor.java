@@ -0,0 +1,126 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.exception.AuthenticationThrottledException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a small fixed pool of platform threads.
+ * <p>
+ * BCrypt is CPU-bound (~100ms per hash at the default strength), so a login burst hashed on the
+ * request threads takes every core away from search and booking. Here at most
+ * {@code auth.hashing.threads} hashes run at once and at most {@code auth.hashing.queue-capacity}
+ * wait. When the queue is full, or a queued hash has not finished within
+ * {@code auth.hashing.timeout-millis}, the caller gets an {@link AuthenticationThrottledException}
+ * straight away instead of adding to the backlog.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public PasswordHashingExecutor(
+        @Value("${auth.hashing.threads:0}") int threads,
+        @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+        @Value("${auth.hashing.timeout-millis:3000}") long timeoutMillis
+    ) {
+        // Default to half the cores so hashing never gets all of them
+        var poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        var threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                var thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timeoutMillis = timeoutMillis;
+        log.info("Password hashing pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Run a hashing task on the pool and wait for its result
+     *
+     * @throws AuthenticationThrottledException if the queue is full or the task did not finish in time
+     */
+    public <T> T execute(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            var total = rejected.incrementAndGet();
+            if (total % 100 == 1) {
+                log.warn("Password hashing queue full - request rejected ({} rejected in total)", total);
+            }
+            throw new AuthenticationThrottledException("Too many authentication requests", RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Drop it if still queued, so the pool does not hash for a caller that is gone
+            future.cancel(false);
+            if (future instanceof Runnable queued) {
+                executor.remove(queued);
+            }
+            timedOut.incrementAndGet();
+            throw new AuthenticationThrottledException("Authentication timed out waiting for a worker", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getTimedOutCount() {
+        return timedOut.get();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -13,6 +13,7 @@ import com.example.hotelreservationsystem.dto.PaymentResponse;
 
 import com.example.hotelreservationsystem.enums.PaymentType;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -68,6 +69,7 @@ public class PaymentService {
 
 
 
+    @Timed(value = "hotel.payment.execute", description = "Payment latency including retries")
     public PaymentResponse executePayment(Long orderId, PaymentType paymentType) {
         // 1. Prepare Request
         PaymentRequest request = new PaymentRequest();
@@ -0,0 +1,177 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.entity.Customer;
+import com.example.hotelreservationsystem.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Customers resolved as the authenticated principal, by email and by ID.
+ * <p>
+ * Lookups are memoized for the current request, so every caller in one request sees the same
+ * instance, and shared across requests in a bounded Caffeine cache with a TTL. Cached customers
+ * are detached entities: read them, but load through {@link CustomerRepository} to modify.
+ * Customer updates and deletes (see {@link CustomerChangeListener}) are published through
+ * {@link CacheInvalidationBus}, which drops the entry on every instance after commit.
+ */
+@Service
+@Slf4j
+public class PrincipalCache {
+
+    static final String REGION = "principals";
+
+    private static final String REQUEST_MEMO_ATTRIBUTE = PrincipalCache.class.getName() + ".MEMO";
+
+    private final CustomerRepository customerRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final Cache<String, Customer> byEmail;
+    private final Cache<Long, Customer> byId;
+
+    @Autowired
+    public PrincipalCache(
+        CustomerRepository customerRepository,
+        CacheInvalidationBus invalidationBus,
+        @Value("${auth.principal-cache.max-size:10000}") long maxSize,
+        @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.customerRepository = customerRepository;
+        this.invalidationBus = invalidationBus;
+        this.byEmail = Caffeine.newBuilder()
+                               .maximumSize(maxSize)
+                               .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                               .recordStats()
+                               .build();
+        this.byId = Caffeine.newBuilder()
+                            .maximumSize(maxSize)
+                            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                            .build();
+
+        if (invalidationBus != null) {
+            invalidationBus.register(REGION, new CacheInvalidationBus.LocalInvalidator() {
+                @Override
+                public void invalidate(String key) {
+                    // Key is "{id}:{email}"; the ID never contains a colon
+                    var separator = key.indexOf(':');
+                    invalidateLocally(Long.valueOf(key.substring(0, separator)), key.substring(separator + 1));
+                }
+
+                @Override
+                public void invalidateAll() {
+                    byEmail.invalidateAll();
+                    byId.invalidateAll();
+                    clearRequestMemo();
+                }
+            });
+        }
+    }
+
+    /**
+     * Cache without cross-instance invalidation, for tests
+     */
+    public PrincipalCache(CustomerRepository customerRepository, long maxSize, long ttlSeconds) {
+        this(customerRepository, null, maxSize, ttlSeconds);
+    }
+
+    public Optional<Customer> findByEmail(String email) {
+        var memo = requestMemo();
+        var key = "email:" + email;
+        if (memo != null && memo.get(key) instanceof Customer customer) {
+            return Optional.of(customer);
+        }
+
+        var customer = byEmail.get(email, _ -> customerRepository.findByEmail(email).orElse(null));
+        if (customer != null) {
+            remember(customer, memo);
+        }
+        return Optional.ofNullable(customer);
+    }
+
+    public Optional<Customer> findById(Long id) {
+        var memo = requestMemo();
+        var key = "id:" + id;
+        if (memo != null && memo.get(key) instanceof Customer customer) {
+            return Optional.of(customer);
+        }
+
+        var customer = byId.get(id, _ -> customerRepository.findById(id).orElse(null));
+        if (customer != null) {
+            remember(customer, memo);
+        }
+        return Optional.ofNullable(customer);
+    }
+
+    /**
+     * Drop a customer here and on every other instance; inside a transaction this happens after commit
+     */
+    public void invalidate(Customer customer) {
+        if (customer.getId() == null) {
+            return;
+        }
+        if (invalidationBus != null) {
+            invalidationBus.publish(REGION, customer.getId() + ":" + customer.getEmail());
+        } else {
+            invalidateLocally(customer.getId(), customer.getEmail());
+        }
+    }
+
+    /**
+     * Underlying by-email Caffeine cache, for metrics
+     */
+    public Cache<String, Customer> nativeCache() {
+        return byEmail;
+    }
+
+    private void invalidateLocally(Long id, String email) {
+        byId.invalidate(id);
+        byEmail.invalidate(email);
+        // The email itself may have changed; drop entries still held under the old one
+        byEmail.asMap().values().removeIf(cached -> Objects.equals(cached.getId(), id));
+        clearRequestMemo();
+        log.debug("Invalidated cached principal {}", id);
+    }
+
+    private void remember(Customer customer, Map<String, Object> memo) {
+        // Fill the other index so a lookup by ID finds what a lookup by email loaded
+        if (customer.getId() != null) {
+            byId.asMap().putIfAbsent(customer.getId(), customer);
+        }
+        byEmail.asMap().putIfAbsent(customer.getEmail(), customer);
+        if (memo != null) {
+            memo.put("email:" + customer.getEmail(), customer);
+            memo.put("id:" + customer.getId(), customer);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> requestMemo() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        var memo = (Map<String, Object>) attributes.getAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private static void clearRequestMemo() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
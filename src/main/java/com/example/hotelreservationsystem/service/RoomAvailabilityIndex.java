@@ -0,0 +1,257 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.enums.OrderStatus;
+import com.example.hotelreservationsystem.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-room, per-night occupancy index.
+ * <p>
+ * Each room owns a {@link BitSet} where bit {@code i} means the night starting on
+ * {@code origin + i} is taken by a PENDING or CONFIRMED order. The origin rolls
+ * forward to today so past nights are dropped instead of accumulating.
+ * <p>
+ * The index is built lazily from the order table on first use and then kept
+ * current by {@link BookingService} (create/cancel) and {@link HotelService} (check-out).
+ * Every change is published through {@link CacheInvalidationBus} after commit, and each
+ * instance reloads that room's stays from the order table, so bookings made on other
+ * instances show up within the bus delay.
+ * <p>
+ * The index is only a pre-filter for search. Whether a booking may be made is decided by
+ * the overlap check in the database, see {@link BookingService#createBooking}.
+ */
+@Service
+@Slf4j
+public class RoomAvailabilityIndex {
+
+    static final List<OrderStatus> OCCUPYING_STATUSES = List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+
+    static final String REGION = "roomAvailability";
+
+    private final OrderRepository orderRepository;
+    private final CacheInvalidationBus invalidationBus;
+
+    private final ConcurrentHashMap<Long, BitSet> occupancy = new ConcurrentHashMap<>();
+
+    private volatile LocalDate origin;
+    private volatile boolean loaded;
+
+    @Autowired
+    public RoomAvailabilityIndex(OrderRepository orderRepository, CacheInvalidationBus invalidationBus) {
+        this.orderRepository = orderRepository;
+        this.invalidationBus = invalidationBus;
+
+        if (invalidationBus != null) {
+            invalidationBus.register(REGION, new CacheInvalidationBus.LocalInvalidator() {
+                @Override
+                public void invalidate(String key) {
+                    reload(Long.valueOf(key));
+                }
+
+                @Override
+                public void invalidateAll() {
+                    RoomAvailabilityIndex.this.invalidate();
+                }
+            });
+        }
+    }
+
+    /**
+     * Index without cross-instance updates, for tests
+     */
+    public RoomAvailabilityIndex(OrderRepository orderRepository) {
+        this(orderRepository, null);
+    }
+
+    /**
+     * Check whether a room is free for every night in [checkIn, checkOut)
+     *
+     * @param roomId       The room ID
+     * @param checkInDate  First night of the stay
+     * @param checkOutDate Departure date (exclusive)
+     * @return true if no occupying order overlaps the range
+     */
+    public boolean isFree(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        ensureCurrent();
+
+        var bits = occupancy.get(roomId);
+        if (bits == null) {
+            return true;
+        }
+
+        int from = offsetOf(checkInDate);
+        int to = offsetOf(checkOutDate);
+        if (to <= from) {
+            return true;
+        }
+
+        synchronized (bits) {
+            int next = bits.nextSetBit(from);
+            return next < 0 || next >= to;
+        }
+    }
+
+    /**
+     * Mark the nights [checkIn, checkOut) as occupied for a room.
+     * Applied immediately so concurrent searches stop offering the room;
+     * undone if the surrounding transaction rolls back. Other instances reload the room after commit.
+     */
+    public void markBooked(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        ensureCurrent();
+        apply(roomId, checkInDate, checkOutDate, true);
+        log.debug("Availability index: room {} booked {} -> {}", roomId, checkInDate, checkOutDate);
+        publish(roomId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        apply(roomId, checkInDate, checkOutDate, false);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Mark the nights [checkIn, checkOut) as free again for a room.
+     * Deferred until commit when called inside a transaction; other instances reload the room then.
+     */
+    public void markReleased(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        publish(roomId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(roomId, checkInDate, checkOutDate);
+                }
+            });
+            return;
+        }
+        release(roomId, checkInDate, checkOutDate);
+    }
+
+    /**
+     * Drop the in-memory index; it is rebuilt from the order table on next use
+     */
+    public synchronized void invalidate() {
+        occupancy.clear();
+        loaded = false;
+    }
+
+    /**
+     * Tell every instance to reload the room; the bus defers this until commit
+     */
+    private void publish(Long roomId) {
+        if (invalidationBus != null && roomId != null) {
+            invalidationBus.publish(REGION, roomId);
+        }
+    }
+
+    /**
+     * Replace one room's nights with what the order table holds now
+     */
+    private void reload(Long roomId) {
+        ensureCurrent();
+        var from = origin;
+        var bits = new BitSet();
+        for (var stay : orderRepository.findStaysOfRoomEndingAfter(roomId, OCCUPYING_STATUSES, from)) {
+            long start = Math.max(0, ChronoUnit.DAYS.between(from, stay.getCheckInDate()));
+            long end = ChronoUnit.DAYS.between(from, stay.getCheckOutDate());
+            if (end > start) {
+                bits.set((int) start, (int) Math.min(end, Integer.MAX_VALUE - 1));
+            }
+        }
+        occupancy.put(roomId, bits);
+        log.debug("Availability index: room {} reloaded", roomId);
+    }
+
+    private void release(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        ensureCurrent();
+        apply(roomId, checkInDate, checkOutDate, false);
+        log.debug("Availability index: room {} released {} -> {}", roomId, checkInDate, checkOutDate);
+    }
+
+    private void apply(Long roomId, LocalDate checkInDate, LocalDate checkOutDate, boolean occupied) {
+        if (roomId == null || checkInDate == null || checkOutDate == null) {
+            return;
+        }
+
+        int from = offsetOf(checkInDate);
+        int to = offsetOf(checkOutDate);
+        if (to <= from) {
+            return;
+        }
+
+        var bits = occupancy.computeIfAbsent(roomId, _ -> new BitSet());
+        synchronized (bits) {
+            bits.set(from, to, occupied);
+        }
+    }
+
+    /**
+     * Nights before the origin are clamped to 0 since they can no longer be booked.
+     */
+    private int offsetOf(LocalDate date) {
+        long days = ChronoUnit.DAYS.between(origin, date);
+        return (int) Math.max(0, Math.min(days, Integer.MAX_VALUE - 1));
+    }
+
+    /**
+     * Build the index on first use and roll the origin forward when the day changes
+     */
+    private void ensureCurrent() {
+        var today = LocalDate.now();
+        if (loaded && today.equals(origin)) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!loaded) {
+                rebuild(today);
+            } else if (!today.equals(origin)) {
+                roll(today);
+            }
+        }
+    }
+
+    private void rebuild(LocalDate today) {
+        occupancy.clear();
+        origin = today;
+
+        var stays = orderRepository.findStaysEndingAfter(OCCUPYING_STATUSES, today);
+        for (var stay : stays) {
+            apply(stay.getRoomId(), stay.getCheckInDate(), stay.getCheckOutDate(), true);
+        }
+
+        loaded = true;
+        log.info("Availability index built from {} active stays across {} rooms", stays.size(), occupancy.size());
+    }
+
+    private void roll(LocalDate today) {
+        int shift = (int) ChronoUnit.DAYS.between(origin, today);
+        if (shift < 0) {
+            rebuild(today);
+            return;
+        }
+
+        occupancy.replaceAll((_, bits) -> {
+            synchronized (bits) {
+                return bits.get(shift, Math.max(shift, bits.length()));
+            }
+        });
+        origin = today;
+        log.debug("Availability index rolled forward {} days to {}", shift, today);
+    }
+}
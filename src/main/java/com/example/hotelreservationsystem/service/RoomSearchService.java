@@ -1,10 +1,14 @@
 package com.example.hotelreservationsystem.service;
 
-import com.example.hotelreservationsystem.entity.Room;
+import com.example.hotelreservationsystem.dto.KeysetPage;
+import com.example.hotelreservationsystem.dto.RoomSearchFilter;
+import com.example.hotelreservationsystem.dto.RoomSearchResult;
 import com.example.hotelreservationsystem.enums.RoomStatus;
+import com.example.hotelreservationsystem.events.ObserverDispatcher;
 import com.example.hotelreservationsystem.events.SearchEvent;
 import com.example.hotelreservationsystem.events.SearchEventObserver;
 import com.example.hotelreservationsystem.repository.RoomRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -12,7 +16,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Room Search Service with Observer Pattern support
@@ -24,6 +28,11 @@ public class RoomSearchService {
 
     private final RoomRepository roomRepository;
     private final BookingLockService bookingLockService;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final ObserverDispatcher observerDispatcher;
+
+    // Rooms read per database round trip when streaming a search
+    private static final int STREAM_BATCH_SIZE = 500;
 
     // Observer pattern: List of observers to notify on search events
     private final List<SearchEventObserver> observers = new CopyOnWriteArrayList<>();
@@ -31,9 +40,17 @@ public class RoomSearchService {
     /**
      * Constructor that auto-registers Spring-managed observers
      */
-    public RoomSearchService(RoomRepository roomRepository, BookingLockService bookingLockService, List<SearchEventObserver> searchObservers) {
+    public RoomSearchService(
+        RoomRepository roomRepository,
+        BookingLockService bookingLockService,
+        RoomAvailabilityIndex roomAvailabilityIndex,
+        ObserverDispatcher observerDispatcher,
+        List<SearchEventObserver> searchObservers
+    ) {
         this.roomRepository = roomRepository;
         this.bookingLockService = bookingLockService;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.observerDispatcher = observerDispatcher;
 
         // Auto-register all Spring-managed observers
         searchObservers.forEach(this::registerObserver);
@@ -55,58 +72,76 @@ public class RoomSearchService {
      */
     public void unregisterObserver(SearchEventObserver observer) {
         observers.remove(observer);
+        observerDispatcher.release(observer);
         log.debug("Unregistered search observer: {}", observer.getObserverName());
     }
 
     /**
      * Notify all observers of a search event
+     * Delivery is queued per observer, so search latency does not depend on observer work
      */
     private void notifyObservers(SearchEvent event) {
         log.debug("Notifying {} observers of search event: {}", observers.size(), event.getEventType());
-        observers.forEach(observer -> {
-            try {
-                observer.onSearchEvent(event);
-            } catch (Exception e) {
-                log.error("Observer {} failed to handle search event", observer.getObserverName(), e);
-            }
-        });
+        observers.forEach(observer ->
+            observerDispatcher.dispatch(observer, observer.getObserverName(), () -> observer.onSearchEvent(event)));
     }
 
     /**
      * Search for available rooms based on criteria
-     * Excludes rooms that are locked or not available
+     * Excludes rooms that are locked, not available, or already booked for the requested nights
      * Notifies observers of the search event
      *
-     * @param checkInDate  Check-in date (future enhancement for date-based booking)
-     * @param checkOutDate Check-out date (future enhancement for date-based booking)
+     * @param checkInDate  Check-in date (optional, used together with checkOutDate)
+     * @param checkOutDate Check-out date (optional, exclusive)
      * @param roomTypeId   Room type filter (optional)
      * @param hotelId      Hotel filter (optional)
      * @return List of available rooms
      */
-    public List<Room> searchAvailableRooms(
+    @Timed(value = "hotel.search", extraTags = {"mode", "list"}, description = "Room search latency")
+    public List<RoomSearchResult> searchAvailableRooms(
         LocalDate checkInDate,
         LocalDate checkOutDate,
         Long roomTypeId,
         Long hotelId
     ) {
-        return searchAvailableRooms(checkInDate, checkOutDate, roomTypeId, hotelId, null);
+        return searchAvailableRooms(checkInDate, checkOutDate, roomTypeId, hotelId, null, null);
     }
 
     /**
      * Search for available rooms based on criteria with customer tracking
-     * Excludes rooms that are locked or not available
+     *
+     * @see #searchAvailableRooms(LocalDate, LocalDate, Long, Long, Integer, Long)
+     */
+    @Timed(value = "hotel.search", extraTags = {"mode", "list"}, description = "Room search latency")
+    public List<RoomSearchResult> searchAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate, Long roomTypeId, Long hotelId, Long customerId) {
+        return searchAvailableRooms(checkInDate, checkOutDate, roomTypeId, hotelId, null, customerId);
+    }
+
+    /**
+     * Search for available rooms based on criteria with customer tracking
+     * Status, hotel, room type and capacity are filtered in the database, which returns
+     * projections of the matching rooms only; date and lock checks run on that result.
      * Notifies observers of the search event
      *
-     * @param checkInDate  Check-in date (future enhancement for date-based booking)
-     * @param checkOutDate Check-out date (future enhancement for date-based booking)
+     * @param checkInDate  Check-in date (optional, used together with checkOutDate)
+     * @param checkOutDate Check-out date (optional, exclusive)
      * @param roomTypeId   Room type filter (optional)
      * @param hotelId      Hotel filter (optional)
+     * @param minCapacity  Minimum room type capacity (optional)
      * @param customerId   Customer performing the search (optional)
      * @return List of available rooms
      */
-    public List<Room> searchAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate, Long roomTypeId, Long hotelId, Long customerId) {
-        log.info("Searching rooms - checkIn: {}, checkOut: {}, roomTypeId: {}, hotelId: {}, customerId: {}",
-            checkInDate, checkOutDate, roomTypeId, hotelId, customerId);
+    @Timed(value = "hotel.search", extraTags = {"mode", "list"}, description = "Room search latency")
+    public List<RoomSearchResult> searchAvailableRooms(
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Long roomTypeId,
+        Long hotelId,
+        Integer minCapacity,
+        Long customerId
+    ) {
+        log.info("Searching rooms - checkIn: {}, checkOut: {}, roomTypeId: {}, hotelId: {}, minCapacity: {}, customerId: {}",
+            checkInDate, checkOutDate, roomTypeId, hotelId, minCapacity, customerId);
 
         // Build search criteria
         SearchEvent.SearchCriteria criteria = SearchEvent.SearchCriteria.builder()
@@ -114,37 +149,112 @@ public class RoomSearchService {
                                                                         .checkOutDate(checkOutDate)
                                                                         .roomTypeId(roomTypeId)
                                                                         .hotelId(hotelId)
+                                                                        .minCapacity(minCapacity)
                                                                         .build();
 
-        List<Room> rooms;
+        // Status, room type, hotel and capacity filters run in SQL
+        List<RoomSearchResult> rooms = roomRepository.searchRooms(toFilter(criteria));
 
-        // Query based on provided filters
-        if (roomTypeId != null) {
-            // Filter by room type and available status
-            rooms = roomRepository.findByRoomType_IdAndRoomStatus(roomTypeId, RoomStatus.AVAILABLE);
-        } else {
-            // Get all available rooms
-            rooms = roomRepository.findAll().stream()
-                                            .filter(room -> room.getRoomStatus() == RoomStatus.AVAILABLE)
-                                            .toList();
+        rooms = excludeUnavailable(rooms, checkInDate, checkOutDate);
+
+        log.info("Found {} available rooms", rooms.size());
+
+        // Notify observers of the search event
+        notifySearchObservers(customerId, criteria, rooms.size());
+
+        return rooms;
+    }
+
+    /**
+     * One keyset page of a room search.
+     * The page is cut in the database before date and lock checks, so it may hold fewer
+     * than {@code limit} rooms while {@code nextCursor} is still set.
+     *
+     * @param criteria   Search filters
+     * @param customerId Customer performing the search (optional)
+     * @param after      Cursor from the previous page, or null for the first page
+     * @param limit      Rooms to scan in the database
+     * @return Available rooms of the scanned range and the cursor of the next one
+     */
+    @Timed(value = "hotel.search", extraTags = {"mode", "page"}, description = "Room search latency")
+    public KeysetPage<RoomSearchResult> searchAvailableRoomsPage(
+        SearchEvent.SearchCriteria criteria,
+        Long customerId,
+        Long after,
+        int limit
+    ) {
+        var scanned = roomRepository.searchRooms(toFilter(criteria), after == null ? 0L : after, limit);
+        var page = KeysetPage.of(scanned, limit, RoomSearchResult::id);
+        var rooms = excludeUnavailable(scanned, criteria.getCheckInDate(), criteria.getCheckOutDate());
+
+        notifySearchObservers(customerId, criteria, rooms.size());
+        return new KeysetPage<>(rooms, page.nextCursor());
+    }
+
+    /**
+     * Push every available room to the sink in ID order.
+     * Rooms are read in keyset batches so each batch's lock check is one Redis round trip,
+     * and no more than one batch is held in memory. Observers get one event for the whole search.
+     *
+     * @param criteria   Search filters
+     * @param customerId Customer performing the search (optional)
+     * @param sink       Receives each available room
+     */
+    @Timed(value = "hotel.search", extraTags = {"mode", "stream"}, description = "Room search latency")
+    public void streamAvailableRooms(SearchEvent.SearchCriteria criteria, Long customerId, Consumer<RoomSearchResult> sink) {
+        var filter = toFilter(criteria);
+        var after = 0L;
+        var found = 0;
+
+        while (true) {
+            var scanned = roomRepository.searchRooms(filter, after, STREAM_BATCH_SIZE);
+            if (scanned.isEmpty()) {
+                break;
+            }
+
+            var rooms = excludeUnavailable(scanned, criteria.getCheckInDate(), criteria.getCheckOutDate());
+            rooms.forEach(sink);
+            found += rooms.size();
+
+            if (scanned.size() < STREAM_BATCH_SIZE) {
+                break;
+            }
+            after = scanned.getLast().id();
         }
 
-        // Filter by hotel if specified
-        if (hotelId != null) {
+        log.info("Streamed {} available rooms", found);
+        notifySearchObservers(customerId, criteria, found);
+    }
+
+    private static RoomSearchFilter toFilter(SearchEvent.SearchCriteria criteria) {
+        return RoomSearchFilter.builder()
+                               .roomStatus(RoomStatus.AVAILABLE)
+                               .roomTypeId(criteria.getRoomTypeId())
+                               .hotelId(criteria.getHotelId())
+                               .minCapacity(criteria.getMinCapacity())
+                               .build();
+    }
+
+    /**
+     * Drop rooms booked for any requested night or currently locked
+     */
+    private List<RoomSearchResult> excludeUnavailable(List<RoomSearchResult> rooms, LocalDate checkInDate, LocalDate checkOutDate) {
+        // Exclude rooms already booked for any night in [checkIn, checkOut)
+        if (checkInDate != null && checkOutDate != null && checkOutDate.isAfter(checkInDate)) {
             rooms = rooms.stream()
-                         .filter(room -> room.getHotel() != null && room.getHotel().getId().equals(hotelId))
+                         .filter(room -> roomAvailabilityIndex.isFree(room.id(), checkInDate, checkOutDate))
                          .toList();
         }
 
-        // Exclude locked rooms
-        rooms = rooms.stream()
-                     .filter(room -> !bookingLockService.isLocked(room.getId()))
-                     .toList();
-
-        log.info("Found {} available rooms", rooms.size());
-
-        // Notify observers of the search event
-        notifySearchObservers(customerId, criteria, rooms.size());
+        // Exclude locked rooms (single pipelined Redis call for the whole candidate set)
+        if (!rooms.isEmpty()) {
+            var lockedRoomIds = bookingLockService.lockedRoomIds(rooms.stream().map(RoomSearchResult::id).toList());
+            if (!lockedRoomIds.isEmpty()) {
+                rooms = rooms.stream()
+                             .filter(room -> !lockedRoomIds.contains(room.id()))
+                             .toList();
+            }
+        }
 
         return rooms;
     }
@@ -192,7 +302,7 @@ public class RoomSearchService {
      *
      * @return List of available, unlocked rooms
      */
-    public List<Room> getAllAvailableRooms() {
+    public List<RoomSearchResult> getAllAvailableRooms() {
         return searchAvailableRooms(null, null, null, null);
     }
 }
@@ -1,6 +1,7 @@
 package com.example.hotelreservationsystem.service;
 
 import com.example.hotelreservationsystem.base.pricing.PricingObject;
+import com.example.hotelreservationsystem.config.CacheConfig;
 import com.example.hotelreservationsystem.base.pricing.PricingObserver;
 import com.example.hotelreservationsystem.entity.Room;
 import com.example.hotelreservationsystem.enums.RoomStatus;
@@ -10,13 +11,17 @@ import com.example.hotelreservationsystem.repository.RoomTypeRepository;
 import com.example.hotelreservationsystem.entity.RoomType;
 import com.example.hotelreservationsystem.dto.RoomCreateRequest;
 import com.example.hotelreservationsystem.dto.RoomCreateResponse;
+import com.example.hotelreservationsystem.dto.KeysetPage;
+import org.springframework.data.domain.Limit;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
@@ -25,6 +30,8 @@ public class RoomService implements PricingObject {
     private final RoomRepository roomRepository;
     private final HotelRepository hotelRepository;
     private final RoomTypeRepository roomTypeRepository;
+    private final CacheManager cacheManager;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     private final ConcurrentHashMap<Long, List<PricingObserver>> _dependencies = new ConcurrentHashMap<>();
 
@@ -67,67 +74,63 @@ public class RoomService implements PricingObject {
         return roomRepository.findByRoomType_IdAndRoomStatus(roomTypeId, RoomStatus.VACANT);
     }
 
+    /**
+     * Vacant rooms of a room type as DTOs, cached per room type.
+     * Selected directly as DTOs; the result list is a mutable ArrayList, which the Redis tier can deserialize.
+     */
+    @Cacheable(cacheNames = CacheConfig.ROOM_LISTS, key = "'type:' + #roomTypeId + ':VACANT'")
+    @Transactional(readOnly = true)
+    public List<RoomCreateResponse> searchedRoomDtos(Long roomTypeId) {
+        return roomRepository.findDtosByRoomTypeAndStatus(roomTypeId, RoomStatus.VACANT);
+    }
+
+    /**
+     * Room type by ID, cached until its price changes
+     */
+    @Cacheable(cacheNames = CacheConfig.ROOM_TYPES, key = "#id", unless = "#result == null")
+    public RoomType findRoomTypeById(Long id) {
+        return roomTypeRepository.findById(id).orElse(null);
+    }
+
     public List<Room> findAll() {
         return roomRepository.findAll();
     }
 
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
-    public List<com.example.hotelreservationsystem.dto.RoomCreateResponse> findAllDto() {
-        List<Room> rooms = roomRepository.findAll();
-        return rooms.stream().map(room -> {
-            Long hotelId = null;
-            if (room.getHotel() != null) {
-                try { hotelId = room.getHotel().getId(); } catch (Exception ignored) {}
-            }
+    @Cacheable(cacheNames = CacheConfig.ROOM_LISTS, key = "'all'")
+    @Transactional(readOnly = true)
+    public List<RoomCreateResponse> findAllDto() {
+        return roomRepository.findAllDtos();
+    }
 
-            Long roomTypeId = null;
-            if (room.getRoomType() != null) {
-                try { roomTypeId = room.getRoomType().getId(); } catch (Exception ignored) {}
-            }
+    /**
+     * Keyset page of room DTOs, selected directly as DTOs
+     *
+     * @param after Last ID of the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<RoomCreateResponse> findDtoPage(Long after, int limit) {
+        var rows = roomRepository.findDtosAfter(after == null ? 0L : after, Limit.of(limit));
+        return KeysetPage.of(rows, limit, RoomCreateResponse::id);
+    }
 
-            return com.example.hotelreservationsystem.dto.RoomCreateResponse.builder()
-                    .id(room.getId())
-                    .roomNumber(room.getRoomNumber())
-                    .hotelId(hotelId)
-                    .roomTypeId(roomTypeId)
-                    .roomStatus(room.getRoomStatus())
-                    .build();
-        }).collect(Collectors.toList());
+    /**
+     * Push every room DTO to the sink in ID order, reading through a database cursor
+     */
+    @Transactional(readOnly = true)
+    public void streamAllDto(Consumer<RoomCreateResponse> sink) {
+        try (var rows = roomRepository.streamAllDtos()) {
+            rows.forEach(sink);
+        }
     }
 
     public Room findById(Long id) {
         return roomRepository.findById(id).orElse(null);
     }
 
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
-    public com.example.hotelreservationsystem.dto.RoomCreateResponse findDtoById(Long id) {
-        var roomOpt = roomRepository.findById(id);
-        if (roomOpt.isEmpty()) return null;
-        var room = roomOpt.get();
-
-        Long hotelId = null;
-        if (room.getHotel() != null) {
-            try {
-                hotelId = room.getHotel().getId();
-            } catch (Exception ignored) {
-            }
-        }
-
-        Long roomTypeId = null;
-        if (room.getRoomType() != null) {
-            try {
-                roomTypeId = room.getRoomType().getId();
-            } catch (Exception ignored) {
-            }
-        }
-
-        return com.example.hotelreservationsystem.dto.RoomCreateResponse.builder()
-                .id(room.getId())
-                .roomNumber(room.getRoomNumber())
-                .hotelId(hotelId)
-                .roomTypeId(roomTypeId)
-                .roomStatus(room.getRoomStatus())
-                .build();
+    @Cacheable(cacheNames = CacheConfig.ROOMS, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public RoomCreateResponse findDtoById(Long id) {
+        return roomRepository.findDtoById(id).orElse(null);
     }
 
     @Transactional
@@ -150,6 +153,7 @@ public class RoomService implements PricingObject {
                        .build();
 
         roomRepository.save(room);
+        evictRoomCaches(null, room.getRoomType().getId());
 
         return RoomCreateResponse.builder()
                                  .id(room.getId())
@@ -168,6 +172,7 @@ public class RoomService implements PricingObject {
         }
 
         var room = existing.get();
+        Long previousRoomTypeId = room.getRoomType() == null ? null : room.getRoomType().getId();
 
         if (request.getHotelId() != null && !request.getHotelId().equals(room.getHotel() == null ? null : room.getHotel().getId())) {
             var hotel = hotelRepository.findById(request.getHotelId());
@@ -189,6 +194,7 @@ public class RoomService implements PricingObject {
         if (request.getRoomStatus() != null) room.setRoomStatus(request.getRoomStatus());
 
         roomRepository.save(room);
+        evictRoomCaches(id, previousRoomTypeId, room.getRoomType() == null ? null : room.getRoomType().getId());
 
         return RoomCreateResponse.builder()
                                  .id(room.getId())
@@ -201,10 +207,14 @@ public class RoomService implements PricingObject {
 
     @Transactional
     public boolean delete(Long id) {
-        if (!roomRepository.existsById(id)) {
+        var existing = roomRepository.findById(id);
+        if (existing.isEmpty()) {
             return false;
         }
+
+        var roomType = existing.get().getRoomType();
         roomRepository.deleteById(id);
+        evictRoomCaches(id, roomType == null ? null : roomType.getId());
         return true;
     }
 
@@ -218,9 +228,46 @@ public class RoomService implements PricingObject {
         var roomType = roomTypeOpt.get();
         roomType.setPrice(price);
         roomTypeRepository.save(roomType);
+        evict(CacheConfig.ROOM_TYPES, roomTypeId);
 
         _updatePrice(roomTypeId, price);
         return roomType;
     }
 
+    /**
+     * Evict the cached rooms of a hotel that is being deleted along with them
+     */
+    public void evictCachedRooms(List<Room> rooms) {
+        if (rooms == null) {
+            return;
+        }
+        rooms.forEach(room -> evictRoomCaches(room.getId(), room.getRoomType() == null ? null : room.getRoomType().getId()));
+    }
+
+    /**
+     * Evict the cached DTO of a room and every list it may appear in.
+     * The cache manager is transaction-aware, so evictions run after commit.
+     */
+    private void evictRoomCaches(Long roomId, Long... roomTypeIds) {
+        if (roomId != null) {
+            evict(CacheConfig.ROOMS, roomId);
+        }
+        evict(CacheConfig.ROOM_LISTS, "all");
+        for (var roomTypeId : roomTypeIds) {
+            if (roomTypeId != null) {
+                evict(CacheConfig.ROOM_LISTS, "type:" + roomTypeId + ":VACANT");
+            }
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        var cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+
+        // Other instances still hold the entry in their local tier
+        cacheInvalidationBus.publish(cacheName, key);
+    }
+
 }
@@ -3,18 +3,105 @@ package com.example.hotelreservationsystem.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
 
+/**
+ * Issued tokens in Redis: a token is valid while its key exists.
+ * <p>
+ * Keys hold the SHA-256 of the token rather than the token itself, so every key has the same
+ * small size and Redis never stores a usable credential. Each user also has a sorted set of
+ * their token digests scored by expiry time, which makes "logout everywhere" and session counts
+ * O(sessions of that user) instead of a scan over all tokens.
+ * <p>
+ * Scripts get every key they touch in KEYS; the user set is found from the token, or the tokens
+ * from the set, with a read before the script runs. Set keys carry the email as a {@code {user}}
+ * hash tag, but token keys are per digest, so like the lock keys this needs a single Redis primary.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TokenStorageService {
 
     private final RedisTemplate<String, String> redisTemplate;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     private static final String TOKEN_PREFIX = "auth:token:";
+    private static final String USER_TOKENS_PREFIX = "auth:user-tokens:";
+
+    /**
+     * Store a token and add it to the user's set. Expired digests are pruned from the set, and
+     * the set lives as long as the longest-lived token in it.
+     * KEYS[1] = token key, KEYS[2] = user token set
+     * ARGV[1] = email, ARGV[2] = digest, ARGV[3] = TTL in milliseconds, ARGV[4] = expiry epoch millis,
+     * ARGV[5] = now epoch millis
+     */
+    private static final RedisScript<Long> STORE_TOKEN_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3]) " +
+        "redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', ARGV[5]) " +
+        "redis.call('ZADD', KEYS[2], ARGV[4], ARGV[2]) " +
+        "if redis.call('PTTL', KEYS[2]) < tonumber(ARGV[3]) then redis.call('PEXPIRE', KEYS[2], ARGV[3]) end " +
+        "return 1",
+        Long.class
+    );
+
+    /**
+     * Delete a token and drop it from its user's set, if the token still belongs to that user.
+     * KEYS[1] = token key, KEYS[2] = user token set
+     * ARGV[1] = email, ARGV[2] = digest
+     * Returns 1 if the token existed, 0 otherwise.
+     */
+    private static final RedisScript<Long> REMOVE_TOKEN_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end " +
+        "redis.call('DEL', KEYS[1]) " +
+        "redis.call('ZREM', KEYS[2], ARGV[2]) " +
+        "return 1",
+        Long.class
+    );
+
+    /**
+     * Delete the given tokens of a user and drop them from the set. Tokens stored after the set
+     * was read are left alone.
+     * KEYS[1] = user token set, KEYS[2..n] = token keys
+     * ARGV[1..n-1] = digests, in the same order as the token keys
+     * Returns the number of token keys deleted.
+     */
+    private static final RedisScript<Long> REMOVE_ALL_TOKENS_SCRIPT = new DefaultRedisScript<>(
+        "local removed = 0 " +
+        "for i = 2, #KEYS do " +
+        "  removed = removed + redis.call('DEL', KEYS[i]) " +
+        "  redis.call('ZREM', KEYS[1], ARGV[i - 1]) " +
+        "end " +
+        "return removed",
+        Long.class
+    );
+
+    /**
+     * Key of a user's token set; the email is the hash tag
+     */
+    static String userTokensKey(String email) {
+        return USER_TOKENS_PREFIX + "{" + email + "}";
+    }
+
+    /**
+     * Hex SHA-256 of a token, used as its key in Redis and in the local caches
+     */
+    public static String digest(String token) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 
     /**
      * Store a token in Redis with the specified expiration time
@@ -25,8 +112,13 @@ public class TokenStorageService {
      */
     public void storeToken(String email, String token, Long expiration) {
         try {
-            var key = TOKEN_PREFIX + token;
-            redisTemplate.opsForValue().set(key, email, expiration, TimeUnit.MILLISECONDS);
+            var digest = digest(token);
+            var now = System.currentTimeMillis();
+            redisTemplate.execute(
+                STORE_TOKEN_SCRIPT,
+                List.of(TOKEN_PREFIX + digest, userTokensKey(email)),
+                email, digest, String.valueOf(expiration), String.valueOf(now + expiration), String.valueOf(now)
+            );
             log.debug("Stored token for user: {} with expiration: {}ms", email, expiration);
         } catch (Exception e) {
             log.error("Failed to store token in Redis for user: {}", email, e);
@@ -42,7 +134,7 @@ public class TokenStorageService {
      */
     public boolean validateToken(String token) {
         try {
-            var key = TOKEN_PREFIX + token;
+            var key = TOKEN_PREFIX + digest(token);
             var hasKey = redisTemplate.hasKey(key);
             log.debug("Token validation result: {}", hasKey);
             return Boolean.TRUE.equals(hasKey);
@@ -53,23 +145,78 @@ public class TokenStorageService {
     }
 
     /**
-     * Remove a token from Redis (logout)
+     * Remove a token from Redis (logout) and revoke it from every instance's verified-token cache
      *
      * @param token The JWT token to remove
      * @return true if token was removed, false if it didn't exist
      */
     public boolean removeToken(String token) {
+        // Revoke first: a failed delete must not leave the token cached as valid
+        verifiedTokenCache.revoke(token);
         try {
-            var key = TOKEN_PREFIX + token;
-            var deleted = redisTemplate.delete(key);
-            log.debug("Token removal result: {}", deleted);
-            return Boolean.TRUE.equals(deleted);
+            var digest = digest(token);
+            var key = TOKEN_PREFIX + digest;
+            // Find the owner first so the script gets the user set in KEYS
+            var email = redisTemplate.opsForValue().get(key);
+            if (email == null) {
+                log.debug("Token to remove not found");
+                return false;
+            }
+            var removed = redisTemplate.execute(REMOVE_TOKEN_SCRIPT, List.of(key, userTokensKey(email)), email, digest);
+            log.debug("Token removal result: {}", removed);
+            return removed != null && removed == 1L;
         } catch (Exception e) {
             log.error("Failed to remove token from Redis", e);
             throw new RuntimeException("Failed to remove token from Redis", e);
         }
     }
 
+    /**
+     * Remove every token of a user (logout everywhere) and revoke them from the verified-token caches
+     *
+     * @param email The user's email
+     * @return Number of tokens removed
+     */
+    public int removeAllTokens(String email) {
+        try {
+            var setKey = userTokensKey(email);
+            var digests = redisTemplate.opsForZSet().range(setKey, 0, -1);
+            if (digests == null || digests.isEmpty()) {
+                return 0;
+            }
+
+            var keys = new ArrayList<String>(digests.size() + 1);
+            keys.add(setKey);
+            digests.forEach(digest -> keys.add(TOKEN_PREFIX + digest));
+
+            // Revoke first: a failed delete must not leave the tokens cached as valid
+            digests.forEach(verifiedTokenCache::revokeDigest);
+            var removed = redisTemplate.execute(REMOVE_ALL_TOKENS_SCRIPT, keys, digests.toArray());
+            log.debug("Removed {} tokens for user: {}", removed, email);
+            return removed == null ? 0 : removed.intValue();
+        } catch (Exception e) {
+            log.error("Failed to remove tokens from Redis for user: {}", email, e);
+            throw new RuntimeException("Failed to remove tokens from Redis", e);
+        }
+    }
+
+    /**
+     * Count the user's tokens that have not expired
+     *
+     * @param email The user's email
+     * @return Number of active sessions
+     */
+    public long countActiveTokens(String email) {
+        try {
+            var count = redisTemplate.opsForZSet()
+                                     .count(userTokensKey(email), System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+            return count == null ? 0 : count;
+        } catch (Exception e) {
+            log.error("Failed to count tokens in Redis for user: {}", email, e);
+            throw new RuntimeException("Failed to count tokens in Redis", e);
+        }
+    }
+
     /**
      * Get the email associated with a token
      *
@@ -78,7 +225,7 @@ public class TokenStorageService {
      */
     public String getEmailFromToken(String token) {
         try {
-            var key = TOKEN_PREFIX + token;
+            var key = TOKEN_PREFIX + digest(token);
             return redisTemplate.opsForValue().get(key);
         } catch (Exception e) {
             log.error("Failed to get email from token in Redis", e);
@@ -0,0 +1,156 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.security.JwtUtil.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Tokens this instance has already checked against Redis.
+ * <p>
+ * A hit lets the authentication filter skip the Redis lookup and the signature check; with the
+ * principal served by {@link PrincipalCache}, steady-state authenticated traffic makes no
+ * network calls. Entries are keyed by the token digest also used in Redis
+ * ({@link TokenStorageService#digest}) and expire with the token itself. Logout revokes the
+ * digest locally and on every other instance through {@link CacheInvalidationBus}. A revoked
+ * digest is remembered for the longest token lifetime, so a request that read Redis just before
+ * the logout cannot put the token back. When the bus reports lost messages the whole cache is cleared.
+ */
+@Service
+@Slf4j
+public class VerifiedTokenCache {
+
+    static final String REGION = "verifiedTokens";
+
+    private final Cache<String, VerifiedToken> entries;
+    private final Cache<String, Boolean> revoked;
+    private final CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    public VerifiedTokenCache(
+        CacheInvalidationBus invalidationBus,
+        @Value("${auth.token-cache.max-size:10000}") long maxSize,
+        @Value("${jwt.expiration:1800000}") long maxTokenLifetimeMillis
+    ) {
+        this.invalidationBus = invalidationBus;
+        this.entries = Caffeine.newBuilder()
+                               .maximumSize(maxSize)
+                               .expireAfter(new UntilTokenExpiry())
+                               .recordStats()
+                               .build();
+        this.revoked = Caffeine.newBuilder()
+                               .maximumSize(maxSize)
+                               .expireAfterWrite(Duration.ofMillis(maxTokenLifetimeMillis))
+                               .build();
+
+        if (invalidationBus != null) {
+            invalidationBus.register(REGION, new CacheInvalidationBus.LocalInvalidator() {
+                @Override
+                public void invalidate(String key) {
+                    revokeLocally(key);
+                }
+
+                @Override
+                public void invalidateAll() {
+                    entries.invalidateAll();
+                }
+            });
+        }
+    }
+
+    /**
+     * Cache without cross-instance revocation, for tests and benchmarks
+     */
+    public VerifiedTokenCache(long maxSize, long maxTokenLifetimeMillis) {
+        this(null, maxSize, maxTokenLifetimeMillis);
+    }
+
+    /**
+     * The verified token, or null if it has to be checked again
+     */
+    public VerifiedToken get(String token) {
+        var verified = entries.getIfPresent(TokenStorageService.digest(token));
+        if (verified == null || verified.isExpired()) {
+            return null;
+        }
+        return verified;
+    }
+
+    /**
+     * Remember a token that Redis and the signature check have just accepted
+     */
+    public void put(VerifiedToken token) {
+        var key = TokenStorageService.digest(token.token());
+        entries.put(key, token);
+        // A revocation may have landed while the caller was reading Redis
+        if (revoked.getIfPresent(key) != null) {
+            entries.invalidate(key);
+        }
+    }
+
+    /**
+     * Drop a token here and on every other instance
+     */
+    public void revoke(String token) {
+        revokeDigest(TokenStorageService.digest(token));
+    }
+
+    /**
+     * Drop a token known only by its digest here and on every other instance
+     */
+    public void revokeDigest(String digest) {
+        revokeLocally(digest);
+        if (invalidationBus != null) {
+            invalidationBus.publish(REGION, digest);
+        }
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    /**
+     * Underlying Caffeine cache, for metrics
+     */
+    public Cache<String, VerifiedToken> nativeCache() {
+        return entries;
+    }
+
+    private void revokeLocally(String key) {
+        revoked.put(key, Boolean.TRUE);
+        entries.invalidate(key);
+        log.debug("Revoked cached token {}", key);
+    }
+
+    /**
+     * Keeps each entry until its token expires
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            var expiration = token.expiration();
+            if (expiration == null) {
+                return 0;
+            }
+            var remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return Duration.ofMillis(Math.max(remainingMillis, 0)).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.hotelreservationsystem.config;
+
+import com.example.hotelreservationsystem.events.LockEvent;
+import com.example.hotelreservationsystem.events.SearchEvent;
+import com.example.hotelreservationsystem.events.observers.CombinedAnalyticsObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MetricsConfigTest {
+
+    @Test
+    void shouldPublishAnalyticsCountersAtScrapeTime() {
+        var observer = new CombinedAnalyticsObserver();
+        var registry = new SimpleMeterRegistry();
+        new MetricsConfig().analyticsMetrics(observer).bindTo(registry);
+
+        observer.onSearchEvent(SearchEvent.builder()
+                                          .eventType(SearchEvent.SearchEventType.SEARCH_PERFORMED)
+                                          .customerId(1L)
+                                          .resultsCount(3)
+                                          .timestamp(LocalDateTime.now())
+                                          .build());
+        observer.onLockEvent(lockEvent(LockEvent.LockEventType.LOCK_CREATED));
+        observer.onLockEvent(lockEvent(LockEvent.LockEventType.LOCK_CONFLICT_DETECTED));
+
+        assertEquals(1, registry.get("hotel.analytics.searches").tag("outcome", "results").functionCounter().count());
+        assertEquals(0, registry.get("hotel.analytics.searches").tag("outcome", "no_results").functionCounter().count());
+        assertEquals(1, registry.get("hotel.analytics.locks").tag("event", "created").functionCounter().count());
+        assertEquals(1, registry.get("hotel.analytics.locks").tag("event", "conflict").functionCounter().count());
+        assertEquals(100.0, registry.get("hotel.analytics.conversion.rate").gauge().value(), 0.001);
+    }
+
+    private static LockEvent lockEvent(LockEvent.LockEventType type) {
+        return LockEvent.builder()
+                        .eventType(type)
+                        .roomId(7L)
+                        .customerId(1L)
+                        .timestamp(LocalDateTime.now())
+                        .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.hotelreservationsystem.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TwoTierCacheTest {
+
+    private ConcurrentMapCache remote;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("rooms", false);
+        cache = new TwoTierCache("rooms", Caffeine.newBuilder().maximumSize(100).build(), remote);
+    }
+
+    @Test
+    void shouldCountMissThenLocalHit() {
+        assertNull(cache.get(1L));
+
+        cache.put(1L, "room-1");
+
+        assertEquals("room-1", cache.get(1L).get());
+        var stats = cache.getStats();
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.localHits());
+        assertEquals(0, stats.remoteHits());
+        assertEquals(0.5, stats.hitRatio());
+    }
+
+    @Test
+    void shouldPromoteRemoteHitIntoLocalTier() {
+        // Written by another instance: present in Redis only
+        remote.put(1L, "room-1");
+
+        assertEquals("room-1", cache.get(1L).get());
+        assertEquals("room-1", cache.get(1L).get());
+
+        var stats = cache.getStats();
+        assertEquals(1, stats.remoteHits());
+        assertEquals(1, stats.localHits());
+        assertEquals(1, stats.localSize());
+    }
+
+    @Test
+    void shouldEvictFromBothTiers() {
+        cache.put(1L, "room-1");
+
+        cache.evict(1L);
+
+        assertNull(remote.get(1L));
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void shouldLoadOnceThroughValueLoader() {
+        var first = cache.get(1L, () -> "loaded");
+        var second = cache.get(1L, () -> "reloaded");
+
+        assertEquals("loaded", first);
+        assertEquals("loaded", second);
+        assertEquals("loaded", remote.get(1L).get());
+    }
+
+    @Test
+    void shouldFallBackToMissWhenRemoteTierFails() {
+        var failing = mock(Cache.class);
+        when(failing.get(any())).thenThrow(new RuntimeException("Redis down"));
+        doThrow(new RuntimeException("Redis down")).when(failing).put(any(), any());
+        var degraded = new TwoTierCache("rooms", Caffeine.newBuilder().build(), failing);
+
+        assertNull(degraded.get(1L));
+        degraded.put(1L, "room-1");
+
+        assertEquals("room-1", degraded.get(1L).get());
+        assertEquals(1, degraded.getStats().misses());
+    }
+}
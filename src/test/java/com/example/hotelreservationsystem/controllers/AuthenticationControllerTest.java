@@ -6,6 +6,7 @@ import com.example.hotelreservationsystem.dto.RegisterRequest;
 import com.example.hotelreservationsystem.entity.Customer;
 import com.example.hotelreservationsystem.enums.MembershipTier;
 import com.example.hotelreservationsystem.enums.Role;
+import com.example.hotelreservationsystem.exception.AuthenticationThrottledException;
 import com.example.hotelreservationsystem.exception.EmailAlreadyExistsException;
 import com.example.hotelreservationsystem.exception.InvalidCredentialsException;
 import com.example.hotelreservationsystem.service.AuthenticationService;
@@ -24,6 +25,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -115,6 +117,34 @@ class AuthenticationControllerTest {
                .andExpect(jsonPath("$.status").value(401));
     }
 
+    @Test
+    void testLogin_HashingPoolSaturated() throws Exception {
+        var request = new LoginRequest("busy@example.com", "password123");
+
+        when(authenticationService.login(any(LoginRequest.class)))
+            .thenThrow(new AuthenticationThrottledException("Too many authentication requests", 1));
+
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                                               .content(objectMapper.writeValueAsString(request)))
+               .andExpect(status().isTooManyRequests())
+               .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testRegister_HashingPoolSaturated() throws Exception {
+        var request = new RegisterRequest("Busy User", "busy-register@example.com", "password123", "1234567890");
+
+        when(authenticationService.register(any(RegisterRequest.class)))
+            .thenThrow(new AuthenticationThrottledException("Too many authentication requests", 1));
+
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                                                  .content(objectMapper.writeValueAsString(request)))
+               .andExpect(status().isTooManyRequests())
+               .andExpect(header().string("Retry-After", "1"))
+               .andExpect(jsonPath("$.error").value("Too Many Requests"))
+               .andExpect(jsonPath("$.status").value(429));
+    }
+
     @Test
     @WithMockUser(username = "test@example.com")
     void testGetCurrentUser_Success() throws Exception {
@@ -1,5 +1,7 @@
 package com.example.hotelreservationsystem.controllers;
 
+import com.example.hotelreservationsystem.entity.Customer;
+import com.example.hotelreservationsystem.service.AuthenticationService;
 import com.example.hotelreservationsystem.service.TokenStorageService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +13,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -25,6 +28,9 @@ class LogoutEndpointTest {
     @MockitoBean
     private TokenStorageService tokenStorageService;
 
+    @MockitoBean
+    private AuthenticationService authenticationService;
+
     @Test
     @WithMockUser
     void shouldLogoutSuccessfully() throws Exception {
@@ -73,4 +79,35 @@ class LogoutEndpointTest {
         mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer "))
                .andExpect(status().isOk());
     }
+
+    @Test
+    @WithMockUser(username = "user@test.com")
+    void shouldLogoutEverywhere() throws Exception {
+        when(authenticationService.getCurrentUser("user@test.com")).thenReturn(customer("user@test.com"));
+        when(tokenStorageService.removeAllTokens("user@test.com")).thenReturn(3);
+
+        mockMvc.perform(post("/api/auth/logout-all"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.removedSessions").value(3));
+
+        verify(tokenStorageService).removeAllTokens("user@test.com");
+    }
+
+    @Test
+    @WithMockUser(username = "user@test.com")
+    void shouldReturnActiveSessionCount() throws Exception {
+        when(authenticationService.getCurrentUser("user@test.com")).thenReturn(customer("user@test.com"));
+        when(tokenStorageService.countActiveTokens("user@test.com")).thenReturn(2L);
+
+        mockMvc.perform(get("/api/auth/sessions"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.activeSessions").value(2));
+    }
+
+    private static Customer customer(String email) {
+        var customer = new Customer();
+        customer.setId(100L);
+        customer.setEmail(email);
+        return customer;
+    }
 }
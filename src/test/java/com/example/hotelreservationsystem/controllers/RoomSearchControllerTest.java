@@ -1,6 +1,7 @@
 package com.example.hotelreservationsystem.controllers;
 
-import com.example.hotelreservationsystem.entity.Room;
+import com.example.hotelreservationsystem.dto.KeysetPage;
+import com.example.hotelreservationsystem.dto.RoomSearchResult;
 import com.example.hotelreservationsystem.enums.RoomStatus;
 import com.example.hotelreservationsystem.service.RoomSearchService;
 import org.junit.jupiter.api.Test;
@@ -12,9 +13,17 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -31,19 +40,19 @@ class RoomSearchControllerTest {
     @Test
     @WithMockUser
     void shouldSearchRoomsSuccessfully() throws Exception {
-        var room1 = Room.builder()
+        var room1 = RoomSearchResult.builder()
+            .id(1L)
             .roomNumber("101")
             .roomStatus(RoomStatus.AVAILABLE)
             .build();
-        room1.setId(1L);
 
-        var room2 = Room.builder()
+        var room2 = RoomSearchResult.builder()
+            .id(2L)
             .roomNumber("102")
             .roomStatus(RoomStatus.AVAILABLE)
             .build();
-        room2.setId(2L);
 
-        when(roomSearchService.searchAvailableRooms(any(), any(), any(), any()))
+        when(roomSearchService.searchAvailableRooms(any(), any(), any(), any(), any(), any()))
             .thenReturn(List.of(room1, room2));
 
         mockMvc.perform(get("/api/customer/rooms/search")
@@ -55,10 +64,24 @@ class RoomSearchControllerTest {
             .andExpect(jsonPath("$[1].roomNumber").value("102"));
     }
 
+    @Test
+    @WithMockUser
+    void shouldPassCapacityFilterToService() throws Exception {
+        when(roomSearchService.searchAvailableRooms(isNull(), isNull(), isNull(), isNull(), eq(3), isNull()))
+            .thenReturn(List.of());
+
+        mockMvc.perform(get("/api/customer/rooms/search")
+                .param("minCapacity", "3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+
+        verify(roomSearchService).searchAvailableRooms(isNull(), isNull(), isNull(), isNull(), eq(3), isNull());
+    }
+
     @Test
     @WithMockUser
     void shouldSearchRoomsWithDateParameters() throws Exception {
-        when(roomSearchService.searchAvailableRooms(any(), any(), any(), any()))
+        when(roomSearchService.searchAvailableRooms(any(), any(), any(), any(), any(), any()))
             .thenReturn(List.of());
 
         mockMvc.perform(get("/api/customer/rooms/search")
@@ -72,7 +95,7 @@ class RoomSearchControllerTest {
     @Test
     @WithMockUser
     void shouldHandleSearchWithNoParameters() throws Exception {
-        when(roomSearchService.searchAvailableRooms(any(), any(), any(), any()))
+        when(roomSearchService.searchAvailableRooms(any(), any(), any(), any(), any(), any()))
             .thenReturn(List.of());
 
         mockMvc.perform(get("/api/customer/rooms/search"))
@@ -82,7 +105,7 @@ class RoomSearchControllerTest {
     @Test
     @WithMockUser
     void shouldReturnEmptyListWhenNoRoomsAvailable() throws Exception {
-        when(roomSearchService.searchAvailableRooms(any(), any(), any(), any()))
+        when(roomSearchService.searchAvailableRooms(any(), any(), any(), any(), any(), any()))
             .thenReturn(List.of());
 
         mockMvc.perform(get("/api/customer/rooms/search")
@@ -90,4 +113,52 @@ class RoomSearchControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.length()").value(0));
     }
+
+    @Test
+    @WithMockUser
+    void shouldReturnKeysetPageWhenLimitGiven() throws Exception {
+        var room = RoomSearchResult.builder()
+            .id(42L)
+            .roomNumber("420")
+            .roomStatus(RoomStatus.AVAILABLE)
+            .build();
+        when(roomSearchService.searchAvailableRoomsPage(any(), isNull(), eq(10L), eq(2)))
+            .thenReturn(new KeysetPage<>(List.of(room), 42L));
+
+        mockMvc.perform(get("/api/customer/rooms/search")
+                .param("after", "10")
+                .param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].roomNumber").value("420"))
+            .andExpect(jsonPath("$.nextCursor").value(42));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldStreamSearchResultsAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<RoomSearchResult> sink = invocation.getArgument(2);
+            sink.accept(RoomSearchResult.builder().id(1L).roomNumber("101").build());
+            sink.accept(RoomSearchResult.builder().id(2L).roomNumber("102").build());
+            return null;
+        }).when(roomSearchService).streamAvailableRooms(any(), isNull(), any());
+
+        var result = mockMvc.perform(get("/api/customer/rooms/search")
+                .param("stream", "true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        var lines = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"roomNumber\":\"101\""));
+        assertTrue(lines[1].contains("\"roomNumber\":\"102\""));
+    }
 }
@@ -0,0 +1,134 @@
+package com.example.hotelreservationsystem.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObserverDispatcherTest {
+
+    private ObserverDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new ObserverDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    void shouldNotBlockPublisherOnSlowObserver() throws Exception {
+        var release = new CountDownLatch(1);
+        var slowObserver = new Object();
+
+        long start = System.nanoTime();
+        dispatcher.dispatch(slowObserver, "slow", () -> await(release));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 1000, "Publisher should return before the observer finishes");
+        release.countDown();
+    }
+
+    @Test
+    void shouldDeliverEventsToEachObserverInOrder() throws Exception {
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        var done = new CountDownLatch(1);
+        var observer = new Object();
+
+        for (int i = 0; i < 4; i++) {
+            int value = i;
+            dispatcher.dispatch(observer, "ordered", () -> {
+                received.add(value);
+                if (value == 3) {
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2, 3), received);
+    }
+
+    @Test
+    void shouldDropOnlyForBackedUpObserver() throws Exception {
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var slowObserver = new Object();
+        var fastObserver = new Object();
+        var fastDelivered = new CountDownLatch(6);
+
+        dispatcher.dispatch(slowObserver, "slow", () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Lane holds 4 events while the worker is busy; the remaining 2 are dropped
+        for (int i = 0; i < 6; i++) {
+            dispatcher.dispatch(slowObserver, "slow", () -> { });
+            dispatcher.dispatch(fastObserver, "fast", fastDelivered::countDown);
+            assertTrue(awaitQueueBelow("fast", 4));
+        }
+
+        assertTrue(fastDelivered.await(5, TimeUnit.SECONDS));
+        assertEquals(2L, dispatcher.getDroppedCounts().get("slow"));
+        assertEquals(0L, dispatcher.getDroppedCounts().get("fast"));
+        assertEquals(2L, dispatcher.getTotalDropped());
+        release.countDown();
+    }
+
+    @Test
+    void shouldIsolateObserverFailures() throws Exception {
+        var delivered = new CountDownLatch(1);
+        var observer = new Object();
+
+        dispatcher.dispatch(observer, "failing", () -> {
+            throw new RuntimeException("Observer failed");
+        });
+        dispatcher.dispatch(observer, "failing", delivered::countDown);
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS), "Lane should keep draining after a failure");
+    }
+
+    @Test
+    void shouldRunInlineWhenAsyncDisabled() {
+        ReflectionTestUtils.setField(dispatcher, "async", false);
+        var called = new AtomicBoolean();
+
+        dispatcher.dispatch(new Object(), "inline", () -> called.set(true));
+
+        assertTrue(called.get());
+        assertTrue(dispatcher.getPendingCounts().isEmpty());
+    }
+
+    private boolean awaitQueueBelow(String observerName, int limit) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (dispatcher.getPendingCounts().getOrDefault(observerName, 0) < limit) {
+                return true;
+            }
+            Thread.sleep(1);
+        }
+        return false;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
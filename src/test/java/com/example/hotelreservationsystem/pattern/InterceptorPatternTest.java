@@ -3,6 +3,9 @@ package com.example.hotelreservationsystem.pattern;
 import com.example.hotelreservationsystem.pattern.interceptors.AuditInterceptor;
 import com.example.hotelreservationsystem.pattern.interceptors.AuthenticationInterceptor;
 import com.example.hotelreservationsystem.pattern.interceptors.PerformanceInterceptor;
+import com.example.hotelreservationsystem.service.AuditLogStore;
+import com.example.hotelreservationsystem.service.EndpointMetrics;
+import com.example.hotelreservationsystem.service.LoginRateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +13,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -24,9 +35,9 @@ class InterceptorPatternTest {
 
     @BeforeEach
     void setUp() {
-        authInterceptor = new AuthenticationInterceptor();
-        auditInterceptor = new AuditInterceptor();
-        perfInterceptor = new PerformanceInterceptor();
+        authInterceptor = new AuthenticationInterceptor(new LoginRateLimiter(60, 20, 10, 5));
+        auditInterceptor = new AuditInterceptor(new AuditLogStore(1000));
+        perfInterceptor = new PerformanceInterceptor(new EndpointMetrics());
         interceptorManager = new InterceptorManager(
             perfInterceptor, auditInterceptor, authInterceptor
         );
@@ -40,7 +51,7 @@ class InterceptorPatternTest {
         RequestContext context = new RequestContext(request, response);
 
         // When: Create and execute chain
-        InterceptorChain chain = interceptorManager.createAuthChain();
+        InterceptorChain chain = interceptorManager.authChain();
 
         boolean beforeResult = chain.executeBefore(context);
 
@@ -58,7 +69,7 @@ class InterceptorPatternTest {
     @Test
     void shouldExecuteInterceptorsInOrder() {
         // Given: Chain with 3 interceptors
-        InterceptorChain chain = interceptorManager.createAuthChain();
+        InterceptorChain chain = interceptorManager.authChain();
 
         // Then: Should have 3 interceptors
         assertEquals(3, chain.size());
@@ -78,7 +89,7 @@ class InterceptorPatternTest {
         RequestContext context = new RequestContext(request, response);
 
         // When: Execute operation with chain
-        InterceptorChain chain = interceptorManager.createAuthChain();
+        InterceptorChain chain = interceptorManager.authChain();
 
         String result = chain.executeChain(context, () -> {
             // Simulate business logic
@@ -119,9 +130,8 @@ class InterceptorPatternTest {
             }
         };
 
-        // When: Add blocking interceptor to chain
-        InterceptorChain chain = new InterceptorChain();
-        chain.addInterceptor(blockingInterceptor);
+        // When: Build chain with the blocking interceptor
+        InterceptorChain chain = InterceptorChain.of(blockingInterceptor);
 
         HttpServletRequest request = createMockRequest("/api/auth/login", "POST");
         RequestContext context = new RequestContext(request, new MockHttpServletResponse());
@@ -132,6 +142,167 @@ class InterceptorPatternTest {
         assertFalse(result, "Chain should be blocked");
     }
 
+    @Test
+    void shouldShareChainBetweenInterleavedRequests() {
+        // Given: One chain and two requests in flight at once
+        var completions = new ArrayList<String>();
+        InterceptorChain chain = interceptorManager.authChain()
+            .withInterceptor(recordingInterceptor("Recorder", 100, completions));
+
+        RequestContext first = new RequestContext(createMockRequest("/api/auth/login", "POST"), new MockHttpServletResponse());
+        RequestContext second = new RequestContext(createMockRequest("/api/auth/logout", "POST"), new MockHttpServletResponse());
+
+        // When: Both pass before(), then the first completes
+        assertTrue(chain.executeBefore(first));
+        assertTrue(chain.executeBefore(second));
+        chain.executeAfterCompletion(first, null);
+
+        // Then: Only the first request was unwound; the second still is
+        assertEquals(List.of("/api/auth/login"), completions);
+        chain.executeAfterCompletion(second, null);
+        assertEquals(List.of("/api/auth/login", "/api/auth/logout"), completions);
+
+        // And: The shared chain was not modified
+        assertEquals(3, interceptorManager.authChain().size());
+        assertEquals(4, chain.size());
+    }
+
+    @Test
+    void shouldOnlyUnwindInterceptorsThatRan() {
+        // Given: Interceptor at order 25 blocks, so Auth (order=30) and the recorder never run
+        var completions = new ArrayList<String>();
+        InterceptorChain chain = interceptorManager.authChain()
+            .withInterceptor(new Interceptor() {
+                @Override
+                public boolean before(RequestContext context) {
+                    return false;
+                }
+
+                @Override
+                public void after(RequestContext context) {
+                }
+
+                @Override
+                public void afterCompletion(RequestContext context, Exception exception) {
+                    completions.add("Blocker");
+                }
+
+                @Override
+                public int getOrder() {
+                    return 25;
+                }
+            })
+            .withInterceptor(recordingInterceptor("Recorder", 100, completions));
+
+        RequestContext context = new RequestContext(createMockRequest("/api/auth/login", "POST"), new MockHttpServletResponse());
+
+        // When
+        assertFalse(chain.executeBefore(context));
+        chain.executeAfterCompletion(context, null);
+
+        // Then
+        assertEquals(List.of("Blocker"), completions);
+    }
+
+    @Test
+    void shouldRunInterceptorsAroundAsyncOperation() throws Exception {
+        // Given: Two interceptors that record their completion and the attribute stored in before()
+        var completions = new CopyOnWriteArrayList<String>();
+        InterceptorChain chain = InterceptorChain.of(
+            threadRecordingInterceptor("Outer", 40, completions),
+            threadRecordingInterceptor("Inner", 50, completions)
+        );
+        RequestContext context = new RequestContext(createMockRequest("/api/payment/execute", "POST"), new MockHttpServletResponse());
+        String callerThread = Thread.currentThread().getName();
+
+        // When: Operation runs on a virtual thread
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var result = chain.executeChainAsync(context, () -> {
+                Thread.sleep(20);
+                return "paid";
+            }, executor);
+
+            // Then: Interceptors completed in LIFO order off the calling thread, before the result
+            assertEquals("paid", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, completions.size());
+        assertTrue(completions.get(0).startsWith("Inner:seen"), completions.toString());
+        assertTrue(completions.get(1).startsWith("Outer:seen"), completions.toString());
+        assertFalse(completions.get(0).endsWith(callerThread), "afterCompletion should run on the completing thread");
+        assertNotNull(context.getEndTime());
+    }
+
+    @Test
+    void shouldPassAsyncFailureToInterceptors() {
+        // Given
+        var completions = new CopyOnWriteArrayList<String>();
+        InterceptorChain chain = InterceptorChain.of(threadRecordingInterceptor("Only", 10, completions));
+        RequestContext context = new RequestContext(createMockRequest("/api/payment/execute", "POST"), new MockHttpServletResponse());
+
+        // When: Operation fails asynchronously
+        var result = chain.executeChainAsync(context,
+            () -> CompletableFuture.failedFuture(new IllegalStateException("Gateway down")));
+
+        // Then: afterCompletion saw the unwrapped failure and the caller gets it too
+        var thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+        assertEquals(1, completions.size());
+        assertTrue(completions.getFirst().contains("error=Gateway down"), completions.toString());
+    }
+
+    @Test
+    void shouldThrottleRepeatedLoginsForSameEmailAndAuditRejection() throws Exception {
+        // Given: One attempt per email allowed at once
+        var chain = new InterceptorManager(perfInterceptor, auditInterceptor,
+            new AuthenticationInterceptor(new LoginRateLimiter(60, 20, 1, 1))).authChain();
+
+        RequestContext first = new RequestContext(createMockRequest("/api/auth/login", "POST"), new MockHttpServletResponse());
+        first.setAttribute(AuthenticationInterceptor.EMAIL_KEY, "guest@example.com");
+        assertEquals("ok", chain.executeChain(first, () -> "ok"));
+
+        // When: The same email tries again straight away, with different case
+        RequestContext second = new RequestContext(createMockRequest("/api/auth/login", "POST"), new MockHttpServletResponse());
+        second.setAttribute(AuthenticationInterceptor.EMAIL_KEY, "Guest@Example.com");
+
+        // Then: Blocked with 429 and a retry hint, without running the operation
+        assertThrows(InterceptorChain.InterceptorException.class,
+            () -> chain.executeChain(second, () -> fail("Operation should not run")));
+        assertEquals(429, second.getStatusCode());
+        assertTrue(second.<Long>getAttribute(AuthenticationInterceptor.RETRY_AFTER_KEY) >= 1);
+
+        // And: The interceptors that ran still recorded the rejection
+        var statuses = auditInterceptor.getAuditLog().stream().map(e -> e.getHttpStatusCode()).toList();
+        assertTrue(statuses.contains(429), statuses.toString());
+    }
+
+    @Test
+    void shouldKeyIpLimitOnPeerAddressNotForwardedHeader() {
+        var interceptor = new AuthenticationInterceptor(new LoginRateLimiter(60, 2, 0, 0));
+
+        var allowed = 0;
+        for (int i = 0; i < 5; i++) {
+            var request = createMockRequest("/api/auth/login", "POST");
+            // A client rotating the header must not get a fresh bucket per attempt
+            request.addHeader("X-Forwarded-For", "198.51.100." + i);
+            if (interceptor.before(new RequestContext(request, new MockHttpServletResponse()))) {
+                allowed++;
+            }
+        }
+
+        assertEquals(2, allowed);
+    }
+
+    @Test
+    void shouldNotThrottleOtherEmailsFromSameIP() {
+        var interceptor = new AuthenticationInterceptor(new LoginRateLimiter(60, 20, 1, 1));
+
+        for (var email : List.of("a@example.com", "b@example.com", "c@example.com")) {
+            RequestContext context = new RequestContext(createMockRequest("/api/auth/login", "POST"), new MockHttpServletResponse());
+            context.setAttribute(AuthenticationInterceptor.EMAIL_KEY, email);
+            assertTrue(interceptor.before(context), email);
+        }
+    }
+
     @Test
     void shouldCaptureAuditEvents() {
         // Given: Request context
@@ -170,12 +341,15 @@ class InterceptorPatternTest {
         perfInterceptor.afterCompletion(context, null);
 
         // Then: Should track metrics
-        var metrics = perfInterceptor.getAllMetrics();
-        assertFalse(metrics.isEmpty(), "Should have performance metrics");
+        var metrics = perfInterceptor.getMetrics();
+        assertEquals(1, metrics.size(), "Should have performance metrics");
 
         var metric = metrics.getFirst();
-        assertTrue(metric.getExecutionTimeMs() >= 50, "Should track execution time");
-        assertEquals(200, metric.getStatusCode());
+        assertEquals("POST", metric.method());
+        assertEquals("/api/auth/login", metric.path());
+        assertEquals(1, metric.requests());
+        assertEquals(1, metric.successes());
+        assertTrue(metric.latency().maxMillis() >= 50, "Should track execution time");
     }
 
     @Test
@@ -184,7 +358,7 @@ class InterceptorPatternTest {
         HttpServletRequest request = createMockRequest("/api/auth/login", "POST");
         RequestContext context = new RequestContext(request, new MockHttpServletResponse());
 
-        InterceptorChain chain = interceptorManager.createAuthChain();
+        InterceptorChain chain = interceptorManager.authChain();
 
         // When: Execute operation that fails
         Exception thrown = assertThrows(Exception.class, () -> chain.executeChain(context, () -> {
@@ -199,13 +373,13 @@ class InterceptorPatternTest {
     @Test
     void shouldCreateDifferentChainTypes() {
         // Test different chain configurations
-        var authChain = interceptorManager.createAuthChain();
+        var authChain = interceptorManager.authChain();
         assertEquals(3, authChain.size(), "Auth chain should have 3 interceptors");
 
-        var minimalChain = interceptorManager.createMinimalChain();
+        var minimalChain = interceptorManager.minimalChain();
         assertEquals(2, minimalChain.size(), "Minimal chain should have 2 interceptors");
 
-        var perfChain = interceptorManager.createPerformanceChain();
+        var perfChain = interceptorManager.performanceChain();
         assertEquals(1, perfChain.size(), "Performance chain should have 1 interceptor");
     }
 
@@ -243,6 +417,60 @@ class InterceptorPatternTest {
     /**
      * Helper to create mock HTTP request
      */
+    private static Interceptor threadRecordingInterceptor(String name, int order, List<String> completions) {
+        String key = "test." + name;
+        return new Interceptor() {
+            @Override
+            public boolean before(RequestContext context) {
+                context.setAttribute(key, "seen");
+                return true;
+            }
+
+            @Override
+            public void after(RequestContext context) {
+            }
+
+            @Override
+            public void afterCompletion(RequestContext context, Exception exception) {
+                String error = exception == null ? "" : ":error=" + exception.getMessage();
+                completions.add(name + ":" + context.getAttribute(key) + error + ":" + Thread.currentThread().getName());
+            }
+
+            @Override
+            public int getOrder() {
+                return order;
+            }
+        };
+    }
+
+    private static Interceptor recordingInterceptor(String name, int order, List<String> completions) {
+        return new Interceptor() {
+            @Override
+            public boolean before(RequestContext context) {
+                return true;
+            }
+
+            @Override
+            public void after(RequestContext context) {
+            }
+
+            @Override
+            public void afterCompletion(RequestContext context, Exception exception) {
+                completions.add(context.getRequestURI());
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public int getOrder() {
+                return order;
+            }
+        };
+    }
+
     private MockHttpServletRequest createMockRequest(String uri, String method) {
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.setRequestURI(uri);
@@ -12,12 +12,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -53,10 +56,15 @@ class PaymentControllerTest {
         when(paymentServiceMock.executePayment(eq(orderId), eq(PaymentType.CREDIT_CARD)))
                 .thenReturn(mockResponse);
 
-        // When & Then
-        mockMvc.perform(post("/api/payment/execute")
+        // When: Payment runs asynchronously
+        MvcResult started = mockMvc.perform(post("/api/payment/execute")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
                 .andExpect(status().isOk()) // Expect 200 OK
                 .andExpect(jsonPath("$.status").value("SUCCESS"))
                 .andExpect(jsonPath("$.transactionId").value("mock_tx_id"));
@@ -79,10 +87,15 @@ class PaymentControllerTest {
         when(paymentServiceMock.executePayment(eq(orderId), any(PaymentType.class)))
                 .thenReturn(failureResponse);
 
-        // When & Then
-        mockMvc.perform(post("/api/payment/execute")
+        // When: Payment runs asynchronously
+        MvcResult started = mockMvc.perform(post("/api/payment/execute")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
                 .andExpect(status().isBadRequest()) // Expect 400 Bad Request
                 .andExpect(jsonPath("$.status").value("FAILED"));
     }
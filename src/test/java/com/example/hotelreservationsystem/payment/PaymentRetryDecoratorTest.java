@@ -4,6 +4,8 @@ import com.example.hotelreservationsystem.base.payment.PaymentStrategy;
 import com.example.hotelreservationsystem.base.payment.decorator.PaymentRetryDecorator;
 import com.example.hotelreservationsystem.dto.PaymentRequest;
 import com.example.hotelreservationsystem.dto.PaymentResponse;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -60,4 +62,28 @@ class PaymentRetryDecoratorTest {
 
         verify(wrappedStrategy, times(3)).pay(request);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCountAttemptsAndRetries() {
+        // Registries added to the global one see only what is recorded from then on
+        var registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            PaymentRetryDecorator retryDecorator = new PaymentRetryDecorator(wrappedStrategy);
+            PaymentRequest request = new PaymentRequest();
+
+            when(wrappedStrategy.pay(request))
+                    .thenReturn(PaymentResponse.builder().status("FAILED").build())
+                    .thenReturn(PaymentResponse.builder().status("SUCCESS").build());
+
+            retryDecorator.pay(request);
+
+            assertEquals(1, registry.get("hotel.payment.attempts").tag("outcome", "failed").counter().count());
+            assertEquals(1, registry.get("hotel.payment.attempts").tag("outcome", "success").counter().count());
+            assertEquals(1, registry.get("hotel.payment.retries").counter().count());
+            assertEquals(0, registry.get("hotel.payment.retries.exhausted").counter().count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.hotelreservationsystem.security;
 
 import com.example.hotelreservationsystem.service.TokenStorageService;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -114,4 +115,51 @@ class JwtUtilTest {
         assertNotNull(jwtUtil.extractExpiration(token));
         assertTrue(jwtUtil.extractExpiration(token).getTime() > System.currentTimeMillis());
     }
+
+    @Test
+    void shouldVerifyTokenInOneParse() {
+        doNothing().when(tokenStorageService).storeToken(anyString(), anyString(), anyLong());
+        var claims = new HashMap<String, Object>();
+        claims.put("role", "USER");
+        var token = jwtUtil.generateToken(testEmail, claims);
+
+        var verified = jwtUtil.verify(token);
+
+        assertEquals(token, verified.token());
+        assertEquals(testEmail, verified.email());
+        assertEquals(jwtUtil.extractExpiration(token), verified.expiration());
+        assertEquals("USER", verified.claims().get("role"));
+        assertFalse(verified.isExpired());
+    }
+
+    @Test
+    void shouldValidateVerifiedTokenAgainstUser() {
+        doNothing().when(tokenStorageService).storeToken(anyString(), anyString(), anyLong());
+        var verified = jwtUtil.verify(jwtUtil.generateToken(testEmail));
+        var owner = User.builder().username(testEmail).password("password").authorities(new ArrayList<>()).build();
+        var other = User.builder().username("wrong@example.com").password("password").authorities(new ArrayList<>()).build();
+
+        assertTrue(jwtUtil.validateToken(verified, owner));
+        assertFalse(jwtUtil.validateToken(verified, other));
+    }
+
+    @Test
+    void shouldRejectTamperedTokenOnVerify() {
+        doNothing().when(tokenStorageService).storeToken(anyString(), anyString(), anyLong());
+        var token = jwtUtil.generateToken(testEmail);
+        var tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+        assertThrows(JwtException.class, () -> jwtUtil.verify("invalid.token.here"));
+    }
+
+    @Test
+    void shouldRejectExpiredTokenOnVerify() {
+        ReflectionTestUtils.setField(jwtUtil, "expiration", -1000L);
+        doNothing().when(tokenStorageService).storeToken(anyString(), anyString(), anyLong());
+        var token = jwtUtil.generateToken(testEmail);
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(token));
+        assertFalse(jwtUtil.validateToken(token));
+    }
 }
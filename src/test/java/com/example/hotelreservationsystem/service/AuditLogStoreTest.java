@@ -0,0 +1,74 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.dto.AuditEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogStoreTest {
+
+    @Mock
+    private AuditLogWriter writer;
+
+    @Test
+    void shouldFindEventsById() {
+        var store = new AuditLogStore(10, writer);
+        var event = event("AUDIT-1");
+
+        store.add(event);
+
+        assertSame(event, store.find("AUDIT-1"));
+        assertNull(store.find("AUDIT-2"));
+    }
+
+    @Test
+    void shouldEvictOldestEventWhenFull() {
+        var store = new AuditLogStore(3, writer);
+        for (int i = 1; i <= 5; i++) {
+            store.add(event("AUDIT-" + i));
+        }
+
+        assertEquals(3, store.size());
+        assertNull(store.find("AUDIT-1"), "Evicted events should leave the index");
+        assertNull(store.find("AUDIT-2"));
+        assertEquals(List.of("AUDIT-3", "AUDIT-4", "AUDIT-5"),
+            store.recent().stream().map(AuditEvent::getEventId).toList());
+    }
+
+    @Test
+    void shouldHandCompletedEventsToWriter() {
+        var store = new AuditLogStore(10, writer);
+        var event = event("AUDIT-1");
+        store.add(event);
+
+        store.complete(event);
+
+        verify(writer).enqueue(event);
+    }
+
+    @Test
+    void shouldStartEmptyAfterClear() {
+        var store = new AuditLogStore(2);
+        store.add(event("AUDIT-1"));
+        store.add(event("AUDIT-2"));
+        store.add(event("AUDIT-3"));
+
+        store.clear();
+        store.add(event("AUDIT-4"));
+
+        assertEquals(1, store.size());
+        assertNull(store.find("AUDIT-3"));
+        assertEquals("AUDIT-4", store.recent().getFirst().getEventId());
+    }
+
+    private static AuditEvent event(String id) {
+        return AuditEvent.builder().eventId(id).source("test").status("INITIATED").build();
+    }
+}
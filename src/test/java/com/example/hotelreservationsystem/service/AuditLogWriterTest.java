@@ -0,0 +1,145 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.dto.AuditEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditLogWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.destroy();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldInsertQueuedEventsInBatches() {
+        // Flushing is driven by the test
+        writer = new AuditLogWriter(jdbcTemplate, true, 100, 2, 60_000);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(AuditLogWriter.INSERT_SQL), any(List.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                batchSizes.add(invocation.<List<AuditEvent>>getArgument(1).size());
+                return new int[0][];
+            });
+
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(event("AUDIT-" + i));
+        }
+        writer.flush();
+
+        assertEquals(List.of(2, 2, 1), batchSizes);
+        assertEquals(5, writer.getWrittenCount());
+        assertEquals(0, writer.getPendingCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldInsertRowsOfFailedBatchOneByOne() {
+        writer = new AuditLogWriter(jdbcTemplate, true, 100, 10, 60_000);
+        when(jdbcTemplate.batchUpdate(eq(AuditLogWriter.INSERT_SQL), any(List.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenThrow(new DataIntegrityViolationException("value too long"));
+        when(jdbcTemplate.update(eq(AuditLogWriter.INSERT_SQL), any(PreparedStatementSetter.class)))
+            .thenReturn(1)
+            .thenThrow(new DataIntegrityViolationException("value too long"))
+            .thenReturn(1);
+
+        for (int i = 0; i < 3; i++) {
+            writer.enqueue(event("AUDIT-" + i));
+        }
+        writer.flush();
+
+        verify(jdbcTemplate, times(3)).update(eq(AuditLogWriter.INSERT_SQL), any(PreparedStatementSetter.class));
+        assertEquals(2, writer.getWrittenCount());
+        assertEquals(1, writer.getDroppedCount());
+    }
+
+    @Test
+    void shouldTruncateStringsToColumnLengths() throws SQLException {
+        var statement = mock(PreparedStatement.class);
+        var event = AuditEvent.builder()
+                              .eventId("AUDIT-1")
+                              .source("test")
+                              .requestURI("/api/rooms?q=" + "x".repeat(3000))
+                              .clientIP("203.0.113.7, ".repeat(10))
+                              .userAgent("Mozilla/5.0 " + "y".repeat(1000))
+                              .errorMessage("e".repeat(5000))
+                              .build();
+
+        AuditLogWriter.bind(statement, event);
+
+        verify(statement).setString(1, "AUDIT-1");
+        verify(statement).setString(4, event.getRequestURI().substring(0, 2048));
+        verify(statement).setString(6, event.getClientIP().substring(0, 64));
+        verify(statement).setString(7, event.getUserAgent().substring(0, 512));
+        verify(statement).setString(13, "e".repeat(1024));
+    }
+
+    @Test
+    void shouldNotSplitSurrogatePairWhenTruncating() {
+        assertEquals("ab", AuditLogWriter.truncate("ab\uD83D\uDE00", 3));
+        assertEquals("abc", AuditLogWriter.truncate("abc", 3));
+        assertNull(AuditLogWriter.truncate(null, 3));
+    }
+
+    @Test
+    void shouldDropEventsWhenQueueIsFull() {
+        writer = new AuditLogWriter(jdbcTemplate, true, 2, 10, 60_000);
+
+        writer.enqueue(event("AUDIT-1"));
+        writer.enqueue(event("AUDIT-2"));
+        writer.enqueue(event("AUDIT-3"));
+
+        assertEquals(2, writer.getPendingCount());
+        assertEquals(1, writer.getDroppedCount());
+    }
+
+    @Test
+    void shouldIgnoreEventsWhenDisabled() {
+        writer = new AuditLogWriter(jdbcTemplate, false, 10, 10, 60_000);
+
+        writer.enqueue(event("AUDIT-1"));
+        writer.flush();
+
+        assertEquals(0, writer.getPendingCount());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static AuditEvent event(String id) {
+        return AuditEvent.builder()
+                         .eventId(id)
+                         .source("test")
+                         .status("SUCCESS")
+                         .timestamp(LocalDateTime.now())
+                         .completedAt(LocalDateTime.now())
+                         .build();
+    }
+}
@@ -12,7 +12,6 @@ import com.example.hotelreservationsystem.security.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,6 +20,8 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Map;
 import java.util.Optional;
@@ -45,13 +46,14 @@ class AuthenticationServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @Mock
     private Authentication authentication;
 
-    @InjectMocks
     private AuthenticationService authenticationService;
 
-    @InjectMocks
     private UserDetailsServiceImpl userDetailsService;
 
     private Customer mockCustomer;
@@ -60,6 +62,12 @@ class AuthenticationServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Fresh cache per test, so every lookup reaches the mocked repository once
+        var principalCache = new PrincipalCache(customerRepository, 100, 60);
+        authenticationService = new AuthenticationService(customerRepository, passwordEncoder, jwtUtil, authenticationManager, principalCache,
+            new TransactionTemplate(transactionManager));
+        userDetailsService = new UserDetailsServiceImpl(principalCache);
+
         mockCustomer = new Customer();
         mockCustomer.setId(1L);
         mockCustomer.setName("Test User");
@@ -107,6 +115,12 @@ class AuthenticationServiceTest {
         assertEquals("Test User", response.name());
         verify(customerRepository, times(1)).save(any(Customer.class));
         verify(jwtUtil, times(1)).generateToken(anyString(), any(Map.class));
+
+        // Hashed before the transaction starts, so no connection is held while waiting for the hashing pool
+        var inOrder = inOrder(passwordEncoder, transactionManager, customerRepository);
+        inOrder.verify(passwordEncoder).encode("password123");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(customerRepository).findByEmail("test@example.com");
     }
 
     @Test
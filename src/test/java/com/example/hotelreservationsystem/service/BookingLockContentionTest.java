@@ -0,0 +1,222 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.base.notification.NotificationServiceFactory;
+import com.example.hotelreservationsystem.dto.BookingCreateRequest;
+import com.example.hotelreservationsystem.entity.Customer;
+import com.example.hotelreservationsystem.entity.Order;
+import com.example.hotelreservationsystem.entity.Room;
+import com.example.hotelreservationsystem.entity.RoomType;
+import com.example.hotelreservationsystem.events.ObserverDispatcher;
+import com.example.hotelreservationsystem.repository.CustomerRepository;
+import com.example.hotelreservationsystem.repository.OrderRepository;
+import com.example.hotelreservationsystem.repository.RoomRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Contention test for lock acquisition: many threads race for the same room at once.
+ * The acquire and release scripts run on an embedded Redis server, so the EXISTS check,
+ * the fencing INCR and the writes are exercised as Redis executes them.
+ * Also covers bookings across a Redis reset, which must keep fencing tokens increasing.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingLockContentionTest {
+
+    private static final int THREADS = 200;
+    private static final Long ROOM_ID = 42L;
+    private static final Long CUSTOMER_ID = 7L;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private NotificationServiceFactory notificationServiceFactory;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    private StringRedisTemplate redisTemplate;
+    private BookingLockService bookingLockService;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        bookingLockService = new BookingLockService(redisTemplate, new ObserverDispatcher(), cacheInvalidationBus,
+            roomRepository, Collections.emptyList());
+        ReflectionTestUtils.setField(bookingLockService, "defaultTtlMinutes", 10);
+    }
+
+    @AfterEach
+    void flushRedis() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+    }
+
+    @Test
+    void shouldGrantLockToExactlyOneOfManyConcurrentCallers() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        var winners = new ConcurrentLinkedQueue<String>();
+        var conflicts = new AtomicInteger();
+        var unexpected = new AtomicInteger();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                long customerId = i + 1;
+                pool.submit(() -> {
+                    ready.countDown();
+                    try {
+                        start.await();
+                        winners.add(bookingLockService.createLock(ROOM_ID, customerId));
+                    } catch (IllegalStateException e) {
+                        conflicts.incrementAndGet();
+                    } catch (Exception e) {
+                        unexpected.incrementAndGet();
+                    }
+                });
+            }
+
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, winners.size());
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(0, unexpected.get());
+
+        // Losers must not have consumed fencing tokens
+        var lock = bookingLockService.getLockInfo(ROOM_ID);
+        assertEquals(winners.peek(), lock.lockId());
+        assertEquals(1L, lock.fencingToken());
+        assertEquals("1", redisTemplate.opsForValue().get("booking:fence:" + ROOM_ID));
+    }
+
+    @Test
+    void shouldIssueNewerFencingTokenAfterRelease() {
+        var firstLockId = bookingLockService.createLock(ROOM_ID, 1L);
+        var firstToken = bookingLockService.getLockInfo(ROOM_ID).fencingToken();
+
+        // Only the owner can release
+        assertFalse(bookingLockService.releaseLock(firstLockId, 2L));
+        assertTrue(bookingLockService.releaseLock(firstLockId, 1L));
+        assertFalse(bookingLockService.isLocked(ROOM_ID));
+
+        bookingLockService.createLock(ROOM_ID, 2L);
+        var secondToken = bookingLockService.getLockInfo(ROOM_ID).fencingToken();
+
+        assertTrue(secondToken > firstToken);
+        assertFalse(bookingLockService.isCurrentFencingToken(ROOM_ID, firstToken));
+        assertTrue(bookingLockService.isCurrentFencingToken(ROOM_ID, secondToken));
+    }
+
+    @Test
+    void shouldKeepBookingRoomAfterRedisLosesFencingCounter() {
+        var room = Room.builder()
+                       .roomNumber("420")
+                       .roomType(RoomType.builder().name("Standard").price(100.0f).build())
+                       .build();
+        room.setId(ROOM_ID);
+        var customer = Customer.builder().name("Guest").email("guest@example.com").build();
+        customer.setId(CUSTOMER_ID);
+
+        // The room row is the only state that survives the reset
+        when(roomRepository.findLockFencingTokenById(ROOM_ID)).thenAnswer(_ -> Optional.ofNullable(room.getLockFencingToken()));
+        when(roomRepository.findWithRoomTypeForUpdateById(ROOM_ID)).thenReturn(Optional.of(room));
+        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.of(customer));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        var bookingService = new BookingService(orderRepository, bookingLockService, roomRepository, customerRepository,
+            notificationServiceFactory, roomService, roomAvailabilityIndex, new CheckInCodeGenerator());
+
+        book(bookingService, LocalDate.now().plusDays(1));
+        assertEquals(1L, room.getLockFencingToken());
+
+        // Redis restarts without persistence: locks and fencing counters are gone
+        flushRedis();
+
+        book(bookingService, LocalDate.now().plusDays(10));
+        assertEquals(2L, room.getLockFencingToken());
+        assertEquals("2", redisTemplate.opsForValue().get("booking:fence:" + ROOM_ID));
+    }
+
+    private void book(BookingService bookingService, LocalDate checkIn) {
+        var lockId = bookingLockService.createLock(ROOM_ID, CUSTOMER_ID);
+        bookingService.createBooking(BookingCreateRequest.builder()
+                                                         .lockId(lockId)
+                                                         .roomId(ROOM_ID)
+                                                         .customerId(CUSTOMER_ID)
+                                                         .guestName("Guest")
+                                                         .guestEmail("guest@example.com")
+                                                         .guestPhone("1234567890")
+                                                         .checkInDate(checkIn)
+                                                         .checkOutDate(checkIn.plusDays(2))
+                                                         .build());
+    }
+}
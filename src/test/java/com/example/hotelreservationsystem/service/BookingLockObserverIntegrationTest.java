@@ -2,7 +2,8 @@ package com.example.hotelreservationsystem.service;
 
 import com.example.hotelreservationsystem.events.LockEvent;
 import com.example.hotelreservationsystem.events.LockEventObserver;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.hotelreservationsystem.events.ObserverDispatcher;
+import com.example.hotelreservationsystem.repository.RoomRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +12,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
@@ -33,15 +35,18 @@ class BookingLockObserverIntegrationTest {
     @Mock
     private ValueOperations<String, String> valueOperations;
 
-    @Mock
-    private ObjectMapper objectMapper;
-
     @Mock
     private LockEventObserver mockObserver1;
 
     @Mock
     private LockEventObserver mockObserver2;
 
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private RoomRepository roomRepository;
+
     private BookingLockService bookingLockService;
 
     @BeforeEach
@@ -50,9 +55,15 @@ class BookingLockObserverIntegrationTest {
         observers.add(mockObserver1);
         observers.add(mockObserver2);
 
+        // Deliver observer notifications inline so tests can verify them immediately
+        var observerDispatcher = new ObserverDispatcher();
+        ReflectionTestUtils.setField(observerDispatcher, "async", false);
+
         bookingLockService = new BookingLockService(
             redisTemplate,
-            objectMapper,
+            observerDispatcher,
+            cacheInvalidationBus,
+            roomRepository,
             observers
         );
 
@@ -60,11 +71,10 @@ class BookingLockObserverIntegrationTest {
     }
 
     @Test
-    void shouldNotifyObserversWhenLockCreated() throws Exception {
+    @SuppressWarnings("unchecked")
+    void shouldNotifyObserversWhenLockCreated() {
         // Arrange
-        when(redisTemplate.hasKey(anyString())).thenReturn(false);
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
 
         // Act
         bookingLockService.createLock(1L, 100L);
@@ -85,9 +95,10 @@ class BookingLockObserverIntegrationTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void shouldNotifyObserversWhenLockConflictDetected() {
-        // Arrange - room already locked
-        when(redisTemplate.hasKey(anyString())).thenReturn(true);
+        // Arrange - room already locked, SET NX fails
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
 
         // Act & Assert
         assertThrows(IllegalStateException.class, () ->
@@ -106,16 +117,11 @@ class BookingLockObserverIntegrationTest {
     }
 
     @Test
-    void shouldNotifyObserversWhenLockReleased() throws Exception {
+    @SuppressWarnings("unchecked")
+    void shouldNotifyObserversWhenLockReleased() {
         // Arrange
-        String lockJson = "{\"lockId\":\"test-lock\",\"customerId\":100,\"roomId\":1}";
-        when(redisTemplate.keys("booking:lock:*")).thenReturn(java.util.Set.of("booking:lock:1"));
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("booking:lock:1")).thenReturn(lockJson);
-        when(objectMapper.readValue(eq(lockJson), eq(java.util.Map.class))).thenReturn(
-            java.util.Map.of("lockId", "test-lock", "customerId", 100, "roomId", 1)
-        );
-        when(redisTemplate.delete("booking:lock:1")).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("booking:lockid:test-lock")),
+            eq("test-lock"), eq("100"), eq("booking:lock:"), eq("booking:lockmeta:"))).thenReturn(1L);
 
         // Act
         boolean released = bookingLockService.releaseLock("test-lock", 100L);
@@ -135,6 +141,7 @@ class BookingLockObserverIntegrationTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void shouldRegisterAndUnregisterObservers() {
         // Arrange
         LockEventObserver newObserver = mock(LockEventObserver.class);
@@ -143,7 +150,7 @@ class BookingLockObserverIntegrationTest {
         bookingLockService.registerObserver(newObserver);
 
         // Try to create a lock (will fail but should notify all 3 observers)
-        when(redisTemplate.hasKey(anyString())).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
         assertThrows(IllegalStateException.class, () ->
             bookingLockService.createLock(1L, 100L)
         );
@@ -163,15 +170,14 @@ class BookingLockObserverIntegrationTest {
     }
 
     @Test
-    void shouldHandleObserverExceptionsGracefully() throws Exception {
+    @SuppressWarnings("unchecked")
+    void shouldHandleObserverExceptionsGracefully() {
         // Arrange - one observer throws exception
         when(mockObserver1.getObserverName()).thenReturn("FailingObserver");
         doThrow(new RuntimeException("Observer failed"))
             .when(mockObserver1).onLockEvent(any(LockEvent.class));
 
-        when(redisTemplate.hasKey(anyString())).thenReturn(false);
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
 
         // Act - lock creation should succeed despite observer failure
         String lockId = bookingLockService.createLock(1L, 100L);
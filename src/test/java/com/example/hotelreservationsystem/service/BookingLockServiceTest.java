@@ -1,17 +1,27 @@
 package com.example.hotelreservationsystem.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.hotelreservationsystem.events.LockEvent;
+import com.example.hotelreservationsystem.events.LockEventObserver;
+import com.example.hotelreservationsystem.events.ObserverDispatcher;
+import com.example.hotelreservationsystem.repository.RoomRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Map;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -29,7 +39,13 @@ class BookingLockServiceTest {
     private ValueOperations<String, String> valueOperations;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private RoomRepository roomRepository;
 
     private BookingLockService bookingLockService;
 
@@ -39,10 +55,16 @@ class BookingLockServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Deliver observer notifications inline so tests can verify them immediately
+        var observerDispatcher = new ObserverDispatcher();
+        ReflectionTestUtils.setField(observerDispatcher, "async", false);
+
         // Create service instance with empty observer list
         bookingLockService = new BookingLockService(
             redisTemplate,
-            objectMapper,
+            observerDispatcher,
+            cacheInvalidationBus,
+            roomRepository,
             Collections.emptyList()  // No observers for unit tests
         );
 
@@ -51,30 +73,71 @@ class BookingLockServiceTest {
     }
 
     @Test
-    void shouldCreateLockSuccessfully() throws Exception {
-        when(redisTemplate.hasKey(anyString())).thenReturn(false);
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(objectMapper.writeValueAsString(any(Map.class))).thenReturn("{\"lockId\":\"test-lock\"}");
-        doNothing().when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    @SuppressWarnings("unchecked")
+    void shouldCreateLockSuccessfully() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
 
         var lockId = bookingLockService.createLock(TEST_ROOM_ID, TEST_CUSTOMER_ID);
 
         assertNotNull(lockId);
-        verify(redisTemplate).hasKey("booking:lock:" + TEST_ROOM_ID);
-        verify(valueOperations).set(eq("booking:lock:" + TEST_ROOM_ID), anyString(), eq(10L), eq(TimeUnit.MINUTES));
+        verify(redisTemplate).execute(
+            any(RedisScript.class),
+            eq(List.of("booking:lock:" + TEST_ROOM_ID, "booking:lockid:" + lockId, "booking:fence:" + TEST_ROOM_ID,
+                "booking:lockmeta:" + TEST_ROOM_ID)),
+            eq(lockId), eq(String.valueOf(TEST_ROOM_ID)), eq(String.valueOf(TEST_CUSTOMER_ID)), anyString(), eq("600000"),
+            eq("660000"), eq("")
+        );
+        verify(redisTemplate, never()).hasKey(anyString());
+        verify(cacheInvalidationBus).publish(LockStatusCache.REGION, TEST_ROOM_ID);
+        verifyNoInteractions(roomRepository);
     }
 
     @Test
+    @SuppressWarnings("unchecked")
+    void shouldSeedMissingFencingCounterFromRoom() {
+        // Redis lost the counter; the room was last booked with token 6
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(-1L, 7L);
+        when(roomRepository.findLockFencingTokenById(TEST_ROOM_ID)).thenReturn(Optional.of(6L));
+
+        var lockId = bookingLockService.createLock(TEST_ROOM_ID, TEST_CUSTOMER_ID);
+
+        assertNotNull(lockId);
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), eq(lockId), anyString(), anyString(), anyString(),
+            anyString(), anyString(), eq(""));
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), eq(lockId), anyString(), anyString(), anyString(),
+            anyString(), anyString(), eq("6"));
+        verify(cacheInvalidationBus).publish(LockStatusCache.REGION, TEST_ROOM_ID);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
     void shouldThrowExceptionWhenRoomAlreadyLocked() {
-        when(redisTemplate.hasKey(anyString())).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
 
         var exception = assertThrows(IllegalStateException.class, () ->
             bookingLockService.createLock(TEST_ROOM_ID, TEST_CUSTOMER_ID)
         );
 
         assertEquals("Room is already locked", exception.getMessage());
-        verify(redisTemplate).hasKey("booking:lock:" + TEST_ROOM_ID);
         verifyNoInteractions(valueOperations);
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    void shouldAcceptCurrentFencingToken() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("booking:fence:" + TEST_ROOM_ID)).thenReturn("7");
+
+        assertTrue(bookingLockService.isCurrentFencingToken(TEST_ROOM_ID, 7L));
+        assertFalse(bookingLockService.isCurrentFencingToken(TEST_ROOM_ID, 6L));
+    }
+
+    @Test
+    void shouldRejectFencingTokenWhenCounterMissing() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("booking:fence:" + TEST_ROOM_ID)).thenReturn(null);
+
+        assertFalse(bookingLockService.isCurrentFencingToken(TEST_ROOM_ID, 1L));
     }
 
     @Test
@@ -97,53 +160,45 @@ class BookingLockServiceTest {
     }
 
     @Test
-    void shouldReleaseLockSuccessfully() throws Exception {
+    @SuppressWarnings("unchecked")
+    void shouldReleaseLockSuccessfully() {
         var lockId = "test-lock-id";
-        var lockJson = "{\"lockId\":\"test-lock-id\",\"customerId\":100,\"roomId\":1}";
-        var lockData = Map.of(
-            "lockId", lockId,
-            "customerId", 100,
-            "roomId", 1
-        );
 
-        when(redisTemplate.keys("booking:lock:*")).thenReturn(Set.of("booking:lock:1"));
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("booking:lock:1")).thenReturn(lockJson);
-        when(objectMapper.readValue(eq(lockJson), eq(Map.class))).thenReturn(lockData);
-        when(redisTemplate.delete("booking:lock:1")).thenReturn(true);
+        when(valueOperations.get("booking:lockid:" + lockId)).thenReturn("1");
+        when(redisTemplate.execute(any(RedisScript.class),
+            eq(List.of("booking:lockid:" + lockId, "booking:lock:1", "booking:lockmeta:1")),
+            eq(lockId), eq("100"), eq("1"))).thenReturn(1L);
 
         var released = bookingLockService.releaseLock(lockId, TEST_CUSTOMER_ID);
 
         assertTrue(released);
-        verify(redisTemplate).delete("booking:lock:1");
+        verify(redisTemplate, never()).keys(anyString());
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void shouldReturnFalseWhenReleasingNonExistentLock() {
-        when(redisTemplate.keys("booking:lock:*")).thenReturn(Set.of());
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("booking:lockid:non-existent")).thenReturn(null);
 
         var released = bookingLockService.releaseLock("non-existent", TEST_CUSTOMER_ID);
 
         assertFalse(released);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        verify(redisTemplate, never()).keys(anyString());
         verify(redisTemplate, never()).delete(anyString());
     }
 
     @Test
-    void shouldReturnFalseWhenCustomerDoesNotOwnLock() throws Exception {
-        var lockId = "test-lock-id";
-        var lockJson = "{\"lockId\":\"test-lock-id\",\"customerId\":999,\"roomId\":1}";
-        var lockData = Map.of(
-            "lockId", lockId,
-            "customerId", 999,  // Different customer
-            "roomId", 1
-        );
-
-        when(redisTemplate.keys("booking:lock:*")).thenReturn(Set.of("booking:lock:1"));
+    @SuppressWarnings("unchecked")
+    void shouldReturnFalseWhenCustomerDoesNotOwnLock() {
+        // Script reports owner mismatch with 0 and leaves the lock in place
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("booking:lock:1")).thenReturn(lockJson);
-        when(objectMapper.readValue(eq(lockJson), eq(Map.class))).thenReturn(lockData);
+        when(valueOperations.get("booking:lockid:test-lock-id")).thenReturn("1");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
 
-        var released = bookingLockService.releaseLock(lockId, TEST_CUSTOMER_ID);
+        var released = bookingLockService.releaseLock("test-lock-id", TEST_CUSTOMER_ID);
 
         assertFalse(released);
         verify(redisTemplate, never()).delete(anyString());
@@ -159,6 +214,30 @@ class BookingLockServiceTest {
         verify(redisTemplate).delete("booking:lock:" + TEST_ROOM_ID);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPublishLockExpiredOnlyForClaimedRooms() {
+        var observer = mock(LockEventObserver.class);
+        bookingLockService.registerObserver(observer);
+
+        // Room 1 claimed by this instance, room 2 claimed elsewhere or re-locked
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(
+            "booking:lock:1", "booking:lockmeta:1", "booking:fence:1",
+            "booking:lock:2", "booking:lockmeta:2", "booking:fence:2"
+        )))).thenReturn(List.of("lock-1", "100", "", ""));
+
+        var published = bookingLockService.handleExpiredLocks(List.of(1L, 2L));
+
+        assertEquals(1, published);
+        var captor = ArgumentCaptor.forClass(LockEvent.class);
+        verify(observer).onLockEvent(captor.capture());
+        assertEquals(LockEvent.LockEventType.LOCK_EXPIRED, captor.getValue().getEventType());
+        assertEquals(1L, captor.getValue().getRoomId());
+        assertEquals(100L, captor.getValue().getCustomerId());
+        assertEquals("lock-1", captor.getValue().getLockId());
+        assertEquals("expired", captor.getValue().getReason());
+    }
+
     @Test
     void shouldGetLockTtl() {
         when(redisTemplate.getExpire("booking:lock:" + TEST_ROOM_ID, TimeUnit.SECONDS)).thenReturn(300L);
@@ -170,32 +249,59 @@ class BookingLockServiceTest {
     }
 
     @Test
-    void shouldGetLockInfo() throws Exception {
-        var lockJson = "{\"lockId\":\"test-lock\",\"customerId\":100,\"roomId\":1}";
-        var lockData = Map.of(
-            "lockId", "test-lock",
-            "customerId", 100,
-            "roomId", 1
-        );
-
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("booking:lock:" + TEST_ROOM_ID)).thenReturn(lockJson);
-        when(objectMapper.readValue(eq(lockJson), eq(Map.class))).thenReturn(lockData);
+    void shouldGetLockInfo() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet(eq("booking:lock:" + TEST_ROOM_ID), anyCollection()))
+            .thenReturn(Arrays.asList("test-lock", "1", "100", "7", "2025-01-01T10:00"));
 
         var info = bookingLockService.getLockInfo(TEST_ROOM_ID);
 
         assertNotNull(info);
-        assertEquals("test-lock", info.get("lockId"));
-        assertEquals(100, info.get("customerId"));
+        assertEquals("test-lock", info.lockId());
+        assertEquals(1L, info.roomId());
+        assertEquals(100L, info.customerId());
+        assertEquals(7L, info.fencingToken());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 10, 0), info.createdAt());
     }
 
     @Test
     void shouldReturnNullWhenGettingInfoForNonExistentLock() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("booking:lock:" + TEST_ROOM_ID)).thenReturn(null);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet(eq("booking:lock:" + TEST_ROOM_ID), anyCollection()))
+            .thenReturn(Arrays.asList(null, null, null, null, null));
 
         var info = bookingLockService.getLockInfo(TEST_ROOM_ID);
 
         assertNull(info);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReturnLockedRoomIdsFromSinglePipeline() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true, false, true));
+
+        var locked = bookingLockService.lockedRoomIds(List.of(1L, 2L, 3L));
+
+        assertEquals(Set.of(1L, 3L), locked);
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void shouldSkipRedisForEmptyRoomIdCollection() {
+        var locked = bookingLockService.lockedRoomIds(List.of());
+
+        assertTrue(locked.isEmpty());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldTreatRoomsAsUnlockedWhenBulkCheckFails() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new RuntimeException("Redis down"));
+
+        var locked = bookingLockService.lockedRoomIds(List.of(1L, 2L));
+
+        assertTrue(locked.isEmpty());
+    }
 }
@@ -5,6 +5,7 @@ import com.example.hotelreservationsystem.base.notification.NotificationServiceF
 import com.example.hotelreservationsystem.dto.BookingCreateRequest;
 import com.example.hotelreservationsystem.dto.BookingResponse;
 import com.example.hotelreservationsystem.dto.CancellationResponse;
+import com.example.hotelreservationsystem.dto.LockRecord;
 import com.example.hotelreservationsystem.entity.Customer;
 import com.example.hotelreservationsystem.entity.Order;
 import com.example.hotelreservationsystem.entity.Room;
@@ -25,8 +26,6 @@ import org.springframework.mail.SimpleMailMessage;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -60,6 +59,9 @@ class BookingServiceTest {
     @Mock
     private RoomService roomService;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
     private BookingService bookingService;
 
     private static final String TEST_LOCK_ID = "test-lock-123";
@@ -89,7 +91,9 @@ class BookingServiceTest {
             roomRepository,
             customerRepository,
             notificationServiceFactory,
-            roomService
+            roomService,
+            roomAvailabilityIndex,
+            new CheckInCodeGenerator()
         );
     }
 
@@ -97,13 +101,13 @@ class BookingServiceTest {
     void shouldCreateBookingSuccessfully() {
         // Given
         BookingCreateRequest request = createValidRequest();
-        Map<String, Object> lockInfo = createValidLockInfo();
+        LockRecord lockInfo = createValidLockInfo();
         Room room = createTestRoom();
         Customer customer = createTestCustomer();
         Order savedOrder = createTestOrder();
 
         when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
-        when(roomRepository.findById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
         when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.of(customer));
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
         when(bookingLockService.releaseLock(TEST_LOCK_ID, TEST_CUSTOMER_ID)).thenReturn(true);
@@ -140,12 +144,12 @@ class BookingServiceTest {
             .checkOutDate(LocalDate.now().plusDays(12)) // 5 nights
             .build();
 
-        Map<String, Object> lockInfo = createValidLockInfo();
+        LockRecord lockInfo = createValidLockInfo();
         Room room = createTestRoom();
         Customer customer = createTestCustomer();
 
         when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
-        when(roomRepository.findById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
         when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.of(customer));
         when(bookingLockService.releaseLock(TEST_LOCK_ID, TEST_CUSTOMER_ID)).thenReturn(true);
 
@@ -186,8 +190,7 @@ class BookingServiceTest {
     void shouldThrowExceptionWhenLockBelongsToAnotherCustomer() {
         // Given
         BookingCreateRequest request = createValidRequest();
-        Map<String, Object> lockInfo = createValidLockInfo();
-        lockInfo.put("customerId", 999L); // Different customer
+        LockRecord lockInfo = validLockInfo().customerId(999L).build(); // Different customer
 
         when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
 
@@ -204,8 +207,7 @@ class BookingServiceTest {
     void shouldThrowExceptionWhenLockIdMismatch() {
         // Given
         BookingCreateRequest request = createValidRequest();
-        Map<String, Object> lockInfo = createValidLockInfo();
-        lockInfo.put("lockId", "different-lock-id");
+        LockRecord lockInfo = validLockInfo().lockId("different-lock-id").build();
 
         when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
 
@@ -221,10 +223,10 @@ class BookingServiceTest {
     void shouldThrowExceptionWhenRoomNotFound() {
         // Given
         BookingCreateRequest request = createValidRequest();
-        Map<String, Object> lockInfo = createValidLockInfo();
+        LockRecord lockInfo = createValidLockInfo();
 
         when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
-        when(roomRepository.findById(TEST_ROOM_ID)).thenReturn(Optional.empty());
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.empty());
 
         // When / Then
         var exception = assertThrows(IllegalStateException.class, () ->
@@ -238,11 +240,11 @@ class BookingServiceTest {
     void shouldThrowExceptionWhenCustomerNotFound() {
         // Given
         BookingCreateRequest request = createValidRequest();
-        Map<String, Object> lockInfo = createValidLockInfo();
+        LockRecord lockInfo = createValidLockInfo();
         Room room = createTestRoom();
 
         when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
-        when(roomRepository.findById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
         when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.empty());
 
         // When / Then
@@ -267,12 +269,12 @@ class BookingServiceTest {
             .checkOutDate(LocalDate.now().plusDays(7)) // Before check-in!
             .build();
 
-        Map<String, Object> lockInfo = createValidLockInfo();
+        LockRecord lockInfo = createValidLockInfo();
         Room room = createTestRoom();
         Customer customer = createTestCustomer();
 
         when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
-        when(roomRepository.findById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
         when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.of(customer));
 
         // When / Then
@@ -288,12 +290,12 @@ class BookingServiceTest {
         // Given
         // Note: Transition to CONFIRMED now happens via PaymentStatusUpdateObserver after payment
         BookingCreateRequest request = createValidRequest();
-        Map<String, Object> lockInfo = createValidLockInfo();
+        LockRecord lockInfo = createValidLockInfo();
         Room room = createTestRoom();
         Customer customer = createTestCustomer();
 
         when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
-        when(roomRepository.findById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
         when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.of(customer));
         when(bookingLockService.releaseLock(TEST_LOCK_ID, TEST_CUSTOMER_ID)).thenReturn(true);
 
@@ -322,13 +324,13 @@ class BookingServiceTest {
     void shouldReleaseLockAfterOrderCreation() {
         // Given
         BookingCreateRequest request = createValidRequest();
-        Map<String, Object> lockInfo = createValidLockInfo();
+        LockRecord lockInfo = createValidLockInfo();
         Room room = createTestRoom();
         Customer customer = createTestCustomer();
         Order savedOrder = createTestOrder();
 
         when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
-        when(roomRepository.findById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
         when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.of(customer));
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
         when(bookingLockService.releaseLock(TEST_LOCK_ID, TEST_CUSTOMER_ID)).thenReturn(true);
@@ -344,13 +346,13 @@ class BookingServiceTest {
     void shouldRegisterOrderAsObserverForPriceChanges() {
         // Given
         BookingCreateRequest request = createValidRequest();
-        Map<String, Object> lockInfo = createValidLockInfo();
+        LockRecord lockInfo = createValidLockInfo();
         Room room = createTestRoom();
         Customer customer = createTestCustomer();
         Order savedOrder = createTestOrder();
 
         when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
-        when(roomRepository.findById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
         when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.of(customer));
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
         when(bookingLockService.releaseLock(TEST_LOCK_ID, TEST_CUSTOMER_ID)).thenReturn(true);
@@ -397,13 +399,16 @@ class BookingServiceTest {
             .build();
     }
 
-    private Map<String, Object> createValidLockInfo() {
-        Map<String, Object> lockInfo = new HashMap<>();
-        lockInfo.put("lockId", TEST_LOCK_ID);
-        lockInfo.put("customerId", TEST_CUSTOMER_ID);
-        lockInfo.put("roomId", TEST_ROOM_ID);
-        lockInfo.put("timestamp", LocalDateTime.now().toString());
-        return lockInfo;
+    private LockRecord createValidLockInfo() {
+        return validLockInfo().build();
+    }
+
+    private LockRecord.LockRecordBuilder validLockInfo() {
+        return LockRecord.builder()
+                         .lockId(TEST_LOCK_ID)
+                         .customerId(TEST_CUSTOMER_ID)
+                         .roomId(TEST_ROOM_ID)
+                         .createdAt(LocalDateTime.now());
     }
 
     private Room createTestRoom() {
@@ -455,7 +460,7 @@ class BookingServiceTest {
         Order order = createTestOrder();
         order.setOrderStatus(OrderStatus.PENDING);
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
@@ -483,7 +488,7 @@ class BookingServiceTest {
         Order order = createTestOrder();
         order.setOrderStatus(OrderStatus.CONFIRMED);
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
@@ -503,7 +508,7 @@ class BookingServiceTest {
         Order order = createTestOrder();
         order.setOrderStatus(OrderStatus.COMPLETED);
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
 
         // When / Then
         var exception = assertThrows(IllegalStateException.class, () ->
@@ -521,7 +526,7 @@ class BookingServiceTest {
         order.setOrderStatus(OrderStatus.CANCELLED);
         order.setCancelledAt(LocalDateTime.now().minusDays(1));
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
 
         // When / Then
         var exception = assertThrows(IllegalStateException.class, () ->
@@ -535,7 +540,7 @@ class BookingServiceTest {
     @Test
     void shouldThrowExceptionWhenOrderNotFound() {
         // Given
-        when(orderRepository.findById(999L)).thenReturn(Optional.empty());
+        when(orderRepository.findWithDetailsById(999L)).thenReturn(Optional.empty());
 
         // When / Then
         var exception = assertThrows(IllegalArgumentException.class, () ->
@@ -551,7 +556,7 @@ class BookingServiceTest {
         Order order = createTestOrder();
         Long wrongCustomerId = 999L;
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
 
         // When / Then
         var exception = assertThrows(SecurityException.class, () ->
@@ -568,7 +573,7 @@ class BookingServiceTest {
         Order order = createTestOrder();
         order.setOrderStatus(OrderStatus.CONFIRMED);
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(emailNotification.sendNotification(any(SimpleMailMessage.class))).thenReturn(true);
         when(smsNotification.sendNotification(anyString())).thenReturn(true);
@@ -587,7 +592,7 @@ class BookingServiceTest {
         Order order = createTestOrder();
         order.setOrderStatus(OrderStatus.CONFIRMED);
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(notificationServiceFactory.createNotificationService(any())).thenThrow(new RuntimeException("Notification service down"));
 
@@ -606,7 +611,7 @@ class BookingServiceTest {
         Order order = createTestOrder();
         order.setOrderStatus(OrderStatus.CONFIRMED);
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
@@ -623,7 +628,7 @@ class BookingServiceTest {
         Order order = createTestOrder();
         order.setOrderStatus(OrderStatus.CONFIRMED);
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
         doThrow(new RuntimeException("Observer cleanup failed")).when(roomService).detach(any(), any());
 
@@ -634,4 +639,106 @@ class BookingServiceTest {
         assertNotNull(response);
         assertEquals(OrderStatus.CANCELLED, order.getOrderStatus());
     }
+
+    @Test
+    void shouldRejectBookingWhenRoomAlreadyBookedForDates() {
+        // Given
+        BookingCreateRequest request = createValidRequest();
+
+        when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(createValidLockInfo());
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(createTestRoom()));
+        when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.of(createTestCustomer()));
+        when(orderRepository.existsOverlapping(TEST_ROOM_ID, RoomAvailabilityIndex.OCCUPYING_STATUSES, CHECK_IN_DATE, CHECK_OUT_DATE))
+            .thenReturn(true);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> bookingService.createBooking(request));
+
+        assertEquals("Room is not available for the selected dates", exception.getMessage());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(roomAvailabilityIndex, never()).markBooked(anyLong(), any(), any());
+        // A stale local index must not decide whether the room can be booked
+        verify(roomAvailabilityIndex, never()).isFree(anyLong(), any(), any());
+    }
+
+    @Test
+    void shouldRejectBookingWhenFencingTokenSuperseded() {
+        // Given - lock carries token 3 but the room has since been re-locked
+        LockRecord lockInfo = validLockInfo().fencingToken(3L).build();
+
+        when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(createTestRoom()));
+        when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.of(createTestCustomer()));
+        when(bookingLockService.isCurrentFencingToken(TEST_ROOM_ID, 3L)).thenReturn(false);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> bookingService.createBooking(createValidRequest()));
+
+        assertEquals("Lock expired or superseded by a newer lock", exception.getMessage());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(bookingLockService, never()).releaseLock(anyString(), anyLong());
+    }
+
+    @Test
+    void shouldRejectBookingWithTokenNotNewerThanRoomsLastBooking() {
+        // Given - Redis still reports token 3 as current, but the room was booked with token 5
+        LockRecord lockInfo = validLockInfo().fencingToken(3L).build();
+        Room room = createTestRoom();
+        room.setLockFencingToken(5L);
+
+        when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
+        when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.of(createTestCustomer()));
+        when(bookingLockService.isCurrentFencingToken(TEST_ROOM_ID, 3L)).thenReturn(true);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> bookingService.createBooking(createValidRequest()));
+
+        assertEquals("Lock expired or superseded by a newer lock", exception.getMessage());
+        assertEquals(5L, room.getLockFencingToken());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void shouldStoreFencingTokenOnRoomWhenBooking() {
+        // Given
+        LockRecord lockInfo = validLockInfo().fencingToken(6L).build();
+        Room room = createTestRoom();
+        room.setLockFencingToken(5L);
+
+        when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(lockInfo);
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(room));
+        when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.of(createTestCustomer()));
+        when(bookingLockService.isCurrentFencingToken(TEST_ROOM_ID, 6L)).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenReturn(createTestOrder());
+
+        // When
+        bookingService.createBooking(createValidRequest());
+
+        // Then
+        assertEquals(6L, room.getLockFencingToken());
+    }
+
+    @Test
+    void shouldUpdateAvailabilityIndexOnCreateAndCancel() {
+        // Given
+        Order order = createTestOrder();
+
+        when(bookingLockService.getLockInfo(TEST_ROOM_ID)).thenReturn(createValidLockInfo());
+        when(roomRepository.findWithRoomTypeForUpdateById(TEST_ROOM_ID)).thenReturn(Optional.of(createTestRoom()));
+        when(customerRepository.findById(TEST_CUSTOMER_ID)).thenReturn(Optional.of(createTestCustomer()));
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
+
+        // When
+        bookingService.createBooking(createValidRequest());
+        bookingService.cancelBooking(1L, TEST_CUSTOMER_ID, null);
+
+        // Then
+        verify(roomAvailabilityIndex).markBooked(TEST_ROOM_ID, CHECK_IN_DATE, CHECK_OUT_DATE);
+        verify(roomAvailabilityIndex).markReleased(TEST_ROOM_ID, CHECK_IN_DATE, CHECK_OUT_DATE);
+    }
 }
@@ -0,0 +1,182 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.config.CacheConfig;
+import com.example.hotelreservationsystem.service.CacheInvalidationBus.Invalidation;
+import com.example.hotelreservationsystem.service.CacheInvalidationBus.InvalidationMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    private static final String OTHER_ORIGIN = "other-instance";
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private CacheConfig.TwoTierCacheManager cacheManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        when(cacheManager.getCacheNames()).thenReturn(List.of(CacheConfig.ROOMS));
+
+        // Long interval: tests flush explicitly
+        bus = new CacheInvalidationBus(redisTemplate, objectMapper, listenerContainer, cacheManager, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.destroy();
+    }
+
+    @Test
+    void shouldSubscribeToInvalidationChannel() {
+        verify(listenerContainer).addMessageListener(bus, new ChannelTopic("cache:invalidation"));
+    }
+
+    @Test
+    void shouldCoalesceAndDedupeIntoOneMessage() throws Exception {
+        bus.publish(CacheConfig.ROOMS, 1L);
+        bus.publish(CacheConfig.ROOMS, 1L);
+        bus.publish(CacheConfig.ROOMS, 1L);
+        bus.publish(CacheConfig.ROOMS, 2L);
+
+        bus.flush();
+
+        var sent = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(1)).convertAndSend(eq("cache:invalidation"), sent.capture());
+        var message = objectMapper.readValue(sent.getValue(), InvalidationMessage.class);
+        assertEquals(1, message.version());
+        assertEquals(1, message.sequence());
+        assertEquals(Set.of(new Invalidation(CacheConfig.ROOMS, "1"), new Invalidation(CacheConfig.ROOMS, "2")),
+            Set.copyOf(message.entries()));
+        assertEquals(1, bus.getPublishedCount());
+    }
+
+    @Test
+    void shouldApplyPublishedInvalidationLocallyRightAway() {
+        bus.publish(CacheConfig.ROOMS, 1L);
+
+        verify(cacheManager).evictLocal(CacheConfig.ROOMS, "1");
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldNotSendWhenNothingIsPending() {
+        bus.flush();
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldApplyInvalidationsFromOtherInstances() throws Exception {
+        bus.onMessage(message(1, 1, new Invalidation(CacheConfig.ROOMS, "5"), new Invalidation(CacheConfig.ROOMS, null)), null);
+
+        verify(cacheManager).evictLocal(CacheConfig.ROOMS, "5");
+        verify(cacheManager).clearLocal(CacheConfig.ROOMS);
+        assertEquals(1, bus.getReceivedCount());
+    }
+
+    @Test
+    void shouldIgnoreOwnMessages() throws Exception {
+        bus.publish(CacheConfig.ROOMS, 1L);
+        bus.flush();
+        var sent = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("cache:invalidation"), sent.capture());
+        clearInvocations(cacheManager);
+
+        bus.onMessage(new DefaultMessage(channel(), sent.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        verifyNoInteractions(cacheManager);
+        assertEquals(0, bus.getReceivedCount());
+    }
+
+    @Test
+    void shouldSkipDuplicatesAndClearEverythingOnSequenceGap() throws Exception {
+        bus.onMessage(message(1, 1, new Invalidation(CacheConfig.ROOMS, "1")), null);
+        bus.onMessage(message(1, 1, new Invalidation(CacheConfig.ROOMS, "1")), null);
+        bus.onMessage(message(1, 3, new Invalidation(CacheConfig.ROOMS, "3")), null);
+
+        verify(cacheManager, times(1)).evictLocal(CacheConfig.ROOMS, "1");
+        verify(cacheManager, never()).evictLocal(CacheConfig.ROOMS, "3");
+        verify(cacheManager).clearLocal(CacheConfig.ROOMS);
+        assertEquals(1, bus.getFullResetCount());
+    }
+
+    @Test
+    void shouldClearEverythingOnNewerMessageVersion() throws Exception {
+        bus.onMessage(message(CacheInvalidationBus.MESSAGE_VERSION + 1, 1, new Invalidation(CacheConfig.ROOMS, "1")), null);
+
+        verify(cacheManager, never()).evictLocal(anyString(), any());
+        verify(cacheManager).clearLocal(CacheConfig.ROOMS);
+    }
+
+    @Test
+    void shouldRouteRegionsToRegisteredInvalidators() throws Exception {
+        var lockStatuses = mock(CacheInvalidationBus.LocalInvalidator.class);
+        bus.register(LockStatusCache.REGION, lockStatuses);
+
+        bus.onMessage(message(1, 1, new Invalidation(LockStatusCache.REGION, "7")), null);
+
+        verify(lockStatuses).invalidate("7");
+        verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    void shouldDeferInvalidationUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bus.publish(CacheConfig.ROOMS, 1L);
+            bus.flush();
+
+            verify(cacheManager, never()).evictLocal(anyString(), any());
+            verifyNoInteractions(redisTemplate);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        bus.flush();
+        verify(cacheManager).evictLocal(CacheConfig.ROOMS, "1");
+        verify(redisTemplate).convertAndSend(eq("cache:invalidation"), anyString());
+    }
+
+    private DefaultMessage message(int version, long sequence, Invalidation... entries) throws Exception {
+        var body = objectMapper.writeValueAsBytes(new InvalidationMessage(version, OTHER_ORIGIN, sequence, List.of(entries)));
+        return new DefaultMessage(channel(), body);
+    }
+
+    private static byte[] channel() {
+        return "cache:invalidation".getBytes(StandardCharsets.UTF_8);
+    }
+}
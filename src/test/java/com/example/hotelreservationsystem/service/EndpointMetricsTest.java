@@ -0,0 +1,89 @@
+package com.example.hotelreservationsystem.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointMetricsTest {
+
+    private EndpointMetrics endpointMetrics;
+
+    @BeforeEach
+    void setUp() {
+        endpointMetrics = new EndpointMetrics();
+    }
+
+    @Test
+    void shouldKeyEndpointsByRouteTemplate() {
+        var request = new MockHttpServletRequest("GET", "/api/rooms/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/rooms/{id}");
+
+        assertEquals("/api/rooms/{id}", EndpointMetrics.routeOf(request));
+        assertEquals("/api/rooms/42", EndpointMetrics.routeOf(new MockHttpServletRequest("GET", "/api/rooms/42")));
+    }
+
+    @Test
+    void shouldCountOutcomesPerEndpoint() {
+        endpointMetrics.record("GET", "/api/rooms/{id}", 200, TimeUnit.MILLISECONDS.toNanos(5));
+        endpointMetrics.record("GET", "/api/rooms/{id}", 404, TimeUnit.MILLISECONDS.toNanos(1));
+        endpointMetrics.record("GET", "/api/rooms/{id}", 500, TimeUnit.MILLISECONDS.toNanos(2));
+        endpointMetrics.record("POST", "/api/bookings", 201, TimeUnit.MILLISECONDS.toNanos(20));
+
+        var stats = endpointMetrics.snapshot();
+
+        assertEquals(2, stats.size());
+        var rooms = stats.getFirst();   // busiest first
+        assertEquals("GET", rooms.method());
+        assertEquals("/api/rooms/{id}", rooms.path());
+        assertEquals(3, rooms.requests());
+        assertEquals(1, rooms.successes());
+        assertEquals(1, rooms.clientErrors());
+        assertEquals(1, rooms.serverErrors());
+        assertEquals(5, rooms.latency().maxMillis(), 0.001);
+        assertTrue(rooms.requestsPerSecond() > 0);
+    }
+
+    @Test
+    void shouldFoldEndpointsBeyondTheCapIntoOverflow() {
+        for (int i = 0; i < EndpointMetrics.MAX_ENDPOINTS + 10; i++) {
+            endpointMetrics.record("GET", "/unmatched/" + i, 404, 1_000);
+        }
+
+        var stats = endpointMetrics.snapshot();
+
+        assertEquals(EndpointMetrics.MAX_ENDPOINTS + 1, stats.size());
+        var overflow = stats.stream().filter(s -> s.path().equals(EndpointMetrics.OVERFLOW_PATH)).findFirst();
+        assertTrue(overflow.isPresent());
+        assertEquals(10, overflow.get().requests());
+    }
+
+    @Test
+    void shouldRecordNonStandardMethodsUnderOneKey() {
+        for (int i = 0; i < 100; i++) {
+            endpointMetrics.record("X-CUSTOM-" + i, "/api/rooms", 405, 1_000);
+        }
+        endpointMetrics.record("GET", "/api/rooms", 200, 1_000);
+
+        var stats = endpointMetrics.snapshot();
+
+        assertEquals(2, stats.size());
+        assertEquals(EndpointMetrics.OTHER_METHOD, stats.getFirst().method());
+        assertEquals(100, stats.getFirst().requests());
+    }
+
+    @Test
+    void shouldZeroCountersOnReset() {
+        endpointMetrics.record("GET", "/api/rooms", 200, 1_000);
+
+        endpointMetrics.reset();
+
+        var stats = endpointMetrics.snapshot();
+        assertEquals(1, stats.size());
+        assertEquals(0, stats.getFirst().requests());
+    }
+}
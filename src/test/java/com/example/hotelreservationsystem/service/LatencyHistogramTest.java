@@ -0,0 +1,73 @@
+package com.example.hotelreservationsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldPlaceEveryValueInABucketThatCoversIt() {
+        long previousIndex = -1;
+        for (long micros = 0; micros < 200_000; micros++) {
+            int index = LatencyHistogram.bucketIndex(micros);
+            long upperBound = LatencyHistogram.bucketUpperBound(index);
+
+            assertTrue(index >= previousIndex, "Bucket indexes should not go backwards");
+            assertTrue(upperBound >= micros, "Bucket should cover " + micros);
+            // Log-linear buckets: the reported value is at most 1/16 above the real one
+            assertTrue(upperBound - micros <= micros / 16, "Bucket too wide at " + micros);
+            previousIndex = index;
+        }
+    }
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        var histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(millis, TimeUnit.MILLISECONDS);
+        }
+
+        var snapshot = histogram.snapshot();
+
+        assertEquals(100, snapshot.count());
+        assertEquals(50.5, snapshot.meanMillis(), 0.001);
+        assertWithinPrecision(50, snapshot.p50Millis());
+        assertWithinPrecision(90, snapshot.p90Millis());
+        assertWithinPrecision(95, snapshot.p95Millis());
+        assertWithinPrecision(99, snapshot.p99Millis());
+        assertEquals(100, snapshot.p999Millis(), 0.001);   // capped at the recorded max
+        assertEquals(100, snapshot.maxMillis(), 0.001);
+    }
+
+    @Test
+    void shouldClampOutOfRangeValues() {
+        var histogram = new LatencyHistogram();
+        histogram.record(-5, TimeUnit.MILLISECONDS);
+        histogram.record(365, TimeUnit.DAYS);
+
+        var snapshot = histogram.snapshot();
+
+        assertEquals(2, snapshot.count());
+        assertEquals(0, snapshot.p50Millis(), 0.001);
+        assertTrue(snapshot.maxMillis() > TimeUnit.HOURS.toMillis(70));
+    }
+
+    @Test
+    void shouldStartOverAfterReset() {
+        var histogram = new LatencyHistogram();
+        histogram.record(10, TimeUnit.MILLISECONDS);
+
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(new LatencyHistogram.Snapshot(0, 0, 0, 0, 0, 0, 0, 0), histogram.snapshot());
+    }
+
+    private static void assertWithinPrecision(double expectedMillis, double actualMillis) {
+        assertTrue(actualMillis >= expectedMillis && actualMillis <= expectedMillis * 1.0625,
+            "Expected ~" + expectedMillis + "ms but was " + actualMillis + "ms");
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.config.KeyspaceNotificationConfigurer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LockExpirationListenerTest {
+
+    private static final String CHANNEL = "__keyevent@0__:expired";
+
+    @Mock
+    private BookingLockService bookingLockService;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private KeyspaceNotificationConfigurer keyspaceNotificationConfigurer;
+
+    private LockExpirationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new LockExpirationListener(bookingLockService, listenerContainer, keyspaceNotificationConfigurer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.destroy();
+    }
+
+    @Test
+    void shouldSubscribeToExpiredKeyevents() {
+        verify(keyspaceNotificationConfigurer).ensureEnabled("Ex");
+        verify(listenerContainer).addMessageListener(listener, new PatternTopic("__keyevent@*__:expired"));
+    }
+
+    @Test
+    void shouldDispatchEveryLockExpiration() throws Exception {
+        Set<Long> dispatched = ConcurrentHashMap.newKeySet();
+        var done = new CountDownLatch(1);
+        when(bookingLockService.handleExpiredLocks(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> roomIds = invocation.getArgument(0);
+            dispatched.addAll(roomIds);
+            if (dispatched.size() == 50) {
+                done.countDown();
+            }
+            return roomIds.size();
+        });
+
+        for (long roomId = 1; roomId <= 50; roomId++) {
+            listener.onMessage(expired("booking:lock:" + roomId), null);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(50, dispatched.size());
+        assertEquals(0, listener.getDroppedCount());
+    }
+
+    @Test
+    void shouldIgnoreExpirationsOfOtherKeys() throws Exception {
+        listener.onMessage(expired("booking:lockid:abc"), null);
+        listener.onMessage(expired("booking:fence:1"), null);
+        listener.onMessage(expired("session:xyz"), null);
+
+        Thread.sleep(100);
+        assertEquals(0, listener.getPendingCount());
+        verifyNoInteractions(bookingLockService);
+    }
+
+    @Test
+    void shouldDropExpirationsWhenQueueIsFull() throws Exception {
+        // Block the dispatcher on its first batch so the queue fills up
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        when(bookingLockService.handleExpiredLocks(anyCollection())).thenAnswer(_ -> {
+            started.countDown();
+            release.await();
+            return 0;
+        });
+
+        listener.onMessage(expired("booking:lock:0"), null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (long roomId = 1; roomId <= 10_005; roomId++) {
+            listener.onMessage(expired("booking:lock:" + roomId), null);
+        }
+
+        assertEquals(5, listener.getDroppedCount());
+        assertEquals(10_000, listener.getPendingCount());
+        release.countDown();
+    }
+
+    private DefaultMessage expired(String key) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8));
+    }
+}
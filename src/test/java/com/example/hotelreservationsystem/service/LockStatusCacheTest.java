@@ -0,0 +1,156 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.config.KeyspaceNotificationConfigurer;
+import com.example.hotelreservationsystem.dto.LockRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LockStatusCacheTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    @Mock
+    private BookingLockService bookingLockService;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private KeyspaceNotificationConfigurer keyspaceNotificationConfigurer;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private LockStatusCache lockStatusCache;
+
+    @BeforeEach
+    void setUp() {
+        lockStatusCache = new LockStatusCache(bookingLockService, listenerContainer, keyspaceNotificationConfigurer,
+            cacheInvalidationBus, 10_000, 5);
+    }
+
+    @Test
+    void shouldSubscribeToLockKeyspaceNotifications() {
+        verify(keyspaceNotificationConfigurer).ensureEnabled("Kghx");
+        verify(listenerContainer).addMessageListener(lockStatusCache, new PatternTopic("__keyspace@*__:booking:lock:*"));
+    }
+
+    @Test
+    void shouldServeRepeatedPollsFromMemory() {
+        when(bookingLockService.getLockInfo(ROOM_ID)).thenReturn(lock());
+        when(bookingLockService.getLockTtl(ROOM_ID)).thenReturn(300L);
+
+        for (int i = 0; i < 10; i++) {
+            var status = lockStatusCache.getStatus(ROOM_ID);
+            assertTrue(status.isLocked());
+            assertEquals(100L, status.lock().customerId());
+            assertNotNull(status.expiresAt());
+        }
+
+        verify(bookingLockService, times(1)).getLockInfo(ROOM_ID);
+        verify(bookingLockService, times(1)).getLockTtl(ROOM_ID);
+        verify(bookingLockService, never()).isLocked(any());
+    }
+
+    @Test
+    void shouldCacheUnlockedRoomsWithoutTtlLookup() {
+        when(bookingLockService.getLockInfo(ROOM_ID)).thenReturn(null);
+
+        assertFalse(lockStatusCache.getStatus(ROOM_ID).isLocked());
+        assertFalse(lockStatusCache.getStatus(ROOM_ID).isLocked());
+
+        verify(bookingLockService, times(1)).getLockInfo(ROOM_ID);
+        verify(bookingLockService, never()).getLockTtl(any());
+    }
+
+    @Test
+    void shouldReloadAfterKeyspaceNotification() {
+        when(bookingLockService.getLockInfo(ROOM_ID)).thenReturn(null, lock());
+        when(bookingLockService.getLockTtl(ROOM_ID)).thenReturn(600L);
+
+        assertFalse(lockStatusCache.getStatus(ROOM_ID).isLocked());
+
+        lockStatusCache.onMessage(notification("__keyspace@0__:booking:lock:1", "hset"), null);
+
+        assertTrue(lockStatusCache.getStatus(ROOM_ID).isLocked());
+        verify(bookingLockService, times(2)).getLockInfo(ROOM_ID);
+    }
+
+    @Test
+    void shouldReloadAfterInvalidationFromAnotherInstance() {
+        var invalidator = ArgumentCaptor.forClass(CacheInvalidationBus.LocalInvalidator.class);
+        verify(cacheInvalidationBus).register(eq(LockStatusCache.REGION), invalidator.capture());
+        when(bookingLockService.getLockInfo(ROOM_ID)).thenReturn(null);
+
+        lockStatusCache.getStatus(ROOM_ID);
+        invalidator.getValue().invalidate(String.valueOf(ROOM_ID));
+        lockStatusCache.getStatus(ROOM_ID);
+
+        verify(bookingLockService, times(2)).getLockInfo(ROOM_ID);
+    }
+
+    @Test
+    void shouldNotKeepStatusLoadedWhileRoomWasInvalidated() {
+        // The lock changes while its old state is being read from Redis
+        when(bookingLockService.getLockInfo(ROOM_ID)).thenAnswer(_ -> {
+            lockStatusCache.invalidate(ROOM_ID);
+            return null;
+        }).thenReturn(lock());
+        when(bookingLockService.getLockTtl(ROOM_ID)).thenReturn(300L);
+
+        assertFalse(lockStatusCache.getStatus(ROOM_ID).isLocked());
+        assertTrue(lockStatusCache.getStatus(ROOM_ID).isLocked());
+        assertTrue(lockStatusCache.getStatus(ROOM_ID).isLocked());
+
+        verify(bookingLockService, times(2)).getLockInfo(ROOM_ID);
+    }
+
+    @Test
+    void shouldOnlyInvalidateNotifiedRoom() {
+        when(bookingLockService.getLockInfo(any())).thenReturn(null);
+
+        lockStatusCache.getStatus(1L);
+        lockStatusCache.getStatus(2L);
+        lockStatusCache.onMessage(notification("__keyspace@0__:booking:lock:2", "expired"), null);
+        lockStatusCache.getStatus(1L);
+        lockStatusCache.getStatus(2L);
+
+        verify(bookingLockService, times(1)).getLockInfo(1L);
+        verify(bookingLockService, times(2)).getLockInfo(2L);
+    }
+
+    @Test
+    void shouldParseRoomIdFromKeyspaceChannel() {
+        assertEquals(42L, LockStatusCache.roomIdFromChannel("__keyspace@0__:booking:lock:42"));
+        assertNull(LockStatusCache.roomIdFromChannel("__keyspace@0__:booking:lockid:abc"));
+        assertNull(LockStatusCache.roomIdFromChannel("__keyspace@0__:other:key"));
+    }
+
+    private LockRecord lock() {
+        return LockRecord.builder()
+                         .lockId("lock-1")
+                         .roomId(ROOM_ID)
+                         .customerId(100L)
+                         .fencingToken(1L)
+                         .build();
+    }
+
+    private DefaultMessage notification(String channel, String event) {
+        return new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8), event.getBytes(StandardCharsets.UTF_8));
+    }
+}
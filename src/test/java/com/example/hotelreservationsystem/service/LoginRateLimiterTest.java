@@ -0,0 +1,58 @@
+package com.example.hotelreservationsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    @Test
+    void shouldAllowBurstPerIpThenThrottle() {
+        var limiter = new LoginRateLimiter(60, 3, 0, 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("203.0.113.7", null));
+        }
+
+        var retryAfter = limiter.tryAcquire("203.0.113.7", null);
+        assertTrue(retryAfter >= 1, "Should ask the client to wait");
+        assertEquals(1, limiter.getThrottledByIpCount());
+
+        // Other clients have their own bucket
+        assertEquals(0, limiter.tryAcquire("198.51.100.1", null));
+    }
+
+    @Test
+    void shouldThrottleEmailRegardlessOfCaseAndIp() {
+        var limiter = new LoginRateLimiter(60, 20, 1, 2);
+
+        assertEquals(0, limiter.tryAcquire("203.0.113.7", "guest@example.com"));
+        assertEquals(0, limiter.tryAcquire("198.51.100.1", "Guest@Example.com"));
+
+        // One attempt per minute once the burst is used
+        var retryAfter = limiter.tryAcquire("192.0.2.44", " GUEST@example.com");
+        assertTrue(retryAfter > 1 && retryAfter <= 60, "Retry after " + retryAfter);
+        assertEquals(1, limiter.getThrottledByEmailCount());
+        assertEquals(0, limiter.getThrottledByIpCount());
+    }
+
+    @Test
+    void shouldRefillOverTime() throws InterruptedException {
+        // One attempt every millisecond
+        var limiter = new LoginRateLimiter(60_000, 1, 0, 0);
+
+        assertEquals(0, limiter.tryAcquire("203.0.113.7", null));
+        Thread.sleep(20);
+
+        assertEquals(0, limiter.tryAcquire("203.0.113.7", null));
+    }
+
+    @Test
+    void shouldNotLimitWhenDisabled() {
+        var limiter = new LoginRateLimiter(0, 0, 0, 0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, limiter.tryAcquire("203.0.113.7", "guest@example.com"));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.exception.AuthenticationThrottledException;
+import com.example.hotelreservationsystem.security.OffloadingPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    void shouldHashOnPoolThread() {
+        executor = new PasswordHashingExecutor(1, 1, 5_000);
+        var encoder = new OffloadingPasswordEncoder(new BCryptPasswordEncoder(4), executor);
+
+        var hash = encoder.encode("password123");
+
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertTrue(executor.execute(() -> Thread.currentThread().getName()).startsWith("password-hashing-"));
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueIsFull() throws Exception {
+        executor = new PasswordHashingExecutor(1, 1, 5_000);
+        var running = CompletableFuture.runAsync(() -> executor.execute(this::awaitRelease));
+        awaitUntil(() -> executor.getActiveCount() == 1);
+        var queued = CompletableFuture.runAsync(() -> executor.execute(this::awaitRelease));
+        awaitUntil(() -> executor.getQueueDepth() == 1);
+
+        var thrown = assertThrows(AuthenticationThrottledException.class, () -> executor.execute(() -> "late"));
+
+        assertEquals(1, thrown.getRetryAfterSeconds());
+        assertEquals(1, executor.getRejectedCount());
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldGiveUpOnTaskWaitingTooLongAndFreeItsSlot() throws Exception {
+        executor = new PasswordHashingExecutor(1, 1, 50);
+        var running = CompletableFuture.runAsync(() -> executor.execute(this::awaitRelease));
+        awaitUntil(() -> executor.getActiveCount() == 1);
+
+        assertThrows(AuthenticationThrottledException.class, () -> executor.execute(() -> "queued"));
+
+        assertEquals(1, executor.getTimedOutCount());
+        assertEquals(0, executor.getQueueDepth());
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldRethrowTaskFailure() {
+        executor = new PasswordHashingExecutor(1, 1, 5_000);
+
+        var thrown = assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> {
+            throw new IllegalArgumentException("Invalid salt");
+        }));
+
+        assertEquals("Invalid salt", thrown.getMessage());
+    }
+
+    private Boolean awaitRelease() {
+        try {
+            return release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+}
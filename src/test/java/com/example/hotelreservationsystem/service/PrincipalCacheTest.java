@@ -0,0 +1,130 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.entity.Customer;
+import com.example.hotelreservationsystem.enums.MembershipTier;
+import com.example.hotelreservationsystem.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldLoadCustomerOnceForEmailAndIdLookups() {
+        var customer = customer(7L, "guest@example.com", MembershipTier.BRONZE);
+        when(customerRepository.findByEmail("guest@example.com")).thenReturn(Optional.of(customer));
+        var cache = new PrincipalCache(customerRepository, 100, 60);
+
+        assertSame(customer, cache.findByEmail("guest@example.com").orElseThrow());
+        assertSame(customer, cache.findByEmail("guest@example.com").orElseThrow());
+        assertSame(customer, cache.findById(7L).orElseThrow());
+
+        verify(customerRepository, times(1)).findByEmail("guest@example.com");
+        verify(customerRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldNotCacheUnknownCustomer() {
+        when(customerRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+        var cache = new PrincipalCache(customerRepository, 100, 60);
+
+        assertTrue(cache.findByEmail("nobody@example.com").isEmpty());
+        assertTrue(cache.findByEmail("nobody@example.com").isEmpty());
+
+        verify(customerRepository, times(2)).findByEmail("nobody@example.com");
+    }
+
+    @Test
+    void shouldReloadAfterMembershipTierUpdate() {
+        var bronze = customer(7L, "guest@example.com", MembershipTier.BRONZE);
+        var gold = customer(7L, "guest@example.com", MembershipTier.GOLD);
+        when(customerRepository.findByEmail("guest@example.com")).thenReturn(Optional.of(bronze), Optional.of(gold));
+        var cache = new PrincipalCache(customerRepository, 100, 60);
+
+        assertEquals(MembershipTier.BRONZE, cache.findByEmail("guest@example.com").orElseThrow().getMembershipTier());
+
+        cache.invalidate(gold);
+
+        assertEquals(MembershipTier.GOLD, cache.findByEmail("guest@example.com").orElseThrow().getMembershipTier());
+        assertEquals(MembershipTier.GOLD, cache.findById(7L).orElseThrow().getMembershipTier());
+    }
+
+    @Test
+    void shouldDropEntryUnderOldEmailWhenEmailChanges() {
+        var before = customer(7L, "old@example.com", MembershipTier.BRONZE);
+        when(customerRepository.findByEmail("old@example.com")).thenReturn(Optional.of(before), Optional.empty());
+        var cache = new PrincipalCache(customerRepository, 100, 60);
+        cache.findByEmail("old@example.com");
+
+        cache.invalidate(customer(7L, "new@example.com", MembershipTier.BRONZE));
+
+        assertTrue(cache.findByEmail("old@example.com").isEmpty());
+    }
+
+    @Test
+    void shouldPublishInvalidationAndApplyRemoteOnes() {
+        var invalidator = ArgumentCaptor.forClass(CacheInvalidationBus.LocalInvalidator.class);
+        var customer = customer(7L, "guest@example.com", MembershipTier.BRONZE);
+        when(customerRepository.findByEmail("guest@example.com")).thenReturn(Optional.of(customer));
+        var cache = new PrincipalCache(customerRepository, invalidationBus, 100, 60);
+        verify(invalidationBus).register(eq(PrincipalCache.REGION), invalidator.capture());
+
+        cache.invalidate(customer);
+        verify(invalidationBus).publish(PrincipalCache.REGION, "7:guest@example.com");
+
+        cache.findByEmail("guest@example.com");
+        // Update committed on another instance
+        invalidator.getValue().invalidate("7:guest@example.com");
+        cache.findByEmail("guest@example.com");
+
+        verify(customerRepository, times(2)).findByEmail("guest@example.com");
+    }
+
+    @Test
+    void shouldMemoizeWithinRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        var customer = customer(7L, "guest@example.com", MembershipTier.BRONZE);
+        when(customerRepository.findByEmail("guest@example.com")).thenReturn(Optional.of(customer));
+        var cache = new PrincipalCache(customerRepository, 100, 60);
+
+        var first = cache.findByEmail("guest@example.com").orElseThrow();
+        // Evicted from the shared cache by TTL or size, the request keeps its instance
+        cache.nativeCache().invalidateAll();
+
+        assertSame(first, cache.findByEmail("guest@example.com").orElseThrow());
+        assertSame(first, cache.findById(7L).orElseThrow());
+        verify(customerRepository, times(1)).findByEmail("guest@example.com");
+    }
+
+    private static Customer customer(Long id, String email, MembershipTier tier) {
+        var customer = new Customer();
+        customer.setId(id);
+        customer.setEmail(email);
+        customer.setMembershipTier(tier);
+        return customer;
+    }
+}
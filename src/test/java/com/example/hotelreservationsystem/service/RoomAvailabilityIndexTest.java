@@ -0,0 +1,121 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomAvailabilityIndexTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private RoomAvailabilityIndex index;
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomAvailabilityIndex(orderRepository);
+    }
+
+    @Test
+    void shouldBuildIndexFromExistingStays() {
+        when(orderRepository.findStaysEndingAfter(any(), any()))
+            .thenReturn(List.of(stay(1L, TODAY.plusDays(2), TODAY.plusDays(5))));
+
+        assertFalse(index.isFree(1L, TODAY.plusDays(4), TODAY.plusDays(6)));
+        assertTrue(index.isFree(1L, TODAY, TODAY.plusDays(2)));   // checkout day == next check-in
+        assertTrue(index.isFree(1L, TODAY.plusDays(5), TODAY.plusDays(7)));
+        assertTrue(index.isFree(2L, TODAY.plusDays(2), TODAY.plusDays(5)));
+
+        verify(orderRepository, times(1)).findStaysEndingAfter(any(), any());
+    }
+
+    @Test
+    void shouldReflectBookingsAndReleases() {
+        when(orderRepository.findStaysEndingAfter(any(), any())).thenReturn(List.of());
+
+        index.markBooked(1L, TODAY.plusDays(10), TODAY.plusDays(12));
+        assertFalse(index.isFree(1L, TODAY.plusDays(11), TODAY.plusDays(13)));
+
+        index.markReleased(1L, TODAY.plusDays(10), TODAY.plusDays(12));
+        assertTrue(index.isFree(1L, TODAY.plusDays(11), TODAY.plusDays(13)));
+    }
+
+    @Test
+    void shouldIgnorePastNightsInQuery() {
+        when(orderRepository.findStaysEndingAfter(any(), any()))
+            .thenReturn(List.of(stay(1L, TODAY.minusDays(3), TODAY.plusDays(1))));
+
+        assertFalse(index.isFree(1L, TODAY.minusDays(1), TODAY.plusDays(1)));
+        assertTrue(index.isFree(1L, TODAY.plusDays(1), TODAY.plusDays(2)));
+    }
+
+    @Test
+    void shouldRebuildAfterInvalidate() {
+        when(orderRepository.findStaysEndingAfter(any(), any())).thenReturn(List.of());
+
+        index.isFree(1L, TODAY, TODAY.plusDays(1));
+        index.invalidate();
+        index.isFree(1L, TODAY, TODAY.plusDays(1));
+
+        verify(orderRepository, times(2)).findStaysEndingAfter(any(), any());
+    }
+
+    @Test
+    void shouldPublishChangesAndReloadRoomBookedElsewhere() {
+        var invalidator = ArgumentCaptor.forClass(CacheInvalidationBus.LocalInvalidator.class);
+        var shared = new RoomAvailabilityIndex(orderRepository, invalidationBus);
+        verify(invalidationBus).register(eq(RoomAvailabilityIndex.REGION), invalidator.capture());
+        when(orderRepository.findStaysEndingAfter(any(), any())).thenReturn(List.of());
+
+        shared.markBooked(1L, TODAY.plusDays(1), TODAY.plusDays(3));
+        shared.markReleased(1L, TODAY.plusDays(1), TODAY.plusDays(3));
+        verify(invalidationBus, times(2)).publish(RoomAvailabilityIndex.REGION, 1L);
+
+        // Room 2 booked on another instance
+        when(orderRepository.findStaysOfRoomEndingAfter(eq(2L), any(), eq(TODAY)))
+            .thenReturn(List.of(stay(2L, TODAY.plusDays(4), TODAY.plusDays(6))));
+        assertTrue(shared.isFree(2L, TODAY.plusDays(4), TODAY.plusDays(6)));
+        invalidator.getValue().invalidate("2");
+
+        assertFalse(shared.isFree(2L, TODAY.plusDays(5), TODAY.plusDays(7)));
+        assertTrue(shared.isFree(2L, TODAY.plusDays(6), TODAY.plusDays(8)));
+    }
+
+    private OrderRepository.RoomStay stay(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return new OrderRepository.RoomStay() {
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public LocalDate getCheckInDate() {
+                return checkIn;
+            }
+
+            @Override
+            public LocalDate getCheckOutDate() {
+                return checkOut;
+            }
+        };
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.dto.RoomSearchFilter;
+import com.example.hotelreservationsystem.entity.Customer;
+import com.example.hotelreservationsystem.entity.Hotel;
+import com.example.hotelreservationsystem.entity.Order;
+import com.example.hotelreservationsystem.entity.Room;
+import com.example.hotelreservationsystem.entity.RoomType;
+import com.example.hotelreservationsystem.enums.RoomStatus;
+import com.example.hotelreservationsystem.repository.CustomerRepository;
+import com.example.hotelreservationsystem.repository.HotelRepository;
+import com.example.hotelreservationsystem.repository.OrderRepository;
+import com.example.hotelreservationsystem.repository.RoomRepository;
+import com.example.hotelreservationsystem.repository.RoomTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts the number of SQL statements per HTTP request on the room listing and booking
+ * endpoints, so lazy associations cannot creep back in as one extra query per row.
+ * Requests go through the whole MVC stack, including interceptors and JSON serialization
+ * with open-session-in-view, so lazy loads outside the service layer are counted too.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "spring.data.redis.host=localhost",
+    "spring.data.redis.port=6379",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "observer.dispatch.async=false"
+})
+class RoomQueryCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Hotel hotel;
+    private RoomType roomType;
+    private final List<Long> roomIds = new ArrayList<>();
+    private Room room;
+    private Customer customer;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        hotel = hotelRepository.save(Hotel.builder()
+            .name("Query Count Hotel")
+            .address("1 Count St")
+            .build());
+
+        roomType = roomTypeRepository.save(RoomType.builder()
+            .name("Suite")
+            .description("Suite")
+            .price(250.0f)
+            .capacity(4)
+            .build());
+
+        for (int i = 0; i < 5; i++) {
+            room = roomRepository.save(Room.builder()
+                .roomNumber("Q" + i)
+                .roomStatus(RoomStatus.VACANT)
+                .hotel(hotel)
+                .roomType(roomType)
+                .build());
+            roomIds.add(room.getId());
+        }
+
+        customer = customerRepository.save(Customer.builder()
+            .name("Query Count")
+            .email("count-" + UUID.randomUUID() + "@example.com")
+            .build());
+
+        order = orderRepository.save(Order.builder()
+            .customer(customer)
+            .room(room)
+            .checkInDate(LocalDate.now().plusDays(1))
+            .checkOutDate(LocalDate.now().plusDays(3))
+            .numberOfNights(2L)
+            .totalPrice(BigDecimal.valueOf(500))
+            .checkInCode(UUID.randomUUID().toString().substring(0, 8))
+            .build());
+
+        // The principal is cached per instance; count only what the endpoint itself loads
+        authenticationService.getCurrentUser(customer.getEmail());
+
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Counts would be skewed by a test transaction, so delete what setUp created instead
+        orderRepository.deleteById(order.getId());
+        customerRepository.deleteById(customer.getId());
+        roomRepository.deleteAllById(roomIds);
+        roomTypeRepository.deleteById(roomType.getId());
+        hotelRepository.deleteById(hotel.getId());
+    }
+
+    @Test
+    void shouldListRoomsInOneStatement() throws Exception {
+        mockMvc.perform(get("/api/rooms/list").with(user(customer.getEmail())))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[?(@.id == %d)].hotelId", room.getId()).isNotEmpty());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldSearchVacantRoomsOfTypeInOneStatement() throws Exception {
+        mockMvc.perform(get("/api/rooms/search").param("roomTypeId", String.valueOf(roomType.getId())))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()").value(5))
+               .andExpect(jsonPath("$[*].roomTypeId").value(everyItem(is(roomType.getId().intValue()))));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldGetRoomInOneStatementAndServeRepeatsFromCache() throws Exception {
+        mockMvc.perform(get("/api/rooms/{id}", room.getId()).with(user(customer.getEmail())))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.roomNumber").value(room.getRoomNumber()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/api/rooms/{id}", room.getId()).with(user(customer.getEmail())))
+               .andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldGetBookingInOneStatement() throws Exception {
+        mockMvc.perform(get("/api/bookings/{orderId}", order.getId()).with(user(customer.getEmail())))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.roomId").value(room.getId()))
+               .andExpect(jsonPath("$.customerId").value(customer.getId()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldGetBookingByRoomInOneStatement() throws Exception {
+        mockMvc.perform(get("/api/bookings/room/{roomId}", room.getId()).with(user(customer.getEmail())))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.orderId").value(order.getId()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldSearchRoomsWithoutRoomTypeInOneStatement() {
+        var untyped = roomRepository.save(Room.builder()
+            .roomNumber("Q-untyped")
+            .roomStatus(RoomStatus.VACANT)
+            .hotel(hotel)
+            .build());
+        roomIds.add(untyped.getId());
+        statistics.clear();
+
+        var results = roomRepository.searchRooms(RoomSearchFilter.builder().hotelId(hotel.getId()).build());
+
+        assertEquals(6, results.size());
+        var hit = results.stream().filter(result -> result.id().equals(untyped.getId())).findFirst().orElseThrow();
+        assertNull(hit.roomTypeId());
+        assertNull(hit.price());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldFetchRoomTypeWithRoom() {
+        var loaded = roomRepository.findWithRoomTypeById(room.getId()).orElseThrow();
+
+        // Detached here: a lazy proxy would throw instead of returning the name
+        assertEquals("Suite", loaded.getRoomType().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldFetchCustomerRoomAndRoomTypeWithOrder() {
+        var loaded = orderRepository.findWithDetailsById(order.getId()).orElseThrow();
+
+        assertNotNull(loaded.getCustomer().getEmail());
+        assertEquals(room.getRoomNumber(), loaded.getRoom().getRoomNumber());
+        assertEquals("Suite", loaded.getRoom().getRoomType().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
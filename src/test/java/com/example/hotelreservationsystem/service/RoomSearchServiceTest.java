@@ -1,9 +1,10 @@
 package com.example.hotelreservationsystem.service;
 
-import com.example.hotelreservationsystem.entity.Hotel;
-import com.example.hotelreservationsystem.entity.Room;
-import com.example.hotelreservationsystem.entity.RoomType;
+import com.example.hotelreservationsystem.dto.RoomSearchFilter;
+import com.example.hotelreservationsystem.dto.RoomSearchResult;
 import com.example.hotelreservationsystem.enums.RoomStatus;
+import com.example.hotelreservationsystem.events.ObserverDispatcher;
+import com.example.hotelreservationsystem.events.SearchEvent;
 import com.example.hotelreservationsystem.repository.RoomRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,10 +14,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,113 +35,86 @@ class RoomSearchServiceTest {
     @Mock
     private BookingLockService bookingLockService;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
     private RoomSearchService roomSearchService;
 
-    private Room room1;
-    private Room room2;
-    private Room room3;
-    private Hotel hotel1;
-    private Hotel hotel2;
-    private RoomType roomType1;
+    private RoomSearchResult room1;
+    private RoomSearchResult room2;
+    private RoomSearchResult room3;
 
     @BeforeEach
     void setUp() {
         // Initialize RoomSearchService with empty observer list
-        roomSearchService = new RoomSearchService(roomRepository, bookingLockService, List.of());
-
-        // Create test hotels
-        hotel1 = new Hotel();
-        hotel1.setId(1L);
-
-        hotel2 = new Hotel();
-        hotel2.setId(2L);
-
-        // Create test room type
-        roomType1 = new RoomType();
-        roomType1.setId(1L);
-
-        // Create test rooms
-        room1 = Room.builder()
-            .roomNumber("101")
-            .roomStatus(RoomStatus.AVAILABLE)
-            .hotel(hotel1)
-            .roomType(roomType1)
-            .build();
-        room1.setId(1L);
-
-        room2 = Room.builder()
-            .roomNumber("102")
-            .roomStatus(RoomStatus.AVAILABLE)
-            .hotel(hotel1)
-            .roomType(roomType1)
-            .build();
-        room2.setId(2L);
-
-        room3 = Room.builder()
-            .roomNumber("201")
-            .roomStatus(RoomStatus.AVAILABLE)
-            .hotel(hotel2)
-            .roomType(roomType1)
-            .build();
-        room3.setId(3L);
+        roomSearchService = new RoomSearchService(roomRepository, bookingLockService, roomAvailabilityIndex,
+            new ObserverDispatcher(), List.of());
+
+        // Create test rooms: two in hotel 1, one in hotel 2, all of room type 1
+        room1 = room(1L, "101", 1L);
+        room2 = room(2L, "102", 1L);
+        room3 = room(3L, "201", 2L);
     }
 
     @Test
     void shouldReturnAvailableRoomsFilteredByRoomType() {
-        when(roomRepository.findByRoomType_IdAndRoomStatus(1L, RoomStatus.AVAILABLE))
+        when(roomRepository.searchRooms(availableOfType(1L)))
             .thenReturn(List.of(room1, room2, room3));
-        when(bookingLockService.isLocked(anyLong())).thenReturn(false);
+        when(bookingLockService.lockedRoomIds(anyCollection())).thenReturn(Set.of());
 
         var results = roomSearchService.searchAvailableRooms(null, null, 1L, null);
 
         assertEquals(3, results.size());
-        verify(roomRepository).findByRoomType_IdAndRoomStatus(1L, RoomStatus.AVAILABLE);
+        verify(roomRepository).searchRooms(availableOfType(1L));
     }
 
     @Test
     void shouldExcludeLockedRooms() {
-        when(roomRepository.findByRoomType_IdAndRoomStatus(1L, RoomStatus.AVAILABLE))
+        when(roomRepository.searchRooms(availableOfType(1L)))
             .thenReturn(List.of(room1, room2, room3));
-        when(bookingLockService.isLocked(1L)).thenReturn(true);  // room1 is locked
-        when(bookingLockService.isLocked(2L)).thenReturn(false);
-        when(bookingLockService.isLocked(3L)).thenReturn(false);
+        when(bookingLockService.lockedRoomIds(List.of(1L, 2L, 3L))).thenReturn(Set.of(1L));  // room1 is locked
 
         var results = roomSearchService.searchAvailableRooms(null, null, 1L, null);
 
         assertEquals(2, results.size());
-        assertEquals("102", results.get(0).getRoomNumber());
-        assertEquals("201", results.get(1).getRoomNumber());
+        assertEquals("102", results.get(0).roomNumber());
+        assertEquals("201", results.get(1).roomNumber());
     }
 
     @Test
-    void shouldFilterByHotel() {
-        when(roomRepository.findByRoomType_IdAndRoomStatus(1L, RoomStatus.AVAILABLE))
-            .thenReturn(List.of(room1, room2, room3));
-        when(bookingLockService.isLocked(anyLong())).thenReturn(false);
-
-        var results = roomSearchService.searchAvailableRooms(null, null, 1L, 1L);
+    void shouldPushHotelAndCapacityFiltersToRepository() {
+        var filter = RoomSearchFilter.builder()
+                                     .roomStatus(RoomStatus.AVAILABLE)
+                                     .roomTypeId(1L)
+                                     .hotelId(1L)
+                                     .minCapacity(2)
+                                     .build();
+        when(roomRepository.searchRooms(filter)).thenReturn(List.of(room1, room2));
+        when(bookingLockService.lockedRoomIds(anyCollection())).thenReturn(Set.of());
+
+        var results = roomSearchService.searchAvailableRooms(null, null, 1L, 1L, 2, null);
 
         assertEquals(2, results.size());
-        assertEquals(1L, results.get(0).getHotel().getId());
-        assertEquals(1L, results.get(1).getHotel().getId());
+        assertEquals(1L, results.get(0).hotelId());
+        assertEquals(1L, results.get(1).hotelId());
     }
 
     @Test
     void shouldReturnAllAvailableRoomsWhenNoFilters() {
-        when(roomRepository.findAll()).thenReturn(List.of(room1, room2, room3));
-        when(bookingLockService.isLocked(anyLong())).thenReturn(false);
+        when(roomRepository.searchRooms(availableOfType(null))).thenReturn(List.of(room1, room2, room3));
+        when(bookingLockService.lockedRoomIds(anyCollection())).thenReturn(Set.of());
 
         var results = roomSearchService.searchAvailableRooms(null, null, null, null);
 
         assertEquals(3, results.size());
-        verify(roomRepository).findAll();
+        verify(roomRepository, never()).findAll();
     }
 
     @Test
     void shouldReturnEmptyListWhenAllRoomsLocked() {
-        when(roomRepository.findByRoomType_IdAndRoomStatus(1L, RoomStatus.AVAILABLE))
+        when(roomRepository.searchRooms(availableOfType(1L)))
             .thenReturn(List.of(room1, room2, room3));
-        when(bookingLockService.isLocked(anyLong())).thenReturn(true);
+        when(bookingLockService.lockedRoomIds(anyCollection())).thenReturn(Set.of(1L, 2L, 3L));
 
         var results = roomSearchService.searchAvailableRooms(null, null, 1L, null);
 
@@ -143,16 +123,116 @@ class RoomSearchServiceTest {
 
     @Test
     void shouldHandleCheckInCheckOutDatesGracefully() {
-        // Dates are currently not used in filtering but are parameters for future enhancement
         var checkIn = LocalDate.now().plusDays(1);
         var checkOut = LocalDate.now().plusDays(3);
 
-        when(roomRepository.findByRoomType_IdAndRoomStatus(1L, RoomStatus.AVAILABLE))
+        when(roomRepository.searchRooms(availableOfType(1L)))
             .thenReturn(List.of(room1, room2));
-        when(bookingLockService.isLocked(anyLong())).thenReturn(false);
+        when(roomAvailabilityIndex.isFree(anyLong(), eq(checkIn), eq(checkOut))).thenReturn(true);
+        when(bookingLockService.lockedRoomIds(anyCollection())).thenReturn(Set.of());
 
         var results = roomSearchService.searchAvailableRooms(checkIn, checkOut, 1L, null);
 
         assertEquals(2, results.size());
     }
+
+    @Test
+    void shouldExcludeRoomsBookedForRequestedDates() {
+        var checkIn = LocalDate.now().plusDays(1);
+        var checkOut = LocalDate.now().plusDays(3);
+
+        when(roomRepository.searchRooms(availableOfType(1L)))
+            .thenReturn(List.of(room1, room2, room3));
+        when(roomAvailabilityIndex.isFree(1L, checkIn, checkOut)).thenReturn(false);  // room1 is booked
+        when(roomAvailabilityIndex.isFree(2L, checkIn, checkOut)).thenReturn(true);
+        when(roomAvailabilityIndex.isFree(3L, checkIn, checkOut)).thenReturn(true);
+        when(bookingLockService.lockedRoomIds(anyCollection())).thenReturn(Set.of());
+
+        var results = roomSearchService.searchAvailableRooms(checkIn, checkOut, 1L, null);
+
+        assertEquals(2, results.size());
+        assertEquals("102", results.get(0).roomNumber());
+        assertEquals("201", results.get(1).roomNumber());
+    }
+
+    @Test
+    void shouldSkipAvailabilityIndexWhenDatesMissing() {
+        when(roomRepository.searchRooms(availableOfType(1L)))
+            .thenReturn(List.of(room1, room2));
+        when(bookingLockService.lockedRoomIds(anyCollection())).thenReturn(Set.of());
+
+        roomSearchService.searchAvailableRooms(LocalDate.now().plusDays(1), null, 1L, null);
+
+        verifyNoInteractions(roomAvailabilityIndex);
+    }
+
+    @Test
+    void shouldCheckLocksInSingleBulkCall() {
+        when(roomRepository.searchRooms(availableOfType(1L)))
+            .thenReturn(List.of(room1, room2, room3));
+        when(bookingLockService.lockedRoomIds(anyCollection())).thenReturn(Set.of());
+
+        roomSearchService.searchAvailableRooms(null, null, 1L, null);
+
+        verify(bookingLockService, times(1)).lockedRoomIds(List.of(1L, 2L, 3L));
+        verify(bookingLockService, never()).isLocked(anyLong());
+    }
+
+    @Test
+    void shouldSetNextCursorFromLastScannedRoomEvenWhenLocked() {
+        var criteria = SearchEvent.SearchCriteria.builder().roomTypeId(1L).build();
+        when(roomRepository.searchRooms(availableOfType(1L), 0L, 2)).thenReturn(List.of(room1, room2));
+        when(bookingLockService.lockedRoomIds(List.of(1L, 2L))).thenReturn(Set.of(2L));
+
+        var page = roomSearchService.searchAvailableRoomsPage(criteria, null, null, 2);
+
+        assertEquals(List.of(room1), page.items());
+        assertEquals(2L, page.nextCursor());
+    }
+
+    @Test
+    void shouldEndPagingWhenDatabasePageIsShort() {
+        var criteria = SearchEvent.SearchCriteria.builder().roomTypeId(1L).build();
+        when(roomRepository.searchRooms(availableOfType(1L), 2L, 2)).thenReturn(List.of(room3));
+        when(bookingLockService.lockedRoomIds(List.of(3L))).thenReturn(Set.of());
+
+        var page = roomSearchService.searchAvailableRoomsPage(criteria, null, 2L, 2);
+
+        assertEquals(List.of(room3), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void shouldStreamInKeysetBatches() {
+        var criteria = SearchEvent.SearchCriteria.builder().build();
+        var firstBatch = LongStream.rangeClosed(1, 500).mapToObj(id -> room(id, "R" + id, 1L)).toList();
+        when(roomRepository.searchRooms(availableOfType(null), 0L, 500)).thenReturn(firstBatch);
+        when(roomRepository.searchRooms(availableOfType(null), 500L, 500)).thenReturn(List.of(room(501L, "R501", 1L)));
+        when(bookingLockService.lockedRoomIds(anyCollection())).thenReturn(Set.of());
+
+        List<RoomSearchResult> streamed = new ArrayList<>();
+        roomSearchService.streamAvailableRooms(criteria, null, streamed::add);
+
+        assertEquals(501, streamed.size());
+        verify(bookingLockService, times(2)).lockedRoomIds(anyCollection());
+        verify(roomRepository, never()).searchRooms(any(RoomSearchFilter.class));
+    }
+
+    private static RoomSearchFilter availableOfType(Long roomTypeId) {
+        return RoomSearchFilter.builder()
+                               .roomStatus(RoomStatus.AVAILABLE)
+                               .roomTypeId(roomTypeId)
+                               .build();
+    }
+
+    private static RoomSearchResult room(Long id, String roomNumber, Long hotelId) {
+        return RoomSearchResult.builder()
+                               .id(id)
+                               .roomNumber(roomNumber)
+                               .hotelId(hotelId)
+                               .roomTypeId(1L)
+                               .roomStatus(RoomStatus.AVAILABLE)
+                               .price(100f)
+                               .build();
+    }
 }
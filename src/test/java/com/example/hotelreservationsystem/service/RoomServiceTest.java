@@ -0,0 +1,137 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.config.CacheConfig;
+import com.example.hotelreservationsystem.dto.RoomCreateRequest;
+import com.example.hotelreservationsystem.entity.Hotel;
+import com.example.hotelreservationsystem.entity.Room;
+import com.example.hotelreservationsystem.entity.RoomType;
+import com.example.hotelreservationsystem.enums.RoomStatus;
+import com.example.hotelreservationsystem.repository.HotelRepository;
+import com.example.hotelreservationsystem.repository.RoomRepository;
+import com.example.hotelreservationsystem.repository.RoomTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cache eviction behaviour of RoomService writes
+ */
+@ExtendWith(MockitoExtension.class)
+class RoomServiceTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private RoomTypeRepository roomTypeRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private Cache roomsCache;
+
+    @Mock
+    private Cache roomListsCache;
+
+    @Mock
+    private Cache roomTypesCache;
+
+    private RoomService roomService;
+
+    @BeforeEach
+    void setUp() {
+        roomService = new RoomService(roomRepository, hotelRepository, roomTypeRepository, cacheManager, cacheInvalidationBus);
+        lenient().when(cacheManager.getCache(CacheConfig.ROOMS)).thenReturn(roomsCache);
+        lenient().when(cacheManager.getCache(CacheConfig.ROOM_LISTS)).thenReturn(roomListsCache);
+        lenient().when(cacheManager.getCache(CacheConfig.ROOM_TYPES)).thenReturn(roomTypesCache);
+    }
+
+    @Test
+    void shouldEvictRoomTypeOnPriceUpdate() {
+        var roomType = RoomType.builder().price(100f).build();
+        roomType.setId(2L);
+        when(roomTypeRepository.findById(2L)).thenReturn(Optional.of(roomType));
+
+        roomService.updatePrice(2L, 150f);
+
+        verify(roomTypesCache).evict(2L);
+        verify(cacheInvalidationBus).publish(CacheConfig.ROOM_TYPES, 2L);
+        verifyNoInteractions(roomsCache, roomListsCache);
+    }
+
+    @Test
+    void shouldEvictListsOfOldAndNewTypeOnUpdate() {
+        var room = room(1L, 2L);
+        var newType = RoomType.builder().build();
+        newType.setId(3L);
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomTypeRepository.findById(3L)).thenReturn(Optional.of(newType));
+
+        var request = new RoomCreateRequest();
+        request.setRoomTypeId(3L);
+        request.setRoomNumber("101");
+        roomService.update(1L, request);
+
+        verify(roomsCache).evict(1L);
+        verify(roomListsCache).evict("all");
+        verify(roomListsCache).evict("type:2:VACANT");
+        verify(roomListsCache).evict("type:3:VACANT");
+        verify(cacheInvalidationBus).publish(CacheConfig.ROOMS, 1L);
+        verify(cacheInvalidationBus).publish(CacheConfig.ROOM_LISTS, "type:2:VACANT");
+    }
+
+    @Test
+    void shouldEvictRoomAndListsOnDelete() {
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room(1L, 2L)));
+
+        assertTrue(roomService.delete(1L));
+
+        verify(roomRepository).deleteById(1L);
+        verify(roomsCache).evict(1L);
+        verify(roomListsCache).evict("all");
+        verify(roomListsCache).evict("type:2:VACANT");
+    }
+
+    @Test
+    void shouldNotEvictWhenDeletingMissingRoom() {
+        when(roomRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertFalse(roomService.delete(1L));
+
+        verify(roomRepository, never()).deleteById(any());
+        verifyNoInteractions(roomsCache, roomListsCache, cacheInvalidationBus);
+    }
+
+    private Room room(Long id, Long roomTypeId) {
+        var hotel = new Hotel();
+        hotel.setId(10L);
+        var roomType = RoomType.builder().build();
+        roomType.setId(roomTypeId);
+
+        var room = Room.builder()
+                       .hotel(hotel)
+                       .roomType(roomType)
+                       .roomNumber("100")
+                       .roomStatus(RoomStatus.VACANT)
+                       .build();
+        room.setId(id);
+        return room;
+    }
+}
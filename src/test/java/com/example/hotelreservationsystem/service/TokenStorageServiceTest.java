@@ -3,13 +3,17 @@ package com.example.hotelreservationsystem.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
-import java.util.concurrent.TimeUnit;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -24,12 +28,20 @@ class TokenStorageServiceTest {
     @Mock
     private ValueOperations<String, String> valueOperations;
 
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     @InjectMocks
     private TokenStorageService tokenStorageService;
 
     private static final String TEST_EMAIL = "test@example.com";
     private static final String TEST_TOKEN = "test-jwt-token";
     private static final Long TEST_EXPIRATION = 1800000L; // 30 minutes
+    private static final String TOKEN_KEY = "auth:token:" + TokenStorageService.digest(TEST_TOKEN);
+    private static final String USER_TOKENS_KEY = "auth:user-tokens:{" + TEST_EMAIL + "}";
 
     @BeforeEach
     void setUp() {
@@ -37,37 +49,48 @@ class TokenStorageServiceTest {
     }
 
     @Test
-    void shouldStoreTokenSuccessfully() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        doNothing().when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    void shouldKeyTokensByFixedSizeDigest() {
+        var digest = TokenStorageService.digest("header.payload.signature");
 
+        assertEquals(64, digest.length());
+        assertEquals(digest, TokenStorageService.digest("header.payload.signature"));
+        assertNotEquals(digest, TokenStorageService.digest("header.payload.other"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStoreTokenSuccessfully() {
         tokenStorageService.storeToken(TEST_EMAIL, TEST_TOKEN, TEST_EXPIRATION);
 
-        verify(valueOperations).set(eq("auth:token:" + TEST_TOKEN), eq(TEST_EMAIL), eq(TEST_EXPIRATION), eq(TimeUnit.MILLISECONDS));
+        verify(redisTemplate).execute(
+            any(RedisScript.class),
+            eq(List.of(TOKEN_KEY, USER_TOKENS_KEY)),
+            eq(TEST_EMAIL), eq(TokenStorageService.digest(TEST_TOKEN)), eq("1800000"), anyString(), anyString()
+        );
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void shouldThrowExceptionWhenStoreTokenFails() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        doThrow(new RuntimeException("Redis connection failed")).when(valueOperations)
-                                                                .set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenThrow(new RuntimeException("Redis connection failed"));
 
         assertThrows(RuntimeException.class, () -> tokenStorageService.storeToken(TEST_EMAIL, TEST_TOKEN, TEST_EXPIRATION));
     }
 
     @Test
     void shouldValidateTokenWhenExists() {
-        when(redisTemplate.hasKey("auth:token:" + TEST_TOKEN)).thenReturn(true);
+        when(redisTemplate.hasKey(TOKEN_KEY)).thenReturn(true);
 
         var result = tokenStorageService.validateToken(TEST_TOKEN);
 
         assertTrue(result);
-        verify(redisTemplate).hasKey("auth:token:" + TEST_TOKEN);
+        verify(redisTemplate).hasKey(TOKEN_KEY);
     }
 
     @Test
     void shouldReturnFalseWhenTokenDoesNotExist() {
-        when(redisTemplate.hasKey("auth:token:" + TEST_TOKEN)).thenReturn(false);
+        when(redisTemplate.hasKey(TOKEN_KEY)).thenReturn(false);
 
         var result = tokenStorageService.validateToken(TEST_TOKEN);
 
@@ -84,35 +107,77 @@ class TokenStorageServiceTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void shouldRemoveTokenSuccessfully() {
-        when(redisTemplate.delete("auth:token:" + TEST_TOKEN)).thenReturn(true);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(TOKEN_KEY)).thenReturn(TEST_EMAIL);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(TOKEN_KEY, USER_TOKENS_KEY)),
+            eq(TEST_EMAIL), eq(TokenStorageService.digest(TEST_TOKEN)))).thenReturn(1L);
 
         var result = tokenStorageService.removeToken(TEST_TOKEN);
 
         assertTrue(result);
-        verify(redisTemplate).delete("auth:token:" + TEST_TOKEN);
+        verify(verifiedTokenCache).revoke(TEST_TOKEN);
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void shouldReturnFalseWhenTokenNotFoundDuringRemoval() {
-        when(redisTemplate.delete("auth:token:" + TEST_TOKEN)).thenReturn(false);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(TOKEN_KEY)).thenReturn(null);
 
         var result = tokenStorageService.removeToken(TEST_TOKEN);
 
         assertFalse(result);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void shouldThrowExceptionWhenRemoveTokenFails() {
-        when(redisTemplate.delete(anyString())).thenThrow(new RuntimeException("Redis error"));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(TOKEN_KEY)).thenReturn(TEST_EMAIL);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenThrow(new RuntimeException("Redis error"));
 
         assertThrows(RuntimeException.class, () -> tokenStorageService.removeToken(TEST_TOKEN));
+        verify(verifiedTokenCache).revoke(TEST_TOKEN);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRemoveAllTokensOfUser() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.range(USER_TOKENS_KEY, 0, -1)).thenReturn(new LinkedHashSet<>(List.of("digest-1", "digest-2")));
+        when(redisTemplate.execute(any(RedisScript.class),
+            eq(List.of(USER_TOKENS_KEY, "auth:token:digest-1", "auth:token:digest-2")),
+            eq("digest-1"), eq("digest-2"))).thenReturn(2L);
+
+        var removed = tokenStorageService.removeAllTokens(TEST_EMAIL);
+
+        assertEquals(2, removed);
+        verify(verifiedTokenCache).revokeDigest("digest-1");
+        verify(verifiedTokenCache).revokeDigest("digest-2");
+        verify(redisTemplate, never()).keys(anyString());
+    }
+
+    @Test
+    void shouldCountOnlyUnexpiredTokens() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.count(eq(USER_TOKENS_KEY), anyDouble(), eq(Double.POSITIVE_INFINITY))).thenReturn(3L);
+
+        var before = System.currentTimeMillis();
+        assertEquals(3, tokenStorageService.countActiveTokens(TEST_EMAIL));
+
+        var minScore = ArgumentCaptor.forClass(Double.class);
+        verify(zSetOperations).count(eq(USER_TOKENS_KEY), minScore.capture(), eq(Double.POSITIVE_INFINITY));
+        assertTrue(minScore.getValue() >= before);
     }
 
     @Test
     void shouldGetEmailFromToken() {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("auth:token:" + TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(valueOperations.get(TOKEN_KEY)).thenReturn(TEST_EMAIL);
 
         var email = tokenStorageService.getEmailFromToken(TEST_TOKEN);
 
@@ -122,7 +187,7 @@ class TokenStorageServiceTest {
     @Test
     void shouldReturnNullWhenEmailNotFound() {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("auth:token:" + TEST_TOKEN)).thenReturn(null);
+        when(valueOperations.get(TOKEN_KEY)).thenReturn(null);
 
         var email = tokenStorageService.getEmailFromToken(TEST_TOKEN);
 
@@ -0,0 +1,81 @@
+package com.example.hotelreservationsystem.service;
+
+import com.example.hotelreservationsystem.security.JwtUtil.VerifiedToken;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Test
+    void shouldServeVerifiedTokenUntilRevoked() {
+        var cache = new VerifiedTokenCache(100, 60_000);
+        var token = token("token-1", 60_000);
+
+        assertNull(cache.get("token-1"));
+        cache.put(token);
+
+        assertSame(token, cache.get("token-1"));
+
+        cache.revoke("token-1");
+        assertNull(cache.get("token-1"));
+    }
+
+    @Test
+    void shouldNotServeExpiredToken() {
+        var cache = new VerifiedTokenCache(100, 60_000);
+        cache.put(token("token-1", -1_000));
+
+        assertNull(cache.get("token-1"));
+    }
+
+    @Test
+    void shouldIgnorePutOfRevokedToken() {
+        var cache = new VerifiedTokenCache(100, 60_000);
+
+        // Another request read Redis before the logout and caches the token afterwards
+        cache.revoke("token-1");
+        cache.put(token("token-1", 60_000));
+
+        assertNull(cache.get("token-1"));
+    }
+
+    @Test
+    void shouldPublishRevocationAndApplyRemoteOnes() {
+        var invalidator = ArgumentCaptor.forClass(CacheInvalidationBus.LocalInvalidator.class);
+        var cache = new VerifiedTokenCache(invalidationBus, 100, 60_000);
+        verify(invalidationBus).register(eq(VerifiedTokenCache.REGION), invalidator.capture());
+
+        cache.put(token("token-1", 60_000));
+        cache.put(token("token-2", 60_000));
+        cache.put(token("token-3", 60_000));
+
+        cache.revoke("token-1");
+        verify(invalidationBus).publish(VerifiedTokenCache.REGION, TokenStorageService.digest("token-1"));
+
+        // Logout on another instance
+        invalidator.getValue().invalidate(TokenStorageService.digest("token-2"));
+        assertNull(cache.get("token-2"));
+        assertNotNull(cache.get("token-3"));
+
+        // Lost messages clear everything
+        invalidator.getValue().invalidateAll();
+        assertNull(cache.get("token-3"));
+    }
+
+    private static VerifiedToken token(String token, long expiresInMillis) {
+        return new VerifiedToken(token, "guest@example.com", new Date(System.currentTimeMillis() + expiresInMillis), null);
+    }
+}